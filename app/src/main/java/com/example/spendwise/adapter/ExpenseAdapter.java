@@ -17,13 +17,21 @@ import java.util.Locale;
 
 public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseViewHolder> {
 
+    // Rows from the end at which the next page is requested
+    private static final int PREFETCH_DISTANCE = 10;
+
     private List<Expense> expenses = new ArrayList<>();
     private OnItemClickListener clickListener;
+    private OnNearEndListener nearEndListener;
 
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.clickListener = listener;
     }
 
+    public void setOnNearEndListener(OnNearEndListener listener) {
+        this.nearEndListener = listener;
+    }
+
     @NonNull
     @Override
     public ExpenseViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -36,6 +44,9 @@ public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseV
     public void onBindViewHolder(@NonNull ExpenseViewHolder holder, int position) {
         Expense expense = expenses.get(position);
         holder.bind(expense);
+        if (nearEndListener != null && position >= expenses.size() - PREFETCH_DISTANCE) {
+            nearEndListener.onNearEnd();
+        }
     }
 
     @Override
@@ -56,6 +67,11 @@ public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseV
         void onItemClick(Expense expense);
     }
 
+    // Fired while binding rows close to the end, so paging can stay ahead of the scroll
+    public interface OnNearEndListener {
+        void onNearEnd();
+    }
+
     class ExpenseViewHolder extends RecyclerView.ViewHolder {
 
         private TextView textViewName;
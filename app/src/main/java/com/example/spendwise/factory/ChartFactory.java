@@ -1,7 +1,9 @@
 package com.example.spendwise.factory;
 
 import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Money;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
@@ -11,27 +13,24 @@ import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.utils.ColorTemplate;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Factory Pattern: Centralizes chart creation logic
  */
 public class ChartFactory {
 
-    public static PieData createCategoryPieChart(List<Expense> expenses) {
-        Map<String, Float> categoryTotals = new HashMap<>();
+    private static final Category[] CATEGORIES = Category.values();
 
-        for (Expense expense : expenses) {
-            String category = expense.getCategory().getDisplayName();
-            float amount = (float) expense.getAmount();
-            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0f) + amount);
-        }
+    public static PieData createCategoryPieChart(List<Expense> expenses) {
+        long[] centsByCategory = sumCentsByCategory(expenses);
 
         List<PieEntry> entries = new ArrayList<>();
-        for (Map.Entry<String, Float> entry : categoryTotals.entrySet()) {
-            entries.add(new PieEntry(entry.getValue(), entry.getKey()));
+        for (Category category : CATEGORIES) {
+            long cents = centsByCategory[category.ordinal()];
+            if (cents != 0) {
+                entries.add(new PieEntry((float) Money.toAmount(cents), category.getDisplayName()));
+            }
         }
 
         if (entries.isEmpty()) {
@@ -49,17 +48,13 @@ public class ChartFactory {
         List<BarEntry> spentEntries = new ArrayList<>();
         List<BarEntry> targetEntries = new ArrayList<>();
 
+        long[] centsByCategory = sumCentsByCategory(expenses);
+
         for (int i = 0; i < budgets.size() && i < 5; i++) {
             Budget budget = budgets.get(i);
 
-            double spent = 0;
-            for (Expense expense : expenses) {
-                if (expense.getCategory() == budget.getCategory()) {
-                    spent += expense.getAmount();
-                }
-            }
-
-            spentEntries.add(new BarEntry(i, (float) spent));
+            long spentCents = centsByCategory[budget.getCategory().ordinal()];
+            spentEntries.add(new BarEntry(i, (float) Money.toAmount(spentCents)));
             targetEntries.add(new BarEntry(i, (float) budget.getOriginalAmount()));
         }
 
@@ -79,4 +74,12 @@ public class ChartFactory {
 
         return barData;
     }
+
+    private static long[] sumCentsByCategory(List<Expense> expenses) {
+        long[] totals = new long[CATEGORIES.length];
+        for (Expense expense : expenses) {
+            totals[expense.getCategory().ordinal()] += expense.getAmountCents();
+        }
+        return totals;
+    }
 }
\ No newline at end of file
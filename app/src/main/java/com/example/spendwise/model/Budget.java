@@ -5,10 +5,11 @@ import java.util.UUID;
 public class Budget {
     private String id;
     private String name;
-    private double amount;
-    private double originalAmount;
+    private long amountCents;
+    private long originalAmountCents;
     private Category category;
     private String date;
+    private int epochDay; // Orderable copy of date, see EpochDays
     private String freq;
 
     public Budget() {
@@ -18,10 +19,11 @@ public class Budget {
                   String freq) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
-        this.amount = amount;
-        this.originalAmount = amount;
+        this.amountCents = Money.toCents(amount);
+        this.originalAmountCents = amountCents;
         this.category = category;
         this.date = date;
+        this.epochDay = EpochDays.parse(date);
         this.freq = freq;
     }
 
@@ -29,10 +31,11 @@ public class Budget {
                   Category category, String date, String freq) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
-        this.amount = amount;
-        this.originalAmount = originalAmount;
+        this.amountCents = Money.toCents(amount);
+        this.originalAmountCents = Money.toCents(originalAmount);
         this.category = category;
         this.date = date;
+        this.epochDay = EpochDays.parse(date);
         this.freq = freq;
     }
 
@@ -49,11 +52,19 @@ public class Budget {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toAmount(amountCents);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public double getOriginalAmount() {
-        return originalAmount;
+        return Money.toAmount(originalAmountCents);
+    }
+
+    public long getOriginalAmountCents() {
+        return originalAmountCents;
     }
 
     public Category getCategory() {
@@ -64,15 +75,31 @@ public class Budget {
         return date;
     }
 
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    public void setEpochDay(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
     public String getfreq() {
         return freq;
     }
 
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amountCents = Money.toCents(amount);
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
     public void setOriginalAmount(double originalAmount) {
-        this.originalAmount = originalAmount;
+        this.originalAmountCents = Money.toCents(originalAmount);
+    }
+
+    public void setOriginalAmountCents(long originalAmountCents) {
+        this.originalAmountCents = originalAmountCents;
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.example.spendwise.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the circle detail screen shows for one selected date: the
+ * circle header, each member's cycle for that date and contribution
+ * history, and overall progress toward the goal. Built in one pass from
+ * the circle node and the circle's cycles (see compute) and never
+ * modified afterwards, so it can be built on a worker thread and handed
+ * to the UI as a single value.
+ */
+public final class CircleSnapshot {
+
+    public enum MemberStatus {
+        NOT_JOINED,      // Joined after the selected date
+        ACTIVE,          // A cycle covers the selected date
+        NO_CYCLE,        // Selected date precedes the member's cycles
+        NEEDS_CYCLES     // Cycles up to the selected date have not been written yet
+    }
+
+    public static final class MemberSnapshot {
+        private final String memberKey;
+        private final SavingCircleMember member;
+        private final MemberStatus status;
+        private final MemberCycle cycle;       // Covering cycle when ACTIVE
+        private final MemberCycle lastCycle;   // Latest stored record, for NEEDS_CYCLES
+        private final long historicalCents;
+        private final int completedCycles;
+
+        MemberSnapshot(String memberKey, SavingCircleMember member, MemberStatus status,
+                       MemberCycle cycle, MemberCycle lastCycle,
+                       long historicalCents, int completedCycles) {
+            this.memberKey = memberKey;
+            this.member = member;
+            this.status = status;
+            this.cycle = cycle;
+            this.lastCycle = lastCycle;
+            this.historicalCents = historicalCents;
+            this.completedCycles = completedCycles;
+        }
+
+        public String getMemberKey() { return memberKey; }
+        public SavingCircleMember getMember() { return member; }
+        public MemberStatus getStatus() { return status; }
+        public MemberCycle getCycle() { return cycle; }
+        public MemberCycle getLastCycle() { return lastCycle; }
+        public long getHistoricalCents() { return historicalCents; }
+        public int getCompletedCycles() { return completedCycles; }
+
+        public double getHistoricalAmount() {
+            return Money.toAmount(historicalCents);
+        }
+    }
+
+    private final SavingCircle circle;
+    private final long selectedDate;
+    private final List<MemberSnapshot> members;
+    private final long totalContributedCents;
+
+    private CircleSnapshot(SavingCircle circle, long selectedDate,
+                           List<MemberSnapshot> members, long totalContributedCents) {
+        this.circle = circle;
+        this.selectedDate = selectedDate;
+        this.members = Collections.unmodifiableList(members);
+        this.totalContributedCents = totalContributedCents;
+    }
+
+    /**
+     * @param membersByKey   member rows keyed as under circleCycles, in display order
+     * @param cyclesByMember stored cycle records per member key; idle runs are expanded here
+     */
+    public static CircleSnapshot compute(SavingCircle circle,
+                                         Map<String, SavingCircleMember> membersByKey,
+                                         Map<String, List<MemberCycle>> cyclesByMember,
+                                         long selectedDate) {
+        List<MemberSnapshot> snapshots = new ArrayList<>(membersByKey.size());
+        long total = 0;
+
+        for (Map.Entry<String, SavingCircleMember> entry : membersByKey.entrySet()) {
+            String key = entry.getKey();
+            SavingCircleMember member = entry.getValue();
+            if (member.getJoinedAt() > selectedDate) {
+                snapshots.add(new MemberSnapshot(key, member, MemberStatus.NOT_JOINED,
+                        null, null, 0, 0));
+                continue;
+            }
+
+            List<MemberCycle> stored = cyclesByMember.get(key);
+            if (stored == null) {
+                stored = Collections.emptyList();
+            }
+            MemberCycle last = null;
+            for (MemberCycle cycle : stored) {
+                if (last == null || cycle.getEndDate() > last.getEndDate()) {
+                    last = cycle;
+                }
+            }
+
+            MemberCycle covering = null;
+            long historical = 0;
+            int completed = 0;
+            for (MemberCycle cycle : MemberCycle.expandIdleRuns(stored)) {
+                if (cycle.isDateInCycle(selectedDate)) {
+                    covering = cycle;
+                }
+                // Only completed cycles that ended by the selected date count
+                if (cycle.isComplete() && cycle.getEndDate() <= selectedDate) {
+                    historical += cycle.getEndCents();
+                    completed++;
+                }
+            }
+
+            MemberStatus status;
+            if (covering != null) {
+                status = MemberStatus.ACTIVE;
+            } else if (last == null || selectedDate >= last.getEndDate()) {
+                status = MemberStatus.NEEDS_CYCLES;
+            } else {
+                status = MemberStatus.NO_CYCLE;
+            }
+            snapshots.add(new MemberSnapshot(key, member, status, covering, last,
+                    historical, completed));
+            total += historical;
+        }
+
+        return new CircleSnapshot(circle, selectedDate, snapshots, total);
+    }
+
+    public SavingCircle getCircle() { return circle; }
+    public long getSelectedDate() { return selectedDate; }
+    public List<MemberSnapshot> getMembers() { return members; }
+    public long getTotalContributedCents() { return totalContributedCents; }
+
+    public double getTotalContributedAmount() {
+        return Money.toAmount(totalContributedCents);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.spendwise.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List-card projection of a saving circle, stored per viewer at
+ * circleSummaries/{uid}/{circleId}. Holds the fields SavingCircleAdapter
+ * shows plus aggregate progress, so the circle list never downloads
+ * members or cycles.
+ */
+public class CircleSummary {
+    private String groupName;
+    private String creatorEmail;
+    private String creatorUid;
+    private String challengeTitle;
+    private double goalAmount;
+    private String frequency;
+    private long createdAt;
+    private int memberCount;
+    private long contributedCents;  // Sum of endCents over completed cycles of all members
+
+    // Default constructor required for Firebase
+    public CircleSummary() {
+    }
+
+    public CircleSummary(SavingCircle circle, int memberCount, long contributedCents) {
+        this.groupName = circle.getGroupName();
+        this.creatorEmail = circle.getCreatorEmail();
+        this.creatorUid = circle.getCreatorUid();
+        this.challengeTitle = circle.getChallengeTitle();
+        this.goalAmount = circle.getGoalAmount();
+        this.frequency = circle.getFrequency();
+        this.createdAt = circle.getCreatedAt();
+        this.memberCount = memberCount;
+        this.contributedCents = contributedCents;
+    }
+
+    // What a member's cycles add to the shared goal: leftovers of completed cycles
+    public static long contributionCents(List<MemberCycle> cycles) {
+        long total = 0;
+        for (MemberCycle cycle : cycles) {
+            if (cycle.isComplete()) {
+                total += cycle.getEndCents();
+            }
+        }
+        return total;
+    }
+
+    // Card fields only, for updates that must not touch the progress counters
+    public static Map<String, Object> cardFields(SavingCircle circle) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("groupName", circle.getGroupName());
+        fields.put("creatorEmail", circle.getCreatorEmail());
+        if (circle.getCreatorUid() != null) {
+            fields.put("creatorUid", circle.getCreatorUid());
+        }
+        fields.put("challengeTitle", circle.getChallengeTitle());
+        fields.put("goalAmount", circle.getGoalAmount());
+        fields.put("frequency", circle.getFrequency());
+        fields.put("createdAt", circle.getCreatedAt());
+        return fields;
+    }
+
+    public SavingCircle toSavingCircle(String id) {
+        SavingCircle circle = new SavingCircle(groupName, creatorEmail, challengeTitle,
+                goalAmount, frequency != null ? frequency : "Monthly", "", createdAt);
+        circle.setId(id);
+        circle.setCreatorUid(creatorUid);
+        return circle;
+    }
+
+    // Getters
+    public String getGroupName() { return groupName; }
+    public String getCreatorEmail() { return creatorEmail; }
+    public String getCreatorUid() { return creatorUid; }
+    public String getChallengeTitle() { return challengeTitle; }
+    public double getGoalAmount() { return goalAmount; }
+    public String getFrequency() { return frequency; }
+    public long getCreatedAt() { return createdAt; }
+    public int getMemberCount() { return memberCount; }
+    public long getContributedCents() { return contributedCents; }
+
+    // Setters
+    public void setGroupName(String groupName) { this.groupName = groupName; }
+    public void setCreatorEmail(String creatorEmail) { this.creatorEmail = creatorEmail; }
+    public void setCreatorUid(String creatorUid) { this.creatorUid = creatorUid; }
+    public void setChallengeTitle(String challengeTitle) { this.challengeTitle = challengeTitle; }
+    public void setGoalAmount(double goalAmount) { this.goalAmount = goalAmount; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+    public void setMemberCount(int memberCount) { this.memberCount = memberCount; }
+    public void setContributedCents(long contributedCents) { this.contributedCents = contributedCents; }
+}
@@ -0,0 +1,88 @@
+package com.example.spendwise.model;
+
+import java.util.TimeZone;
+
+/**
+ * Closed-form cycle boundaries for a circle member. Cycle k covers
+ * [startOf(k), startOf(k + 1)), where startOf(k) is the anchor moved k weeks
+ * or k months in local time, keeping the anchor's time of day. Months clamp
+ * to their last day and are always measured from the anchor, so a cycle
+ * anchored on Jan 31 runs Feb 29, Mar 31, Apr 30 rather than drifting to the
+ * 29th the way repeated Calendar.add(MONTH, 1) calls do.
+ *
+ * Any index or boundary is computed in O(1) without allocating a Calendar.
+ */
+public final class CycleCalendar {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long WEEK_MILLIS = 7 * DAY_MILLIS;
+
+    private final boolean weekly;
+    private final TimeZone timeZone;
+    private final long anchorLocal;   // anchor as local wall-clock millis since epoch
+    private final int anchorYear;
+    private final int anchorMonth;    // 1-12
+    private final int anchorDay;
+    private final long anchorTimeOfDay;
+
+    public CycleCalendar(long anchor, String frequency) {
+        this(anchor, frequency, TimeZone.getDefault());
+    }
+
+    public CycleCalendar(long anchor, String frequency, TimeZone timeZone) {
+        this.weekly = "Weekly".equals(frequency);
+        this.timeZone = timeZone;
+        this.anchorLocal = toLocal(anchor);
+
+        int epochDay = (int) Math.floorDiv(anchorLocal, DAY_MILLIS);
+        int yearMonth = EpochDays.toYearMonth(epochDay);
+        this.anchorYear = yearMonth / 100;
+        this.anchorMonth = yearMonth % 100;
+        this.anchorDay = epochDay - EpochDays.fromCivil(anchorYear, anchorMonth, 1) + 1;
+        this.anchorTimeOfDay = Math.floorMod(anchorLocal, DAY_MILLIS);
+    }
+
+    // Index of the cycle containing timestamp; negative before the anchor
+    public int cycleIndexAt(long timestamp) {
+        long local = toLocal(timestamp);
+        if (weekly) {
+            return (int) Math.floorDiv(local - anchorLocal, WEEK_MILLIS);
+        }
+
+        int yearMonth = EpochDays.toYearMonth((int) Math.floorDiv(local, DAY_MILLIS));
+        int index = (yearMonth / 100 - anchorYear) * 12 + (yearMonth % 100 - anchorMonth);
+        // The estimate can overshoot by one when the day/time precedes the anchor's
+        return startOf(index) > timestamp ? index - 1 : index;
+    }
+
+    public long startOf(int index) {
+        if (weekly) {
+            return toUtc(anchorLocal + index * WEEK_MILLIS);
+        }
+
+        int monthIndex = anchorMonth - 1 + index;
+        int year = anchorYear + Math.floorDiv(monthIndex, 12);
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        int firstOfMonth = EpochDays.fromCivil(year, month, 1);
+        int firstOfNext = month == 12
+                ? EpochDays.fromCivil(year + 1, 1, 1)
+                : EpochDays.fromCivil(year, month + 1, 1);
+        int day = Math.min(anchorDay, firstOfNext - firstOfMonth);
+        return toUtc((firstOfMonth + day - 1) * DAY_MILLIS + anchorTimeOfDay);
+    }
+
+    // Exclusive end, i.e. the start of the following cycle
+    public long endOf(int index) {
+        return startOf(index + 1);
+    }
+
+    private long toLocal(long utc) {
+        return utc + timeZone.getOffset(utc);
+    }
+
+    // Inverse of toLocal; the second lookup settles offsets that change near DST switches
+    private long toUtc(long local) {
+        long guess = local - timeZone.getOffset(local);
+        return local - timeZone.getOffset(guess);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.spendwise.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What recording (or restoring) one expense does to a member's cycle
+ * records, worked out from the record covering the expense date before
+ * anything is written, so an increment can join a single multi-path update.
+ *
+ * A change that cannot clamp is expressed as balance and spent deltas for
+ * server-side increments. A change that clamps, that lands inside an idle
+ * run, or that hits a record stored before its cents fields existed
+ * rewrites whole records instead: the changed cycle, or the run split around
+ * the expense's cycle, with the expense already applied. Incrementing a
+ * missing endCents would start it from zero, next to the real endAmount.
+ * Rewrites are built from a read that may be stale, so callers redo them
+ * with rewrite() inside a transaction on the member's cycles.
+ */
+public final class CycleExpense {
+
+    private final MemberCycle cycle;          // Cycle the expense lands in, after the change when rewritten
+    private final String removedRunId;        // Idle run replaced by the records, or null
+    private final List<MemberCycle> records;  // Whole records to write; empty for increments
+    private final long balanceDelta;          // Change to the cycle's endCents
+    private final long spentDelta;            // Change to the cycle's spentCents
+
+    private CycleExpense(MemberCycle cycle, String removedRunId, List<MemberCycle> records,
+                         long balanceDelta, long spentDelta) {
+        this.cycle = cycle;
+        this.removedRunId = removedRunId;
+        this.records = Collections.unmodifiableList(records);
+        this.balanceDelta = balanceDelta;
+        this.spentDelta = spentDelta;
+    }
+
+    /**
+     * @param covering the stored record covering expenseDate; not modified
+     * @throws IllegalArgumentException if covering is an idle run that does
+     *                                  not contain expenseDate
+     */
+    public static CycleExpense plan(MemberCycle covering, long cents, boolean record, long expenseDate) {
+        return plan(covering, cents, record, expenseDate, false);
+    }
+
+    /**
+     * Like plan, but always as whole records, even for a change that could be
+     * an increment; for applying a change inside a transaction on fresh data.
+     */
+    public static CycleExpense rewrite(MemberCycle covering, long cents, boolean record, long expenseDate) {
+        return plan(covering, cents, record, expenseDate, true);
+    }
+
+    private static CycleExpense plan(MemberCycle covering, long cents, boolean record,
+                                     long expenseDate, boolean forceRewrite) {
+        if (covering.getIdleCycles() > 1) {
+            List<MemberCycle> pieces = covering.splitIdleRunAt(expenseDate);
+            for (MemberCycle piece : pieces) {
+                if (piece.getIdleCycles() <= 1 && piece.isDateInCycle(expenseDate)) {
+                    long endBefore = piece.getEndCents();
+                    long spentBefore = piece.getSpentCents();
+                    apply(piece, cents, record);
+                    return new CycleExpense(piece, covering.getCycleId(), pieces,
+                            piece.getEndCents() - endBefore, piece.getSpentCents() - spentBefore);
+                }
+            }
+            throw new IllegalArgumentException("Idle run " + covering.getCycleId()
+                    + " does not cover " + expenseDate);
+        }
+
+        boolean wouldClamp = record ? covering.recordWouldClamp(cents) : covering.restoreWouldClamp(cents);
+        if (!wouldClamp && covering.hasStoredCents() && !forceRewrite) {
+            long balanceDelta = record ? -cents : cents;
+            return new CycleExpense(covering, null, new ArrayList<>(), balanceDelta, -balanceDelta);
+        }
+
+        MemberCycle rewritten = copyOf(covering);
+        apply(rewritten, cents, record);
+        List<MemberCycle> records = new ArrayList<>();
+        records.add(rewritten);
+        return new CycleExpense(rewritten, null, records,
+                rewritten.getEndCents() - covering.getEndCents(),
+                rewritten.getSpentCents() - covering.getSpentCents());
+    }
+
+    private static void apply(MemberCycle cycle, long cents, boolean record) {
+        if (record) {
+            cycle.recordExpenseCents(cents);
+        } else {
+            cycle.restoreExpenseCents(cents);
+        }
+    }
+
+    private static MemberCycle copyOf(MemberCycle source) {
+        MemberCycle copy = new MemberCycle();
+        copy.setCycleId(source.getCycleId());
+        copy.setStartDate(source.getStartDate());
+        copy.setEndDate(source.getEndDate());
+        copy.setStartCents(source.getStartCents());
+        copy.setEndCents(source.getEndCents());
+        copy.setSpentCents(source.getSpentCents());
+        copy.setContributedCents(source.getContributedCents());
+        copy.setComplete(source.isComplete());
+        copy.setGoalReached(source.isGoalReached());
+        copy.setIdleCycles(source.getIdleCycles());
+        copy.setFrequency(source.getFrequency());
+        return copy;
+    }
+
+    public boolean isIncrement() { return records.isEmpty(); }
+    public MemberCycle getCycle() { return cycle; }
+    public String getRemovedRunId() { return removedRunId; }
+    public List<MemberCycle> getRecords() { return records; }
+    public long getBalanceDelta() { return balanceDelta; }
+    public long getSpentDelta() { return spentDelta; }
+
+    // Change to the circle's contributed total: only completed cycles count
+    public long getContributedDelta() {
+        return cycle.isComplete() ? balanceDelta : 0;
+    }
+}
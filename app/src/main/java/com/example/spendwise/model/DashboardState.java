@@ -0,0 +1,263 @@
+package com.example.spendwise.model;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the dashboard's budget cards and remaining-budget list show for
+ * one simulated date: month spending, what is left of this week's and this
+ * month's budgets, and each active budget with its period's spending taken
+ * off. Built from each category's spending per period, which is summed in
+ * one pass over the expenses or read from an index, and one pass over the
+ * budgets (see compute), and never modified afterwards, so it can be built
+ * on a worker thread and handed to the UI as a single value.
+ */
+public final class DashboardState {
+
+    /** Day bounds of the week, month and year around a simulated date. */
+    public static final class Periods {
+        private final int day;
+        private final int weekStartDay;
+        private final int weekEndDay;
+        private final int monthStartDay;
+        private final int monthEndDay;
+        private final int yearStartDay;
+        private final int yearEndDay;
+
+        public Periods(int day, int weekStartDay, int monthStartDay, int monthEndDay, int year) {
+            this.day = day;
+            this.weekStartDay = weekStartDay;
+            this.weekEndDay = weekStartDay + 6;
+            this.monthStartDay = monthStartDay;
+            this.monthEndDay = monthEndDay;
+            this.yearStartDay = EpochDays.fromCivil(year, 1, 1);
+            this.yearEndDay = EpochDays.fromCivil(year + 1, 1, 1) - 1;
+        }
+
+        // Weeks start on the calendar's first day of week, as the date picker shows them
+        public static Periods of(Calendar date) {
+            Calendar weekStart = (Calendar) date.clone();
+            weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
+
+            int year = date.get(Calendar.YEAR);
+            int month = date.get(Calendar.MONTH) + 1;
+            int monthStart = EpochDays.fromCivil(year, month, 1);
+            return new Periods(
+                    EpochDays.fromCivil(year, month, date.get(Calendar.DAY_OF_MONTH)),
+                    EpochDays.fromDate(weekStart.getTime()),
+                    monthStart,
+                    monthStart + date.getActualMaximum(Calendar.DAY_OF_MONTH) - 1,
+                    year);
+        }
+
+        public int getDay() { return day; }
+        public int getWeekStartDay() { return weekStartDay; }
+        public int getWeekEndDay() { return weekEndDay; }
+        public int getMonthStartDay() { return monthStartDay; }
+        public int getMonthEndDay() { return monthEndDay; }
+        public int getYearStartDay() { return yearStartDay; }
+        public int getYearEndDay() { return yearEndDay; }
+
+        // First and last day any period covers; a week may cross into another year
+        public int getFirstDay() { return Math.min(weekStartDay, yearStartDay); }
+        public int getLastDay() { return Math.max(weekEndDay, yearEndDay); }
+
+        public boolean isToday(int epochDay) {
+            return epochDay != EpochDays.INVALID && epochDay == day;
+        }
+
+        public boolean isInWeek(int epochDay) {
+            return inRange(epochDay, weekStartDay, weekEndDay);
+        }
+
+        public boolean isInMonth(int epochDay) {
+            return inRange(epochDay, monthStartDay, monthEndDay);
+        }
+
+        public boolean isInYear(int epochDay) {
+            return inRange(epochDay, yearStartDay, yearEndDay);
+        }
+
+        // Whether epochDay falls in the current period of the given budget frequency
+        public boolean isInPeriod(String frequency, int epochDay) {
+            if ("Weekly".equalsIgnoreCase(frequency)) {
+                return isInWeek(epochDay);
+            } else if ("Monthly".equalsIgnoreCase(frequency)) {
+                return isInMonth(epochDay);
+            } else if ("Yearly".equalsIgnoreCase(frequency)) {
+                return isInYear(epochDay);
+            } else if ("Daily".equalsIgnoreCase(frequency)) {
+                return isToday(epochDay);
+            }
+            return false;
+        }
+
+        private static boolean inRange(int epochDay, int startDay, int endDay) {
+            return epochDay != EpochDays.INVALID && epochDay >= startDay && epochDay <= endDay;
+        }
+    }
+
+    private static final int DAY = 0;
+    private static final int WEEK = 1;
+    private static final int MONTH = 2;
+    private static final int YEAR = 3;
+
+    /** Spending per category in each period, in cents indexed by Category ordinal. */
+    public static final class Spending {
+        private final long[][] cents;
+
+        // Arrays are kept, not copied, and must not change afterwards
+        public Spending(long[] day, long[] week, long[] month, long[] year) {
+            cents = new long[][] {day, week, month, year};
+        }
+
+        // One pass over the expenses
+        public static Spending of(List<Expense> expenses, Periods periods) {
+            int categories = Category.values().length;
+            long[][] spent = new long[4][categories];
+            for (Expense expense : expenses) {
+                int day = expense.getEpochDay();
+                if (day == EpochDays.INVALID || expense.getCategory() == null) {
+                    continue;
+                }
+                int category = expense.getCategory().ordinal();
+                long cents = expense.getAmountCents();
+                if (periods.isToday(day)) {
+                    spent[DAY][category] += cents;
+                }
+                if (periods.isInWeek(day)) {
+                    spent[WEEK][category] += cents;
+                }
+                if (periods.isInMonth(day)) {
+                    spent[MONTH][category] += cents;
+                }
+                if (periods.isInYear(day)) {
+                    spent[YEAR][category] += cents;
+                }
+            }
+            return new Spending(spent[DAY], spent[WEEK], spent[MONTH], spent[YEAR]);
+        }
+    }
+
+    private final Periods periods;
+    private final List<Budget> budgets;
+    private final List<Budget> remainingBudgets;
+    private final long monthSpentCents;
+    private final long weeklyRemainingCents;
+    private final long monthlyRemainingCents;
+
+    private DashboardState(Periods periods, List<Budget> budgets, List<Budget> remainingBudgets,
+                           long monthSpentCents, long weeklyRemainingCents,
+                           long monthlyRemainingCents) {
+        this.periods = periods;
+        this.budgets = budgets;
+        this.remainingBudgets = Collections.unmodifiableList(remainingBudgets);
+        this.monthSpentCents = monthSpentCents;
+        this.weeklyRemainingCents = weeklyRemainingCents;
+        this.monthlyRemainingCents = monthlyRemainingCents;
+    }
+
+    /**
+     * @param budgets  budget rows; read, never modified, and kept for budgetsFor
+     * @param expenses expense rows; read, never modified
+     */
+    public static DashboardState compute(List<Budget> budgets, List<Expense> expenses, Periods periods) {
+        return compute(budgets, Spending.of(expenses, periods), periods);
+    }
+
+    /**
+     * @param budgets  budget rows; read, never modified, and kept for budgetsFor
+     * @param spending each category's spending in the periods
+     */
+    public static DashboardState compute(List<Budget> budgets, Spending spending, Periods periods) {
+        long[][] spent = spending.cents;
+        long monthSpent = 0;
+        for (long cents : spent[MONTH]) {
+            monthSpent += cents;
+        }
+
+        // Card totals count each category's spending once, however many budgets share it
+        boolean[] weeklyCategories = new boolean[Category.values().length];
+        boolean[] monthlyCategories = new boolean[Category.values().length];
+        long weeklyBudgetCents = 0;
+        long monthlyBudgetCents = 0;
+        List<Budget> remaining = new ArrayList<>();
+
+        for (Budget budget : budgets) {
+            String freq = budget.getfreq();
+            int budgetDay = budget.getEpochDay();
+            int category = budget.getCategory().ordinal();
+
+            if ("Weekly".equalsIgnoreCase(freq) && periods.isInWeek(budgetDay)) {
+                weeklyCategories[category] = true;
+                weeklyBudgetCents += budget.getAmountCents();
+            } else if ("Monthly".equalsIgnoreCase(freq) && periods.isInMonth(budgetDay)) {
+                monthlyCategories[category] = true;
+                monthlyBudgetCents += budget.getAmountCents();
+            }
+
+            // Weekly and monthly budgets recur, so they are active in every period
+            int period;
+            if ("Weekly".equalsIgnoreCase(freq)) {
+                period = WEEK;
+            } else if ("Monthly".equalsIgnoreCase(freq)) {
+                period = MONTH;
+            } else if ("Yearly".equalsIgnoreCase(freq) && periods.isInYear(budgetDay)) {
+                period = YEAR;
+            } else if ("Daily".equalsIgnoreCase(freq) && periods.isToday(budgetDay)) {
+                period = DAY;
+            } else {
+                continue;
+            }
+            long left = budget.getAmountCents() - spent[period][category];
+            remaining.add(new Budget(budget.getName(), Money.toAmount(left), budget.getAmount(),
+                    budget.getCategory(), budget.getDate(), freq));
+        }
+
+        long weeklySpent = 0;
+        long monthlySpent = 0;
+        for (int category = 0; category < weeklyCategories.length; category++) {
+            if (weeklyCategories[category]) {
+                weeklySpent += spent[WEEK][category];
+            }
+            if (monthlyCategories[category]) {
+                monthlySpent += spent[MONTH][category];
+            }
+        }
+
+        return new DashboardState(periods, budgets, remaining, monthSpent,
+                weeklyBudgetCents - weeklySpent, monthlyBudgetCents - monthlySpent);
+    }
+
+    public Periods getPeriods() { return periods; }
+    public List<Budget> getRemainingBudgets() { return remainingBudgets; }
+    public long getMonthSpentCents() { return monthSpentCents; }
+    public long getWeeklyRemainingCents() { return weeklyRemainingCents; }
+    public long getMonthlyRemainingCents() { return monthlyRemainingCents; }
+
+    public double getMonthSpentAmount() {
+        return Money.toAmount(monthSpentCents);
+    }
+
+    public double getWeeklyRemainingAmount() {
+        return Money.toAmount(weeklyRemainingCents);
+    }
+
+    public double getMonthlyRemainingAmount() {
+        return Money.toAmount(monthlyRemainingCents);
+    }
+
+    // Budgets of one frequency whose start date is in the current period
+    public List<Budget> budgetsFor(String frequency) {
+        List<Budget> matching = new ArrayList<>();
+        for (Budget budget : budgets) {
+            if (frequency.equalsIgnoreCase(budget.getfreq())
+                    && periods.isInPeriod(frequency, budget.getEpochDay())) {
+                matching.add(budget);
+            }
+        }
+        return matching;
+    }
+}
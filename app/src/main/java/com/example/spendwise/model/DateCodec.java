@@ -0,0 +1,135 @@
+package com.example.spendwise.model;
+
+import java.util.Calendar;
+
+/**
+ * Hand-written codec between the app's MM/dd/yyyy date strings and epoch
+ * days (see EpochDays), replacing per-screen SimpleDateFormat instances.
+ * Parsing reads the characters in place and allocates nothing. Formatting
+ * and intern() share a small direct-mapped cache of recently seen strings,
+ * so the dates a screen keeps showing are built once and rows loaded with
+ * the same date share one String.
+ *
+ * Parsing is fixed-width but otherwise lenient like SimpleDateFormat: a day
+ * past the end of its month rolls into the next (02/30/2024 is 03/01/2024).
+ * Thread-safe: cache entries are immutable, so a racing reader sees either
+ * a whole entry or a miss.
+ */
+public final class DateCodec {
+
+    private static final int CACHE_SIZE = 512;  // Power of two, over a year of distinct days
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+    private static final class Entry {
+        final int epochDay;
+        final String text;
+
+        Entry(int epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
+
+    private static final Entry[] CACHE = new Entry[CACHE_SIZE];
+
+    private DateCodec() { }
+
+    // Epoch day of an MM/dd/yyyy string, or EpochDays.INVALID for anything else
+    public static int parse(String text) {
+        if (text == null || text.length() != 10
+                || text.charAt(2) != '/' || text.charAt(5) != '/') {
+            return EpochDays.INVALID;
+        }
+        int month = digits(text, 0, 2);
+        int day = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (month < 1 || month > 12 || day < 1 || day > 31 || year < 0) {
+            return EpochDays.INVALID;
+        }
+        return EpochDays.fromCivil(year, month, day);
+    }
+
+    // MM/dd/yyyy for an epoch day in years 0-9999; null for INVALID
+    public static String format(int epochDay) {
+        if (epochDay == EpochDays.INVALID) {
+            return null;
+        }
+        Entry entry = CACHE[epochDay & CACHE_MASK];
+        if (entry != null && entry.epochDay == epochDay) {
+            return entry.text;
+        }
+        String text = encode(epochDay);
+        CACHE[epochDay & CACHE_MASK] = new Entry(epochDay, text);
+        return text;
+    }
+
+    // Uses the calendar's local date fields, like SimpleDateFormat
+    public static String format(Calendar calendar) {
+        return format(EpochDays.fromCivil(calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH)));
+    }
+
+    /**
+     * The cached String equal to text, so rows with the same date share one
+     * instance; text itself becomes the cached one on a miss. Strings that
+     * are not a canonical MM/dd/yyyy date (including rolled-over days) are
+     * returned as they are.
+     */
+    public static String intern(String text) {
+        int epochDay = parse(text);
+        if (epochDay == EpochDays.INVALID) {
+            return text;
+        }
+        Entry entry = CACHE[epochDay & CACHE_MASK];
+        if (entry != null && entry.epochDay == epochDay) {
+            return entry.text.equals(text) ? entry.text : text;
+        }
+        if (digits(text, 3, 5) != EpochDays.toYearMonthDay(epochDay) % 100) {
+            return text;  // Day rolled into the next month
+        }
+        CACHE[epochDay & CACHE_MASK] = new Entry(epochDay, text);
+        return text;
+    }
+
+    /**
+     * Sets calendar to local midnight of epochDay, keeping its time zone.
+     *
+     * @return false, leaving calendar untouched, for INVALID
+     */
+    public static boolean toCalendar(int epochDay, Calendar calendar) {
+        if (epochDay == EpochDays.INVALID) {
+            return false;
+        }
+        int civil = EpochDays.toYearMonthDay(epochDay);
+        calendar.clear();
+        calendar.set(civil / 10000, civil / 100 % 100 - 1, civil % 100);
+        return true;
+    }
+
+    private static String encode(int epochDay) {
+        int civil = EpochDays.toYearMonthDay(epochDay);
+        int year = civil / 10000;
+        int month = civil / 100 % 100;
+        int day = civil % 100;
+        char[] chars = {
+                (char) ('0' + month / 10), (char) ('0' + month % 10), '/',
+                (char) ('0' + day / 10), (char) ('0' + day % 10), '/',
+                (char) ('0' + year / 1000 % 10), (char) ('0' + year / 100 % 10),
+                (char) ('0' + year / 10 % 10), (char) ('0' + year % 10)
+        };
+        return new String(chars);
+    }
+
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.spendwise.model;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Converts calendar dates into an orderable day number (days since 1970-01-01)
+ * so expenses can be range-queried and compared as plain ints.
+ */
+public final class EpochDays {
+
+    // Returned when a date string cannot be parsed
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private EpochDays() { }
+
+    // Days-from-civil for the proleptic Gregorian calendar; month is 1-12
+    public static int fromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    // Inverse of fromCivil, packed as yyyyMM (e.g. 202410)
+    public static int toYearMonth(int epochDay) {
+        return toYearMonthDay(epochDay) / 100;
+    }
+
+    // Inverse of fromCivil, packed as yyyyMMdd (e.g. 20241021)
+    public static int toYearMonthDay(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year * 100 + month) * 100 + day;
+    }
+
+    // Uses the local calendar fields, matching how MM/dd/yyyy strings are parsed
+    public static int fromDate(Date date) {
+        if (date == null) {
+            return INVALID;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return fromCivil(calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    // Parses MM/dd/yyyy without allocating; returns INVALID for anything else
+    public static int parse(String rawDate) {
+        return DateCodec.parse(rawDate);
+    }
+}
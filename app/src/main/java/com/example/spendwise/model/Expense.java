@@ -4,9 +4,10 @@ import java.util.UUID;
 public class Expense {
     private String id;
     private String name;
-    private double amount;
+    private long amountCents; // Source of truth; getAmount() is derived
     private Category category;
     private String date;
+    private int epochDay; // Orderable copy of date for range queries
     private String notes;
     private String savingCircleId; // Optional: ID of savings circle if expense is linked to a circle
 
@@ -17,9 +18,10 @@ public class Expense {
     public Expense(String name, double amount, Category category, String date, String notes) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
-        this.amount = amount;
+        this.amountCents = Money.toCents(amount);
         this.category = category;
         this.date = date;
+        this.epochDay = EpochDays.parse(date);
         this.notes = notes;
         this.savingCircleId = null;
     }
@@ -27,9 +29,10 @@ public class Expense {
     public Expense(String name, double amount, Category category, String date, String notes, String savingCircleId) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
-        this.amount = amount;
+        this.amountCents = Money.toCents(amount);
         this.category = category;
         this.date = date;
+        this.epochDay = EpochDays.parse(date);
         this.notes = notes;
         this.savingCircleId = savingCircleId;
     }
@@ -44,11 +47,23 @@ public class Expense {
     public String getName() {
         return name; }
     public double getAmount() {
-        return amount; }
+        return Money.toAmount(amountCents); }
+    public long getAmountCents() {
+        return amountCents;
+    }
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
     public Category getCategory() {
         return category; }
     public String getDate() {
         return date; }
+    public int getEpochDay() {
+        return epochDay;
+    }
+    public void setEpochDay(int epochDay) {
+        this.epochDay = epochDay;
+    }
     public String getNotes() {
         return notes; }
     public String getSavingCircleId() {
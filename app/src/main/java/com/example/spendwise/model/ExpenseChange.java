@@ -0,0 +1,45 @@
+package com.example.spendwise.model;
+
+/**
+ * Single child-level delta emitted by the expense sync, so observers can patch
+ * their state instead of re-reading the whole expense list.
+ */
+public class ExpenseChange {
+
+    public enum Type {
+        ADDED,
+        CHANGED,
+        REMOVED,
+        MOVED
+    }
+
+    private final Type type;
+    private final String expenseId;
+    private final Expense expense;
+    private final String previousChildId;
+
+    public ExpenseChange(Type type, String expenseId, Expense expense, String previousChildId) {
+        this.type = type;
+        this.expenseId = expenseId;
+        this.expense = expense;
+        this.previousChildId = previousChildId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getExpenseId() {
+        return expenseId;
+    }
+
+    // Null for REMOVED changes
+    public Expense getExpense() {
+        return expense;
+    }
+
+    // Key of the sibling this child now follows, as reported by Firebase
+    public String getPreviousChildId() {
+        return previousChildId;
+    }
+}
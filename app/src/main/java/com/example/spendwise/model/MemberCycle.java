@@ -1,20 +1,31 @@
 package com.example.spendwise.model;
 
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 public class MemberCycle {
     private String cycleId;           // e.g., "2024-10-01_to_2024-11-01"
     private long startDate;           // Cycle start timestamp
     private long endDate;             // Cycle end timestamp
-    private double startAmount;       // Amount at beginning of cycle
-    private double endAmount;         // Amount at end of cycle (or current if ongoing)
-    private double spent;             // Total spent this cycle
-    private double contributed;       // Any additional contributions this cycle
+    // Amounts are held in cents (see Money); the double accessors remain for
+    // existing Firebase records and callers
+    private long startCents;          // Amount at beginning of cycle
+    private long endCents;            // Amount at end of cycle (or current if ongoing)
+    private long spentCents;          // Total spent this cycle
+    private long contributedCents;    // Any additional contributions this cycle
     private boolean isComplete;       // Is this cycle finished?
     private boolean goalReached;      // Did member reach their goal this cycle?
+    // When > 0 this record stands for that many consecutive idle (auto-completed,
+    // zero-amount) cycles between startDate and endDate; see expandIdleRun
+    private int idleCycles;
+    private String frequency;         // Only stored on idle runs, to expand them
+    // False for a record loaded without cents fields (written before they
+    // existed); such a record must be rewritten whole before it can take
+    // server-side increments. Not a bean property, so never stored.
+    private boolean centsStored;
 
     // Default constructor for Firebase
     public MemberCycle() {
@@ -23,13 +34,14 @@ public class MemberCycle {
     public MemberCycle(long startDate, long endDate, double startAmount) {
         this.startDate = startDate;
         this.endDate = endDate;
-        this.startAmount = startAmount;
-        this.endAmount = startAmount;  // Will be updated as expenses happen
-        this.spent = 0;
-        this.contributed = 0;
+        this.startCents = Money.toCents(startAmount);
+        this.endCents = startCents;  // Will be updated as expenses happen
+        this.spentCents = 0;
+        this.contributedCents = 0;
         this.isComplete = false;
         this.goalReached = false;
         this.cycleId = generateCycleId(startDate, endDate);
+        this.centsStored = true;
     }
 
     // Generate a readable cycle ID
@@ -40,21 +52,96 @@ public class MemberCycle {
 
     // Calculate the next cycle dates based on frequency
     public static MemberCycle createNextCycle(MemberCycle previousCycle, String frequency) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(previousCycle.getEndDate());
-
         long newStartDate = previousCycle.getEndDate();
-        long newEndDate;
+        long newEndDate = new CycleCalendar(newStartDate, frequency).endOf(0);
+
+        return new MemberCycle(newStartDate, newEndDate, previousCycle.getStartAmount());
+    }
 
-        if ("Weekly".equals(frequency)) {
-            calendar.add(Calendar.WEEK_OF_YEAR, 1);
-        } else { // Monthly
-            calendar.add(Calendar.MONTH, 1);
+    /**
+     * Plans every cycle after lastCycle up to the one covering targetDate,
+     * with boundaries from {@link CycleCalendar}. Cycles that already ended by
+     * targetDate were idle (the member was not active) and are returned as a
+     * single compact idle run when there is more than one; the covering cycle
+     * starts with the full allocation.
+     */
+    public static List<MemberCycle> createCyclesUpTo(MemberCycle lastCycle, String frequency,
+                                                     double allocation, long targetDate) {
+        List<MemberCycle> cycles = new ArrayList<>();
+        if (targetDate < lastCycle.getEndDate()) {
+            return cycles;
         }
 
-        newEndDate = calendar.getTimeInMillis();
+        // Cycle 0 starts where lastCycle ends; the covering index is closed-form
+        CycleCalendar calendar = new CycleCalendar(lastCycle.getEndDate(), frequency);
+        int coveringIndex = calendar.cycleIndexAt(targetDate);
+        if (coveringIndex > 0) {
+            cycles.add(idleRun(calendar.startOf(0), calendar.startOf(coveringIndex),
+                    coveringIndex, frequency));
+        }
+        cycles.add(new MemberCycle(calendar.startOf(coveringIndex),
+                calendar.endOf(coveringIndex), allocation));
+        return cycles;
+    }
 
-        return new MemberCycle(newStartDate, newEndDate, previousCycle.getStartAmount());
+    /**
+     * A completed zero-amount record covering count idle cycles. A run of one
+     * is stored as an ordinary cycle.
+     */
+    public static MemberCycle idleRun(long startDate, long endDate, int count, String frequency) {
+        MemberCycle run = new MemberCycle(startDate, endDate, 0);
+        run.setComplete(true);
+        if (count > 1) {
+            run.idleCycles = count;
+            run.frequency = frequency;
+        }
+        return run;
+    }
+
+    // Individual idle cycles this record stands for; itself when not a run
+    public List<MemberCycle> expandIdleRun() {
+        List<MemberCycle> cycles = new ArrayList<>();
+        if (idleCycles <= 1 || frequency == null) {
+            cycles.add(this);
+            return cycles;
+        }
+        CycleCalendar calendar = new CycleCalendar(startDate, frequency);
+        for (int index = 0; index < idleCycles; index++) {
+            cycles.add(idleRun(calendar.startOf(index), calendar.endOf(index), 1, null));
+        }
+        return cycles;
+    }
+
+    public static List<MemberCycle> expandIdleRuns(List<MemberCycle> cycles) {
+        List<MemberCycle> expanded = new ArrayList<>(cycles.size());
+        for (MemberCycle cycle : cycles) {
+            expanded.addAll(cycle.expandIdleRun());
+        }
+        return expanded;
+    }
+
+    /**
+     * Splits an idle run around the cycle containing timestamp so that cycle
+     * can be written on its own: [run before, the cycle, run after], with
+     * empty runs omitted.
+     */
+    public List<MemberCycle> splitIdleRunAt(long timestamp) {
+        List<MemberCycle> pieces = new ArrayList<>();
+        if (idleCycles <= 1 || frequency == null || !isDateInCycle(timestamp)) {
+            pieces.add(this);
+            return pieces;
+        }
+        CycleCalendar calendar = new CycleCalendar(startDate, frequency);
+        int index = calendar.cycleIndexAt(timestamp);
+        if (index > 0) {
+            pieces.add(idleRun(startDate, calendar.startOf(index), index, frequency));
+        }
+        pieces.add(idleRun(calendar.startOf(index), calendar.endOf(index), 1, null));
+        int after = idleCycles - index - 1;
+        if (after > 0) {
+            pieces.add(idleRun(calendar.endOf(index), endDate, after, frequency));
+        }
+        return pieces;
     }
 
     // Helper method to check if a date falls within this cycle
@@ -69,34 +156,54 @@ public class MemberCycle {
 
     // Update amounts when expense is added
     public void recordExpense(double amount) {
-        this.endAmount -= amount;
-        this.spent += amount;
-        if (this.endAmount < 0) {
-            this.endAmount = 0;
+        recordExpenseCents(Money.toCents(amount));
+    }
+
+    public void recordExpenseCents(long cents) {
+        this.endCents -= cents;
+        this.spentCents += cents;
+        if (this.endCents < 0) {
+            this.endCents = 0;
         }
     }
 
+    // True when recordExpenseCents would clamp endCents at zero, i.e. the
+    // change cannot be applied as a plain server-side increment
+    public boolean recordWouldClamp(long cents) {
+        return endCents - cents < 0;
+    }
+
+    // Restores clamp at the funded total and at zero spent
+    public boolean restoreWouldClamp(long cents) {
+        return endCents + cents > startCents + contributedCents || spentCents - cents < 0;
+    }
+
     public void restoreExpense(double amount) {
-        this.endAmount += amount;
-        if (this.endAmount > this.startAmount + this.contributed) {
-            this.endAmount = this.startAmount + this.contributed;
+        restoreExpenseCents(Money.toCents(amount));
+    }
+
+    public void restoreExpenseCents(long cents) {
+        this.endCents += cents;
+        if (this.endCents > this.startCents + this.contributedCents) {
+            this.endCents = this.startCents + this.contributedCents;
         }
-        this.spent -= amount;
-        if (this.spent < 0) {
-            this.spent = 0;
+        this.spentCents -= cents;
+        if (this.spentCents < 0) {
+            this.spentCents = 0;
         }
     }
 
     // Update amounts when contribution is added
     public void recordContribution(double amount) {
-        this.endAmount += amount;
-        this.contributed += amount;
+        long cents = Money.toCents(amount);
+        this.endCents += cents;
+        this.contributedCents += cents;
     }
 
     // Close the cycle and mark as complete
     public void completeCycle(double finalAmount) {
-        this.endAmount = finalAmount;
-        this.spent = startAmount - endAmount + contributed;
+        this.endCents = Money.toCents(finalAmount);
+        this.spentCents = startCents - endCents + contributedCents;
         this.isComplete = true;
     }
 
@@ -110,17 +217,28 @@ public class MemberCycle {
     public long getEndDate() { return endDate; }
     public void setEndDate(long endDate) { this.endDate = endDate; }
 
-    public double getStartAmount() { return startAmount; }
-    public void setStartAmount(double startAmount) { this.startAmount = startAmount; }
+    public double getStartAmount() { return Money.toAmount(startCents); }
+    public void setStartAmount(double startAmount) { this.startCents = Money.toCents(startAmount); }
+    public long getStartCents() { return startCents; }
+    public void setStartCents(long startCents) { this.startCents = startCents; }
 
-    public double getEndAmount() { return endAmount; }
-    public void setEndAmount(double endAmount) { this.endAmount = endAmount; }
+    public double getEndAmount() { return Money.toAmount(endCents); }
+    public void setEndAmount(double endAmount) { this.endCents = Money.toCents(endAmount); }
+    public long getEndCents() { return endCents; }
+    public void setEndCents(long endCents) {
+        this.endCents = endCents;
+        this.centsStored = true;
+    }
 
-    public double getSpent() { return spent; }
-    public void setSpent(double spent) { this.spent = spent; }
+    public double getSpent() { return Money.toAmount(spentCents); }
+    public void setSpent(double spent) { this.spentCents = Money.toCents(spent); }
+    public long getSpentCents() { return spentCents; }
+    public void setSpentCents(long spentCents) { this.spentCents = spentCents; }
 
-    public double getContributed() { return contributed; }
-    public void setContributed(double contributed) { this.contributed = contributed; }
+    public double getContributed() { return Money.toAmount(contributedCents); }
+    public void setContributed(double contributed) { this.contributedCents = Money.toCents(contributed); }
+    public long getContributedCents() { return contributedCents; }
+    public void setContributedCents(long contributedCents) { this.contributedCents = contributedCents; }
 
     public boolean isComplete() { return isComplete; }
     public void setComplete(boolean complete) { isComplete = complete; }
@@ -128,14 +246,22 @@ public class MemberCycle {
     public boolean isGoalReached() { return goalReached; }
     public void setGoalReached(boolean goalReached) { this.goalReached = goalReached; }
 
+    public int getIdleCycles() { return idleCycles; }
+    public void setIdleCycles(int idleCycles) { this.idleCycles = idleCycles; }
+
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+
+    public boolean hasStoredCents() { return centsStored; }
+
     // Utility methods
     public double getNetChange() {
-        return endAmount - startAmount;
+        return Money.toAmount(endCents - startCents);
     }
 
     public double getPercentageSpent() {
-        if (startAmount == 0) return 0;
-        return (spent / startAmount) * 100;
+        if (startCents == 0) return 0;
+        return ((double) spentCents / startCents) * 100;
     }
 
     public String getCyclePeriodDisplay() {
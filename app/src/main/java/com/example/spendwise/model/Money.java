@@ -0,0 +1,19 @@
+package com.example.spendwise.model;
+
+/**
+ * Fixed-point money helpers. Amounts are held as long cents so sums are exact
+ * and aggregation never boxes; the double form is kept only at the edges
+ * (UI input/output and the legacy Firebase fields).
+ */
+public final class Money {
+
+    private Money() { }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+}
@@ -2,9 +2,13 @@ package com.example.spendwise.model;
 
 public class SavingCircleMember {
     private String email;
-    private double personalAllocation;  // Starting amount they allocated
-    private double currentAmount;       // Current amount (starts at personalAllocation, decreases with expenses)
+    private long personalAllocationCents;  // Starting amount they allocated, in cents
+    private long currentCents;             // Current amount (starts at personalAllocation, decreases with expenses)
     private long joinedAt;
+    // False for a row loaded without currentCents (written before it
+    // existed); such a row must be backfilled before currentCents can take
+    // server-side increments. Not a bean property, so never stored.
+    private boolean centsStored;
 
     // Default constructor required for Firebase
     public SavingCircleMember() {
@@ -13,8 +17,9 @@ public class SavingCircleMember {
     // UPDATED: Constructor now accepts joinedAt timestamp parameter
     public SavingCircleMember(String email, double personalAllocation, long joinedAt) {
         this.email = email;
-        this.personalAllocation = personalAllocation;
-        this.currentAmount = personalAllocation;  // START WITH THE FULL ALLOCATION
+        this.personalAllocationCents = Money.toCents(personalAllocation);
+        this.currentCents = personalAllocationCents;  // START WITH THE FULL ALLOCATION
+        this.centsStored = true;
         this.joinedAt = joinedAt; // Use the passed timestamp instead of System.currentTimeMillis()
     }
 
@@ -24,11 +29,19 @@ public class SavingCircleMember {
     }
 
     public double getPersonalAllocation() {
-        return personalAllocation;
+        return Money.toAmount(personalAllocationCents);
+    }
+
+    public long getPersonalAllocationCents() {
+        return personalAllocationCents;
     }
 
     public double getCurrentAmount() {
-        return currentAmount;
+        return Money.toAmount(currentCents);
+    }
+
+    public long getCurrentCents() {
+        return currentCents;
     }
 
     public long getJoinedAt() {
@@ -41,25 +54,38 @@ public class SavingCircleMember {
     }
 
     public void setPersonalAllocation(double personalAllocation) {
-        this.personalAllocation = personalAllocation;
+        this.personalAllocationCents = Money.toCents(personalAllocation);
+    }
+
+    public void setPersonalAllocationCents(long personalAllocationCents) {
+        this.personalAllocationCents = personalAllocationCents;
     }
 
     public void setCurrentAmount(double currentAmount) {
-        this.currentAmount = currentAmount;
+        this.currentCents = Money.toCents(currentAmount);
+    }
+
+    public void setCurrentCents(long currentCents) {
+        this.currentCents = currentCents;
+        this.centsStored = true;
     }
 
     public void setJoinedAt(long joinedAt) {
         this.joinedAt = joinedAt;
     }
 
+    public boolean hasStoredCents() {
+        return centsStored;
+    }
+
     // Utility methods
     public double getSpentAmount() {
-        return personalAllocation - currentAmount;
+        return Money.toAmount(personalAllocationCents - currentCents);
     }
 
     public double getPercentageRemaining() {
-        if (personalAllocation == 0) return 0;
-        return (currentAmount / personalAllocation) * 100;
+        if (personalAllocationCents == 0) return 0;
+        return ((double) currentCents / personalAllocationCents) * 100;
     }
 
     public double getPercentageSpent() {
@@ -67,10 +93,10 @@ public class SavingCircleMember {
     }
 
     public boolean hasMoneyLeft() {
-        return currentAmount > 0;
+        return currentCents > 0;
     }
 
     public boolean hasSpentAll() {
-        return currentAmount <= 0;
+        return currentCents <= 0;
     }
 }
\ No newline at end of file
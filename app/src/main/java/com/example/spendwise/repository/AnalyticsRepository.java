@@ -2,17 +2,16 @@ package com.example.spendwise.repository;
 
 import com.example.spendwise.model.Budget;
 import com.example.spendwise.model.BudgetUsageSummary;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
 import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Money;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -21,8 +20,7 @@ import java.util.Map;
  */
 public class AnalyticsRepository {
 
-    private static final String DATE_PATTERN = "MM/dd/yyyy";
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN, Locale.US);
+    private static final Category[] CATEGORIES = Category.values();
 
     public Map<String, Double> calculateCategoryTotals(List<Expense> expenses,
                                                        Date windowStart,
@@ -31,35 +29,76 @@ public class AnalyticsRepository {
             return Collections.emptyMap();
         }
 
-        Map<String, Double> totals = new LinkedHashMap<>();
+        long[] centsByCategory = sumCentsByCategory(expenses,
+                EpochDays.fromDate(windowStart), EpochDays.fromDate(windowEnd));
+        return toDisplayTotals(centsByCategory);
+    }
 
-        for (Expense expense : expenses) {
-            if (expense == null || expense.getCategory() == null) {
-                continue;
-            }
+    public Map<String, Double> calculateCategoryTotals(ExpenseTable expenses,
+                                                       Date windowStart,
+                                                       Date windowEnd) {
+        if (expenses == null || expenses.size() == 0) {
+            return Collections.emptyMap();
+        }
 
-            Date expenseDate = parseDate(expense.getDate());
-            if (!isWithinRange(expenseDate, windowStart, windowEnd)) {
-                continue;
-            }
+        long[] centsByCategory = sumCentsByCategory(expenses,
+                EpochDays.fromDate(windowStart), EpochDays.fromDate(windowEnd));
+        return toDisplayTotals(centsByCategory);
+    }
 
-            String category = expense.getCategory().getDisplayName();
-            double amount = expense.getAmount();
-            totals.put(category, totals.getOrDefault(category, 0.0) + amount);
+    public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
+                                                         List<Expense> expenses,
+                                                         Date windowStart,
+                                                         Date windowEnd) {
+        if (budgets == null || budgets.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return totals;
+        int startDay = EpochDays.fromDate(windowStart);
+        int endDay = EpochDays.fromDate(windowEnd);
+        return summarizeBudgets(budgets, sumCentsByCategory(expenses, startDay, endDay),
+                startDay, endDay);
     }
 
     public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
-                                                         List<Expense> expenses,
+                                                         ExpenseTable expenses,
                                                          Date windowStart,
                                                          Date windowEnd) {
         if (budgets == null || budgets.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Map<String, Double> expenseTotals = aggregateExpensesByCategory(expenses, windowStart, windowEnd);
+        int startDay = EpochDays.fromDate(windowStart);
+        int endDay = EpochDays.fromDate(windowEnd);
+        return summarizeBudgets(budgets, sumCentsByCategory(expenses, startDay, endDay),
+                startDay, endDay);
+    }
+
+    // Pre-aggregated variant (e.g. monthly rollups): cents indexed by Category ordinal
+    public Map<String, Double> calculateCategoryTotals(long[] centsByCategory) {
+        if (centsByCategory == null) {
+            return Collections.emptyMap();
+        }
+
+        return toDisplayTotals(centsByCategory);
+    }
+
+    public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
+                                                         long[] spentByCategory,
+                                                         Date windowStart,
+                                                         Date windowEnd) {
+        if (budgets == null || budgets.isEmpty() || spentByCategory == null) {
+            return Collections.emptyList();
+        }
+
+        return summarizeBudgets(budgets, spentByCategory,
+                EpochDays.fromDate(windowStart), EpochDays.fromDate(windowEnd));
+    }
+
+    private List<BudgetUsageSummary> summarizeBudgets(List<Budget> budgets,
+                                                      long[] spentByCategory,
+                                                      int startDay,
+                                                      int endDay) {
         List<BudgetUsageSummary> summaries = new ArrayList<>();
 
         for (Budget budget : budgets) {
@@ -67,71 +106,85 @@ public class AnalyticsRepository {
                 continue;
             }
 
-            Date budgetDate = parseDate(budget.getDate());
-            if (!isWithinRange(budgetDate, windowStart, windowEnd)) {
+            if (!isWithinRange(budget.getEpochDay(), startDay, endDay)) {
                 continue;
             }
 
-            String categoryName = budget.getCategory().getDisplayName();
-            double spent = expenseTotals.getOrDefault(categoryName, 0.0);
+            Category category = budget.getCategory();
             summaries.add(new BudgetUsageSummary(
                     budget.getId(),
                     budget.getName(),
-                    categoryName,
+                    category.getDisplayName(),
                     budget.getAmount(),
-                    spent
+                    Money.toAmount(spentByCategory[category.ordinal()])
             ));
         }
 
         return summaries;
     }
 
-    private Map<String, Double> aggregateExpensesByCategory(List<Expense> expenses,
-                                                            Date windowStart,
-                                                            Date windowEnd) {
-        if (expenses == null || expenses.isEmpty()) {
-            return new HashMap<>();
+    /**
+     * Sums expense cents per {@link Category} ordinal for the given day window.
+     * The loop itself does not allocate or box.
+     */
+    public long[] sumCentsByCategory(List<Expense> expenses, int startDay, int endDay) {
+        long[] totals = new long[CATEGORIES.length];
+        if (expenses == null) {
+            return totals;
         }
 
-        Map<String, Double> totals = new HashMap<>();
-
         for (Expense expense : expenses) {
             if (expense == null || expense.getCategory() == null) {
                 continue;
             }
 
-            Date expenseDate = parseDate(expense.getDate());
-            if (!isWithinRange(expenseDate, windowStart, windowEnd)) {
+            if (!isWithinRange(expense.getEpochDay(), startDay, endDay)) {
                 continue;
             }
 
-            String category = expense.getCategory().getDisplayName();
-            totals.put(category, totals.getOrDefault(category, 0.0) + expense.getAmount());
+            totals[expense.getCategory().ordinal()] += expense.getAmountCents();
         }
 
         return totals;
     }
 
-    private boolean isWithinRange(Date target, Date start, Date end) {
-        if (target == null) {
-            return false;
+    // Columnar variant: a linear pass over primitive arrays
+    public long[] sumCentsByCategory(ExpenseTable expenses, int startDay, int endDay) {
+        long[] totals = new long[CATEGORIES.length];
+        if (expenses == null) {
+            return totals;
         }
 
-        boolean afterStart = start == null || !target.before(start);
-        boolean beforeEnd = end == null || !target.after(end);
-        return afterStart && beforeEnd;
+        for (int row = 0, size = expenses.size(); row < size; row++) {
+            if (isWithinRange(expenses.epochDayAt(row), startDay, endDay)) {
+                totals[expenses.categoryOrdinalAt(row)] += expenses.centsAt(row);
+            }
+        }
+
+        return totals;
     }
 
-    private Date parseDate(String rawDate) {
-        if (rawDate == null) {
-            return null;
+    // Converts per-ordinal cents into the display-name keyed map the charts use
+    private Map<String, Double> toDisplayTotals(long[] centsByCategory) {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (Category category : CATEGORIES) {
+            long cents = centsByCategory[category.ordinal()];
+            if (cents != 0) {
+                totals.put(category.getDisplayName(), Money.toAmount(cents));
+            }
         }
+        return totals;
+    }
 
-        try {
-            return dateFormat.parse(rawDate);
-        } catch (ParseException e) {
-            return null;
+    // Bounds are compared at day granularity; INVALID means unbounded
+    private boolean isWithinRange(int targetDay, int startDay, int endDay) {
+        if (targetDay == EpochDays.INVALID) {
+            return false;
         }
+
+        boolean afterStart = startDay == EpochDays.INVALID || targetDay >= startDay;
+        boolean beforeEnd = endDay == EpochDays.INVALID || targetDay <= endDay;
+        return afterStart && beforeEnd;
     }
 
     public List<BudgetUsageSummary> createSeedBudgetUsage() {
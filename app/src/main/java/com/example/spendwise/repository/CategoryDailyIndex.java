@@ -0,0 +1,197 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+
+import java.util.TreeMap;
+
+/**
+ * Daily spending totals per {@link Category}, with prefix sums so any
+ * [startDay, endDay] total is two array lookups per category.
+ *
+ * Adds and removes touch a single daily bucket and mark the prefix sums stale;
+ * they are rebuilt once on the next query. A burst of edits therefore costs
+ * one O(days) rebuild, and repeated window queries (date-picker changes)
+ * cost O(1) each regardless of how many expenses exist.
+ *
+ * The dense range never spans more than MAX_DAYS; days that would stretch it
+ * further (a mistyped year 0001 or 9999) are kept per day in a sparse map and
+ * summed on query, so one outlier cannot allocate millions of columns.
+ */
+public class CategoryDailyIndex {
+
+    private static final int CATEGORY_COUNT = Category.values().length;
+    private static final int INITIAL_DAYS = 366;
+    private static final int MAX_DAYS = 366 * 30;
+
+    private int firstDay = EpochDays.INVALID; // epochDay of column 0
+    private long[][] daily = new long[CATEGORY_COUNT][0];
+    // prefix[c][i] = sum of daily[c][0 .. i-1]
+    private long[][] prefix = new long[CATEGORY_COUNT][1];
+    private boolean prefixStale;
+    // Days outside the dense range: epochDay -> cents per category
+    private final TreeMap<Integer, long[]> outliers = new TreeMap<>();
+
+    public void add(Expense expense) {
+        apply(expense, 1);
+    }
+
+    public void remove(Expense expense) {
+        apply(expense, -1);
+    }
+
+    // Replaces an expense's contribution; either side may be null
+    public void replace(Expense previous, Expense current) {
+        remove(previous);
+        add(current);
+    }
+
+    public void add(int categoryOrdinal, int epochDay, long cents) {
+        if (epochDay == EpochDays.INVALID || cents == 0) {
+            return;
+        }
+        if (!ensureDay(epochDay)) {
+            long[] totals = outliers.get(epochDay);
+            if (totals == null) {
+                totals = new long[CATEGORY_COUNT];
+                outliers.put(epochDay, totals);
+            }
+            totals[categoryOrdinal] += cents;
+            return;
+        }
+        daily[categoryOrdinal][epochDay - firstDay] += cents;
+        prefixStale = true;
+    }
+
+    public void clear() {
+        firstDay = EpochDays.INVALID;
+        daily = new long[CATEGORY_COUNT][0];
+        prefix = new long[CATEGORY_COUNT][1];
+        prefixStale = false;
+        outliers.clear();
+    }
+
+    // INVALID bounds are treated as open-ended
+    public long totalCents(int categoryOrdinal, int startDay, int endDay) {
+        long total = outlierCents(categoryOrdinal, startDay, endDay);
+        if (firstDay == EpochDays.INVALID) {
+            return total;
+        }
+        rebuildPrefixIfStale();
+
+        int days = daily[categoryOrdinal].length;
+        int from = startDay == EpochDays.INVALID ? 0 : clamp(startDay - firstDay, days);
+        int to = endDay == EpochDays.INVALID ? days : clamp(endDay - firstDay + 1, days);
+        if (to <= from) {
+            return total;
+        }
+        return total + prefix[categoryOrdinal][to] - prefix[categoryOrdinal][from];
+    }
+
+    public long totalCents(Category category, int startDay, int endDay) {
+        return totalCents(category.ordinal(), startDay, endDay);
+    }
+
+    // All categories combined
+    public long totalCents(int startDay, int endDay) {
+        long total = 0;
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            total += totalCents(c, startDay, endDay);
+        }
+        return total;
+    }
+
+    public long[] totalsByCategory(int startDay, int endDay) {
+        long[] totals = new long[CATEGORY_COUNT];
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            totals[c] = totalCents(c, startDay, endDay);
+        }
+        return totals;
+    }
+
+    private void apply(Expense expense, int sign) {
+        if (expense == null || expense.getCategory() == null) {
+            return;
+        }
+        add(expense.getCategory().ordinal(), expense.getEpochDay(),
+                sign * expense.getAmountCents());
+    }
+
+    private long outlierCents(int categoryOrdinal, int startDay, int endDay) {
+        if (outliers.isEmpty()) {
+            return 0;
+        }
+        int from = startDay == EpochDays.INVALID ? Integer.MIN_VALUE : startDay;
+        int to = endDay == EpochDays.INVALID ? Integer.MAX_VALUE : endDay;
+        if (to < from) {
+            return 0;
+        }
+        long total = 0;
+        for (long[] totals : outliers.subMap(from, true, to, true).values()) {
+            total += totals[categoryOrdinal];
+        }
+        return total;
+    }
+
+    private static int clamp(int offset, int days) {
+        return Math.max(0, Math.min(offset, days));
+    }
+
+    /**
+     * Grows the dense range to cover epochDay, keeping some headroom either
+     * side but never past MAX_DAYS.
+     *
+     * @return false when epochDay cannot be covered within MAX_DAYS
+     */
+    private boolean ensureDay(int epochDay) {
+        if (firstDay == EpochDays.INVALID) {
+            firstDay = epochDay;
+            resize(0, INITIAL_DAYS);
+            return true;
+        }
+        int days = daily[0].length;
+        if (epochDay < firstDay) {
+            int needed = firstDay - epochDay + days;
+            if (needed > MAX_DAYS) {
+                return false;
+            }
+            int shift = Math.min(Math.max(firstDay - epochDay, days / 2), MAX_DAYS - days);
+            firstDay -= shift;
+            resize(shift, days + shift);
+        } else if (epochDay >= firstDay + days) {
+            int needed = epochDay - firstDay + 1;
+            if (needed > MAX_DAYS) {
+                return false;
+            }
+            resize(0, Math.min(Math.max(needed, days + days / 2), MAX_DAYS));
+        }
+        return true;
+    }
+
+    private void resize(int shift, int newDays) {
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            long[] grown = new long[newDays];
+            System.arraycopy(daily[c], 0, grown, shift, daily[c].length);
+            daily[c] = grown;
+        }
+        prefixStale = true;
+    }
+
+    private void rebuildPrefixIfStale() {
+        if (!prefixStale) {
+            return;
+        }
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            long[] days = daily[c];
+            long[] sums = prefix[c].length == days.length + 1
+                    ? prefix[c] : new long[days.length + 1];
+            sums[0] = 0;
+            for (int i = 0; i < days.length; i++) {
+                sums[i + 1] = sums[i] + days[i];
+            }
+            prefix[c] = sums;
+        }
+        prefixStale = false;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.spendwise.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed rows of one database path, patched from child events. Each event
+ * is classified into a Change carrying the row it replaced or removed, and
+ * rows keep the order Firebase reports through previousChildKey (null means
+ * first). SharedDataStore feeds one of these from each child listener.
+ * Not thread-safe.
+ */
+public final class ChildRows<T> {
+
+    /** One parsed child-level change. */
+    public static final class Change<T> {
+        public enum Type {
+            ADDED,
+            CHANGED,
+            REMOVED,
+            MOVED
+        }
+
+        private final Type type;
+        private final String key;
+        private final T value;
+        private final T previous;
+        private final String previousChildKey;
+
+        Change(Type type, String key, T value, T previous, String previousChildKey) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+            this.previous = previous;
+            this.previousChildKey = previousChildKey;
+        }
+
+        public Type getType() { return type; }
+        public String getKey() { return key; }
+        // Null for REMOVED
+        public T getValue() { return value; }
+        // Row this change replaced or removed; null when the key is new
+        public T getPrevious() { return previous; }
+        // Key of the sibling this child now follows, as reported by Firebase
+        public String getPreviousChildKey() { return previousChildKey; }
+    }
+
+    // Rows in order as a doubly linked list, each node found by key, so every
+    // change is O(1) whatever the row count
+    private static final class Node<T> {
+        final String key;
+        T value;
+        Node<T> previous;
+        Node<T> next;
+
+        Node(String key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final Map<String, Node<T>> nodes = new HashMap<>();
+    private Node<T> head;
+    private Node<T> tail;
+    // rows() snapshot, rebuilt on the first read after a batch of changes
+    private List<T> rowList;
+
+    /**
+     * @param row parsed child, or null when the child is not a usable row
+     * @return the change to publish, or null when nothing changed
+     */
+    public Change<T> added(String key, T row, String previousKey) {
+        if (row == null) {
+            return removed(key);
+        }
+        T previous = put(key, row, previousKey);
+        return new Change<>(Change.Type.ADDED, key, row, previous, previousKey);
+    }
+
+    // A child that stops parsing is dropped like a removal
+    public Change<T> changed(String key, T row, String previousKey) {
+        if (row == null) {
+            return removed(key);
+        }
+        T previous = put(key, row, previousKey);
+        return new Change<>(Change.Type.CHANGED, key, row, previous, previousKey);
+    }
+
+    public Change<T> removed(String key) {
+        Node<T> node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        rowList = null;
+        return new Change<>(Change.Type.REMOVED, key, null, node.value, null);
+    }
+
+    public Change<T> moved(String key, String previousKey) {
+        Node<T> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        place(node, previousKey);
+        return new Change<>(Change.Type.MOVED, key, node.value, node.value, previousKey);
+    }
+
+    // Every row as an ADDED change in order, for a subscriber joining late
+    public List<Change<T>> replay() {
+        List<Change<T>> changes = new ArrayList<>(nodes.size());
+        String previousKey = null;
+        for (Node<T> node = head; node != null; node = node.next) {
+            changes.add(new Change<>(Change.Type.ADDED, node.key, node.value, null, previousKey));
+            previousKey = node.key;
+        }
+        return changes;
+    }
+
+    // Current rows in order; unmodifiable and shared until the next change
+    public List<T> rows() {
+        if (rowList == null) {
+            List<T> list = new ArrayList<>(nodes.size());
+            for (Node<T> node = head; node != null; node = node.next) {
+                list.add(node.value);
+            }
+            rowList = Collections.unmodifiableList(list);
+        }
+        return rowList;
+    }
+
+    public T get(String key) {
+        Node<T> node = nodes.get(key);
+        return node != null ? node.value : null;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private T put(String key, T row, String previousKey) {
+        Node<T> node = nodes.get(key);
+        T previous = null;
+        if (node == null) {
+            node = new Node<>(key, row);
+            nodes.put(key, node);
+            insert(node, previousKey);
+        } else {
+            previous = node.value;
+            node.value = row;
+            place(node, previousKey);
+        }
+        rowList = null;
+        return previous;
+    }
+
+    private void place(Node<T> node, String previousKey) {
+        boolean inPlace = node.previous == null ? previousKey == null
+                : node.previous.key.equals(previousKey);
+        if (!inPlace) {
+            unlink(node);
+            insert(node, previousKey);
+            rowList = null;
+        }
+    }
+
+    // After previousKey's row; first for null, last when that row is unknown
+    private void insert(Node<T> node, String previousKey) {
+        Node<T> after = previousKey == null ? null : nodes.get(previousKey);
+        if (previousKey != null && after == null) {
+            after = tail;
+        }
+        node.previous = after;
+        node.next = after == null ? head : after.next;
+        if (node.next != null) {
+            node.next.previous = node;
+        } else {
+            tail = node;
+        }
+        if (after != null) {
+            after.next = node;
+        } else {
+            head = node;
+        }
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        } else {
+            tail = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+}
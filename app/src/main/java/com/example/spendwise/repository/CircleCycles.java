@@ -0,0 +1,205 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.SavingCircleMember;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Member cycle histories at circleCycles/{circleId}/{member}/{cycleId}.
+ * Cycles used to be embedded in savingCircles/{id}/members/{member}/cycles,
+ * so every read of the member list downloaded every cycle ever recorded.
+ * Keeping them in a sibling tree leaves the circle node (header plus
+ * members) small. Circles created before the split are moved over once per
+ * creator, or one at a time by whichever member opens them first.
+ */
+public final class CircleCycles {
+
+    private static final String TAG = "CircleCycles";
+    public static final String NODE = "circleCycles";
+    private static final String MARKER = "circleCycles";
+
+    private CircleCycles() { }
+
+    // memberKey is the sanitized email used under members/
+    public static DatabaseReference memberRef(FirebaseDatabase database, String circleId,
+                                              String memberKey) {
+        return database.getReference(NODE).child(circleId).child(memberKey);
+    }
+
+    // Root-relative path of a cycle, for multi-path updates
+    public static String cyclePath(String circleId, String memberKey, String cycleId) {
+        return NODE + "/" + circleId + "/" + memberKey + "/" + cycleId;
+    }
+
+    /**
+     * Moves embedded cycles of every circle this user created into
+     * circleCycles and removes them from the member nodes, backfilling the
+     * cents fields of cycles stored before they existed, all in one
+     * multi-path update, then sets a marker so it runs once. Member rows
+     * without cents are backfilled after that update.
+     */
+    public static void ensureMigrated(FirebaseDatabase database, String uid) {
+        DatabaseReference userRef = database.getReference("users").child(uid);
+        DatabaseReference markerRef = userRef.child("migrations").child(MARKER);
+        markerRef.get().addOnSuccessListener(marker -> {
+            if (Boolean.TRUE.equals(marker.getValue(Boolean.class))) {
+                return;
+            }
+            userRef.child("savingCircles").get().addOnSuccessListener(circles -> {
+                Map<String, Object> updates = new HashMap<>();
+                List<DataSnapshot> created = new ArrayList<>();
+                int moved = 0;
+                for (DataSnapshot circle : circles.getChildren()) {
+                    String creatorUid = circle.child("creatorUid").getValue(String.class);
+                    // Invitee copies carry no member cycles; the creator migrates those
+                    if (creatorUid != null && !creatorUid.isEmpty() && !creatorUid.equals(uid)) {
+                        continue;
+                    }
+                    moved += putCircleMigration(updates, circlePath(uid, circle.getKey()),
+                            circle.getKey(), circle.child("members"));
+                    created.add(circle);
+                }
+                updates.put("users/" + uid + "/migrations/" + MARKER, true);
+                int movedCycles = moved;
+                database.getReference().updateChildren(updates)
+                        .addOnSuccessListener(aVoid -> {
+                            Log.d(TAG, "Moved " + movedCycles + " member cycles to " + NODE);
+                            for (DataSnapshot circle : created) {
+                                backfillMemberCents(database, circlePath(uid, circle.getKey()),
+                                        circle.child("members"));
+                            }
+                        })
+                        .addOnFailureListener(e -> Log.e(TAG, "Error migrating member cycles", e));
+            }).addOnFailureListener(e -> Log.e(TAG, "Error reading circles for cycle migration", e));
+        }).addOnFailureListener(e -> Log.e(TAG, "Error reading cycle migration marker", e));
+    }
+
+    /**
+     * Moves one circle's embedded cycles the same way ensureMigrated does,
+     * for members who open a circle before its creator has logged in since
+     * the split, then backfills currentCents on member rows stored before it
+     * existed (see backfillMemberCents). Writes nothing once the circle has
+     * moved and every row has cents, so it is cheap to call before every
+     * first use of circleCycles/{circleId}.
+     */
+    public static Task<Void> migrateCircle(FirebaseDatabase database, String creatorUid,
+                                           String circleId) {
+        String path = circlePath(creatorUid, circleId);
+        return database.getReference(path).child("members").get().onSuccessTask(members -> {
+            Map<String, Object> updates = new HashMap<>();
+            int moved = putCircleMigration(updates, path, circleId, members);
+            if (updates.isEmpty()) {
+                return backfillMemberCents(database, path, members);
+            }
+            Log.d(TAG, "Moving " + moved + " member cycles of circle " + circleId + " to " + NODE);
+            return database.getReference().updateChildren(updates)
+                    .onSuccessTask(aVoid -> backfillMemberCents(database, path, members));
+        });
+    }
+
+    /**
+     * Gives every member row read without currentCents its cents fields,
+     * each in a transaction on the row, so an increment landing meanwhile is
+     * never overwritten. Incrementing a missing currentCents would store just
+     * the delta next to the full currentAmount, so rows need this before the
+     * first expense that changes them.
+     */
+    private static Task<Void> backfillMemberCents(FirebaseDatabase database, String circlePath,
+                                                  DataSnapshot members) {
+        List<Task<Void>> backfills = new ArrayList<>();
+        for (DataSnapshot member : members.getChildren()) {
+            SavingCircleMember parsed = member.getValue(SavingCircleMember.class);
+            if (parsed != null && !parsed.hasStoredCents()) {
+                backfills.add(backfillMemberCents(
+                        database.getReference(circlePath).child("members").child(member.getKey())));
+            }
+        }
+        return Tasks.whenAll(backfills);
+    }
+
+    private static Task<Void> backfillMemberCents(DatabaseReference memberRef) {
+        TaskCompletionSource<Void> backfilled = new TaskCompletionSource<>();
+        memberRef.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData row) {
+                SavingCircleMember member = row.getValue(SavingCircleMember.class);
+                // Null also on a first run against an empty local cache
+                if (member != null && !member.hasStoredCents()) {
+                    row.child("currentCents").setValue(member.getCurrentCents());
+                    row.child("personalAllocationCents").setValue(member.getPersonalAllocationCents());
+                }
+                return Transaction.success(row);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot row) {
+                if (error != null) {
+                    Log.e(TAG, "Error backfilling cents of " + memberRef.getKey(), error.toException());
+                    backfilled.setException(error.toException());
+                } else {
+                    backfilled.setResult(null);
+                }
+            }
+        });
+        return backfilled.getTask();
+    }
+
+    // True while any member of this circle node still holds embedded cycles
+    public static boolean hasEmbeddedCycles(DataSnapshot circleNode) {
+        for (DataSnapshot member : circleNode.child("members").getChildren()) {
+            if (member.child("cycles").exists()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Root-relative path of the creator's copy of a circle
+    private static String circlePath(String creatorUid, String circleId) {
+        return "users/" + creatorUid + "/savingCircles/" + circleId;
+    }
+
+    /**
+     * Adds the moves of every member's embedded cycles to updates and
+     * returns how many cycles moved.
+     */
+    private static int putCircleMigration(Map<String, Object> updates, String circlePath,
+                                          String circleId, DataSnapshot members) {
+        int moved = 0;
+        for (DataSnapshot member : members.getChildren()) {
+            DataSnapshot cycles = member.child("cycles");
+            if (!cycles.exists()) {
+                continue;
+            }
+            for (DataSnapshot cycle : cycles.getChildren()) {
+                // Re-serialized, so records written before cents get them
+                MemberCycle parsed = cycle.getValue(MemberCycle.class);
+                if (parsed == null) {
+                    continue;
+                }
+                updates.put(cyclePath(circleId, member.getKey(), cycle.getKey()), parsed);
+                moved++;
+            }
+            updates.put(circlePath + "/members/" + member.getKey() + "/cycles", null);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global directory at circleIndex/{circleId} -> {creatorUid, frequency}.
+ * Circles live under their creator's users/{uid} node, so without it finding
+ * a circle from its id alone meant downloading the entire users tree. The
+ * entry is written together with the circle and backfilled once per creator
+ * for circles created before the directory existed.
+ */
+public final class CircleDirectory {
+
+    private static final String TAG = "CircleDirectory";
+    public static final String NODE = "circleIndex";
+    private static final String MARKER = "circleIndex";
+
+    private CircleDirectory() { }
+
+    public interface OnEntryLoadedListener {
+        // creatorUid is null when the circle has no directory entry
+        void onEntryLoaded(String creatorUid, String frequency);
+    }
+
+    public static DatabaseReference entryRef(FirebaseDatabase database, String circleId) {
+        return database.getReference(NODE).child(circleId);
+    }
+
+    // Adds the directory entry to a root-relative multi-path update. Fields are
+    // written individually so the entry's viewers (see CircleSummaries) survive.
+    public static void putEntry(Map<String, Object> rootUpdates, String circleId,
+                                String creatorUid, String frequency) {
+        rootUpdates.put(NODE + "/" + circleId + "/creatorUid", creatorUid);
+        rootUpdates.put(NODE + "/" + circleId + "/frequency", frequency);
+    }
+
+    public static void lookup(FirebaseDatabase database, String circleId,
+                              OnEntryLoadedListener listener) {
+        entryRef(database, circleId).get()
+                .addOnSuccessListener(snapshot -> listener.onEntryLoaded(
+                        snapshot.child("creatorUid").getValue(String.class),
+                        snapshot.child("frequency").getValue(String.class)))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading circle directory for " + circleId, e);
+                    listener.onEntryLoaded(null, null);
+                });
+    }
+
+    /**
+     * Writes directory entries for every circle this user created that lacks
+     * one, in a single multi-path update, then sets a marker so it runs once.
+     */
+    public static void ensureBackfilled(FirebaseDatabase database, String uid) {
+        DatabaseReference userRef = database.getReference("users").child(uid);
+        DatabaseReference markerRef = userRef.child("migrations").child(MARKER);
+        markerRef.get().addOnSuccessListener(marker -> {
+            if (Boolean.TRUE.equals(marker.getValue(Boolean.class))) {
+                return;
+            }
+            userRef.child("savingCircles").get().addOnSuccessListener(circles -> {
+                Map<String, Object> updates = new HashMap<>();
+                for (DataSnapshot circle : circles.getChildren()) {
+                    String creatorUid = circle.child("creatorUid").getValue(String.class);
+                    // Circles without creatorUid predate sharing and belong to this user
+                    if (creatorUid != null && !creatorUid.isEmpty() && !creatorUid.equals(uid)) {
+                        continue;
+                    }
+                    String frequency = circle.child("frequency").getValue(String.class);
+                    putEntry(updates, circle.getKey(), uid,
+                            frequency != null ? frequency : "Monthly");
+                }
+                updates.put("users/" + uid + "/migrations/" + MARKER, true);
+                database.getReference().updateChildren(updates)
+                        .addOnSuccessListener(aVoid -> Log.d(TAG, "Backfilled "
+                                + (updates.size() - 1) / 2 + " circle directory entries"))
+                        .addOnFailureListener(e -> Log.e(TAG, "Error backfilling circle directory", e));
+            }).addOnFailureListener(e -> Log.e(TAG, "Error reading circles for backfill", e));
+        }).addOnFailureListener(e -> Log.e(TAG, "Error reading circle directory marker", e));
+    }
+}
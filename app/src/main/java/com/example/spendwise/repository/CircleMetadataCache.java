@@ -0,0 +1,88 @@
+package com.example.spendwise.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of the per-circle facts every cycle operation needs before it
+ * can build a path: who created the circle and how often it cycles. A warm
+ * entry saves the directory round trip in front of each cycle read or write.
+ */
+public class CircleMetadataCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    public static final class Entry {
+        private final String creatorUid;
+        private final String frequency;
+
+        public Entry(String creatorUid, String frequency) {
+            this.creatorUid = creatorUid;
+            this.frequency = frequency;
+        }
+
+        public String getCreatorUid() {
+            return creatorUid;
+        }
+
+        public String getFrequency() {
+            return frequency;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    public CircleMetadataCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CircleMetadataCache(int capacity) {
+        // Access order, so the eldest entry is the least recently used one
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Returns null (and counts a miss) when the circle is not cached
+    public synchronized Entry get(String circleId) {
+        Entry entry = circleId != null ? entries.get(circleId) : null;
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String circleId, String creatorUid, String frequency) {
+        if (circleId == null || creatorUid == null || creatorUid.isEmpty()) {
+            return;
+        }
+        entries.put(circleId, new Entry(creatorUid, frequency));
+    }
+
+    public synchronized void invalidate(String circleId) {
+        entries.remove(circleId);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+}
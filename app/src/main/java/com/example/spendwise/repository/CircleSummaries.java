@@ -0,0 +1,217 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.example.spendwise.model.CircleSummary;
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.SavingCircle;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ServerValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains circleSummaries/{uid}/{circleId} (see CircleSummary) for every
+ * user who has a circle in their list. Those users are recorded as viewers
+ * in the circle's directory entry, circleIndex/{circleId}/viewers/{uid}, so
+ * member and cycle writes can fan their progress changes out to each
+ * summary with one small read.
+ */
+public final class CircleSummaries {
+
+    private static final String TAG = "CircleSummaries";
+    public static final String NODE = "circleSummaries";
+    private static final String MARKER = "circleSummaries";
+
+    private CircleSummaries() { }
+
+    public static DatabaseReference userRef(FirebaseDatabase database, String uid) {
+        return database.getReference(NODE).child(uid);
+    }
+
+    // Adds a viewer's summary and viewer registration to a root-relative update
+    public static void putSummary(Map<String, Object> rootUpdates, String uid,
+                                  String circleId, CircleSummary summary) {
+        rootUpdates.put(NODE + "/" + uid + "/" + circleId, summary);
+        rootUpdates.put(viewerPath(circleId, uid), true);
+    }
+
+    public static void removeSummary(Map<String, Object> rootUpdates, String uid, String circleId) {
+        rootUpdates.put(NODE + "/" + uid + "/" + circleId, null);
+        rootUpdates.put(viewerPath(circleId, uid), null);
+    }
+
+    private static String viewerPath(String circleId, String uid) {
+        return CircleDirectory.NODE + "/" + circleId + "/viewers/" + uid;
+    }
+
+    public static DatabaseReference viewersRef(FirebaseDatabase database, String circleId) {
+        return CircleDirectory.entryRef(database, circleId).child("viewers");
+    }
+
+    // Adds progress increments for the given viewers to a root-relative update
+    public static void putProgress(Map<String, Object> rootUpdates, Iterable<String> viewerUids,
+                                   String circleId, int memberDelta, long contributedDelta) {
+        for (String uid : viewerUids) {
+            String summaryPath = NODE + "/" + uid + "/" + circleId;
+            if (memberDelta != 0) {
+                rootUpdates.put(summaryPath + "/memberCount", ServerValue.increment(memberDelta));
+            }
+            if (contributedDelta != 0) {
+                rootUpdates.put(summaryPath + "/contributedCents", ServerValue.increment(contributedDelta));
+            }
+        }
+    }
+
+    /**
+     * Adds memberDelta to memberCount and contributedDelta to
+     * contributedCents in every viewer's summary, as server increments in a
+     * single multi-path update.
+     */
+    public static void applyProgress(FirebaseDatabase database, String circleId,
+                                     int memberDelta, long contributedDelta) {
+        if (memberDelta == 0 && contributedDelta == 0) {
+            return;
+        }
+        forEachViewer(database, circleId, (updates, uid) ->
+                putProgress(updates, Collections.singletonList(uid), circleId, memberDelta, contributedDelta));
+    }
+
+    // Rewrites the card fields of every viewer's summary after the circle changes
+    public static void applyCardFields(FirebaseDatabase database, SavingCircle circle) {
+        Map<String, Object> fields = CircleSummary.cardFields(circle);
+        forEachViewer(database, circle.getId(), (updates, uid) -> {
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                updates.put(NODE + "/" + uid + "/" + circle.getId() + "/" + field.getKey(), field.getValue());
+            }
+        });
+    }
+
+    private interface ViewerUpdate {
+        void put(Map<String, Object> rootUpdates, String viewerUid);
+    }
+
+    private static void forEachViewer(FirebaseDatabase database, String circleId,
+                                      ViewerUpdate viewerUpdate) {
+        viewersRef(database, circleId).get()
+                .addOnSuccessListener(viewers -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    for (DataSnapshot viewer : viewers.getChildren()) {
+                        viewerUpdate.put(updates, viewer.getKey());
+                    }
+                    if (updates.isEmpty()) {
+                        return;
+                    }
+                    database.getReference().updateChildren(updates)
+                            .addOnFailureListener(e -> Log.e(TAG, "Error updating summaries of " + circleId, e));
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error reading viewers of " + circleId, e));
+    }
+
+    /**
+     * Builds summaries for every circle in this user's list that predates
+     * them. Member counts and contributions are read once per circle from
+     * the creator's member node and circleCycles; a member whose cycles have
+     * not moved out of the member node yet is counted there. Does not depend
+     * on the cycle migration having run. Everything is written in one
+     * multi-path update, with a marker so it runs once, but only when every
+     * circle was summarized; otherwise the next launch tries again.
+     */
+    public static void ensureBackfilled(FirebaseDatabase database, String uid) {
+        DatabaseReference userRef = database.getReference("users").child(uid);
+        DatabaseReference markerRef = userRef.child("migrations").child(MARKER);
+        markerRef.get().addOnSuccessListener(marker -> {
+            if (Boolean.TRUE.equals(marker.getValue(Boolean.class))) {
+                return;
+            }
+            userRef.child("savingCircles").get().addOnSuccessListener(circles -> {
+                List<DataSnapshot> pending = new ArrayList<>();
+                for (DataSnapshot circle : circles.getChildren()) {
+                    pending.add(circle);
+                }
+                Map<String, Object> updates = new HashMap<>();
+                backfillNext(database, uid, pending.iterator(), updates, true, complete -> {
+                    if (complete) {
+                        updates.put("users/" + uid + "/migrations/" + MARKER, true);
+                    }
+                    if (updates.isEmpty()) {
+                        return;
+                    }
+                    database.getReference().updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> Log.d(TAG, "Backfilled circle summaries"
+                                    + (complete ? "" : "; some circles failed and will be retried")))
+                            .addOnFailureListener(e -> Log.e(TAG, "Error backfilling circle summaries", e));
+                });
+            }).addOnFailureListener(e -> Log.e(TAG, "Error reading circles for summary backfill", e));
+        }).addOnFailureListener(e -> Log.e(TAG, "Error reading circle summary marker", e));
+    }
+
+    private interface OnBackfilledListener {
+        // complete is false when any circle could not be read
+        void onBackfilled(boolean complete);
+    }
+
+    private static void backfillNext(FirebaseDatabase database, String uid,
+                                     Iterator<DataSnapshot> circles, Map<String, Object> updates,
+                                     boolean complete, OnBackfilledListener listener) {
+        if (!circles.hasNext()) {
+            listener.onBackfilled(complete);
+            return;
+        }
+        DataSnapshot circleSnapshot = circles.next();
+        String circleId = circleSnapshot.getKey();
+        SavingCircle circle = circleSnapshot.getValue(SavingCircle.class);
+        if (circle == null || circle.getGroupName() == null) {
+            backfillNext(database, uid, circles, updates, complete, listener);
+            return;
+        }
+        circle.setId(circleId);
+        // Circles without creatorUid predate sharing and belong to this user
+        if (circle.getCreatorUid() == null || circle.getCreatorUid().isEmpty()) {
+            circle.setCreatorUid(uid);
+        }
+
+        database.getReference("users").child(circle.getCreatorUid())
+                .child("savingCircles").child(circleId).child("members").get()
+                .addOnSuccessListener(members -> database.getReference(CircleCycles.NODE)
+                        .child(circleId).get()
+                        .addOnSuccessListener(cycles -> {
+                            long contributed = 0;
+                            for (DataSnapshot member : members.getChildren()) {
+                                // A migration between the two reads leaves cycles in both
+                                DataSnapshot moved = cycles.child(member.getKey());
+                                contributed += contribution(moved.exists()
+                                        ? moved : member.child("cycles"));
+                            }
+                            putSummary(updates, uid, circleId, new CircleSummary(circle,
+                                    (int) members.getChildrenCount(), contributed));
+                            backfillNext(database, uid, circles, updates, complete, listener);
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Error reading cycles of " + circleId, e);
+                            backfillNext(database, uid, circles, updates, false, listener);
+                        }))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading members of " + circleId, e);
+                    backfillNext(database, uid, circles, updates, false, listener);
+                });
+    }
+
+    private static long contribution(DataSnapshot memberCycles) {
+        List<MemberCycle> cycles = new ArrayList<>();
+        for (DataSnapshot cycle : memberCycles.getChildren()) {
+            MemberCycle parsed = cycle.getValue(MemberCycle.class);
+            if (parsed != null) {
+                cycles.add(parsed);
+            }
+        }
+        return CircleSummary.contributionCents(cycles);
+    }
+}
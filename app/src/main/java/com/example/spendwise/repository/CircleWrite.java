@@ -0,0 +1,39 @@
+package com.example.spendwise.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The savings circle's part of an expense write (see
+ * SavingCircleViewModel.prepareCycleExpense): root-relative paths to merge
+ * into the expense's own multi-path update, and a follow-up to start once
+ * that update has landed, for changes that cannot be plain increments.
+ */
+public final class CircleWrite {
+
+    private static final Supplier<CompletableFuture<Void>> NOTHING =
+            () -> CompletableFuture.completedFuture(null);
+
+    private final Map<String, Object> updates;
+    private final Supplier<CompletableFuture<Void>> afterWrite;
+
+    public CircleWrite(Map<String, Object> updates) {
+        this(updates, NOTHING);
+    }
+
+    public CircleWrite(Map<String, Object> updates, Supplier<CompletableFuture<Void>> afterWrite) {
+        this.updates = Collections.unmodifiableMap(updates);
+        this.afterWrite = afterWrite;
+    }
+
+    public Map<String, Object> getUpdates() {
+        return updates;
+    }
+
+    // Starts the follow-up; call only after getUpdates() has been written
+    public CompletableFuture<Void> afterWrite() {
+        return afterWrite.get();
+    }
+}
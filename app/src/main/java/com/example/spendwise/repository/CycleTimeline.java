@@ -0,0 +1,53 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.MemberCycle;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A member's cycles keyed by start timestamp. Cycles do not overlap, so the
+ * one covering a date is the floor entry for that date: O(log cycles)
+ * instead of scanning the whole history.
+ */
+public class CycleTimeline {
+
+    private final TreeMap<Long, MemberCycle> cyclesByStart = new TreeMap<>();
+
+    public void replaceAll(Collection<MemberCycle> cycles) {
+        cyclesByStart.clear();
+        for (MemberCycle cycle : cycles) {
+            put(cycle);
+        }
+    }
+
+    public void put(MemberCycle cycle) {
+        if (cycle != null) {
+            cyclesByStart.put(cycle.getStartDate(), cycle);
+        }
+    }
+
+    // The cycle whose [startDate, endDate) contains timestamp, or null
+    public MemberCycle cycleAt(long timestamp) {
+        Map.Entry<Long, MemberCycle> floor = cyclesByStart.floorEntry(timestamp);
+        if (floor == null || !floor.getValue().isDateInCycle(timestamp)) {
+            return null;
+        }
+        return floor.getValue();
+    }
+
+    // Most recent cycle by start date, or null when empty
+    public MemberCycle latest() {
+        Map.Entry<Long, MemberCycle> last = cyclesByStart.lastEntry();
+        return last != null ? last.getValue() : null;
+    }
+
+    public int size() {
+        return cyclesByStart.size();
+    }
+
+    public boolean isEmpty() {
+        return cyclesByStart.isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.example.spendwise.model.EpochDays;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * One-time backfill of the epochDay field on expenses and budgets written
+ * before the field existed. Records are patched with batched multi-path
+ * updates and a marker under users/{uid}/migrations stops it from re-running.
+ */
+public class EpochDayMigrator {
+
+    private static final String TAG = "EpochDayMigrator";
+    private static final String MARKER = "epochDay";
+    private static final int BATCH_SIZE = 500;
+
+    // Snapshot walking happens off the main thread
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final DatabaseReference userRef;
+
+    public EpochDayMigrator(DatabaseReference userRef) {
+        this.userRef = userRef;
+    }
+
+    public void runOnce() {
+        DatabaseReference markerRef = userRef.child("migrations").child(MARKER);
+        markerRef.get().addOnSuccessListener(EXECUTOR, marker -> {
+            if (Boolean.TRUE.equals(marker.getValue(Boolean.class))) {
+                return;
+            }
+            migrateNode("expenses", () ->
+                    migrateNode("budgets", () -> markerRef.setValue(true)));
+        }).addOnFailureListener(e -> Log.e(TAG, "Error reading migration marker", e));
+    }
+
+    private void migrateNode(String node, Runnable onComplete) {
+        DatabaseReference nodeRef = userRef.child(node);
+        nodeRef.get().addOnSuccessListener(EXECUTOR, snapshot -> {
+            Map<String, Object> batch = new HashMap<>();
+            List<Task<Void>> writes = new ArrayList<>();
+            int patched = 0;
+            for (DataSnapshot child : snapshot.getChildren()) {
+                if (child.hasChild("epochDay")) {
+                    continue;
+                }
+                int epochDay = EpochDays.parse(child.child("date").getValue(String.class));
+                if (epochDay == EpochDays.INVALID) {
+                    continue;
+                }
+                batch.put(child.getKey() + "/epochDay", epochDay);
+                patched++;
+                if (batch.size() >= BATCH_SIZE) {
+                    writes.add(nodeRef.updateChildren(batch));
+                    batch = new HashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writes.add(nodeRef.updateChildren(batch));
+            }
+
+            // Only continue towards the marker once every batch has landed
+            int total = patched;
+            Tasks.whenAll(writes)
+                    .addOnSuccessListener(EXECUTOR, aVoid -> {
+                        Log.d(TAG, "Backfilled epochDay on " + total + " " + node);
+                        onComplete.run();
+                    })
+                    .addOnFailureListener(e -> Log.e(TAG, "Error backfilling " + node, e));
+        }).addOnFailureListener(e -> Log.e(TAG, "Error reading " + node, e));
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Money;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Monthly spending rollups stored at users/{uid}/rollups/{yyyyMM}/{CATEGORY}
+ * as cents. Expense writes fold their rollup increments into the same
+ * multi-path update, so the totals move atomically with the raw records.
+ * Rebuilds only ever add increments too (see rebuild), so they never undo
+ * one another's or an expense write's.
+ */
+public final class ExpenseRollups {
+
+    private static final String TAG = "ExpenseRollups";
+    public static final String NODE = "rollups";
+
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor();
+    // A rebuild claim older than this is from a client that never finished
+    private static final long CLAIM_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+    private ExpenseRollups() { }
+
+    public interface OnRebuildListener {
+        void onRebuilt(int months);
+        void onError(String message);
+    }
+
+    // yyyyMM keys sort lexicographically in date order
+    public static String monthKey(int epochDay) {
+        return String.valueOf(EpochDays.toYearMonth(epochDay));
+    }
+
+    /**
+     * Accumulates sign * expense cents under the expense's rollup path, relative
+     * to the user node. Deltas for the same path are merged so an edit that
+     * stays in one month/category becomes a single increment.
+     */
+    public static void addDelta(Map<String, Long> deltas, Expense expense, int sign) {
+        if (expense == null || expense.getCategory() == null
+                || expense.getEpochDay() == EpochDays.INVALID) {
+            return;
+        }
+        String path = NODE + "/" + monthKey(expense.getEpochDay())
+                + "/" + expense.getCategory().name();
+        Long current = deltas.get(path);
+        deltas.put(path, (current != null ? current : 0L) + sign * expense.getAmountCents());
+    }
+
+    public static void putIncrements(Map<String, Object> updates, Map<String, Long> deltas) {
+        for (Map.Entry<String, Long> entry : deltas.entrySet()) {
+            if (entry.getValue() != 0) {
+                updates.put(entry.getKey(), ServerValue.increment(entry.getValue()));
+            }
+        }
+    }
+
+    // Reads one rollups/{yyyyMM} snapshot into per-ordinal cents
+    public static void accumulateMonth(DataSnapshot monthSnapshot, long[] centsByCategory) {
+        for (DataSnapshot categorySnapshot : monthSnapshot.getChildren()) {
+            Long cents = categorySnapshot.getValue(Long.class);
+            if (cents == null) {
+                continue;
+            }
+            try {
+                centsByCategory[Category.valueOf(categorySnapshot.getKey()).ordinal()] += cents;
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Unknown rollup category: " + categorySnapshot.getKey());
+            }
+        }
+    }
+
+    // Builds rollups once for accounts whose expenses predate them
+    public static void ensureBuilt(DatabaseReference userRef) {
+        rebuild(userRef, false, new OnRebuildListener() {
+            @Override
+            public void onRebuilt(int months) {
+            }
+
+            @Override
+            public void onError(String message) {
+                // Marker stays unset so the next launch retries
+            }
+        });
+    }
+
+    /**
+     * Corrects every rollup to match users/{uid}/expenses. Use after imports
+     * or if increments drifted.
+     */
+    public static void rebuild(DatabaseReference userRef, OnRebuildListener listener) {
+        rebuild(userRef, true, listener);
+    }
+
+    /**
+     * Claims the rollup marker in a transaction, so only one client at a time
+     * rebuilds; a claim older than CLAIM_TIMEOUT_MILLIS is taken to be from a
+     * client that died. The claimant reads the user node once, so expenses
+     * and rollups come from one consistent snapshot, and writes each
+     * month/category's difference as an increment with the marker in one
+     * update. Increments from expense writes that land meanwhile change both
+     * sides and are never overwritten.
+     *
+     * @param force rebuild even when the marker says the rollups are built
+     */
+    private static void rebuild(DatabaseReference userRef, boolean force, OnRebuildListener listener) {
+        DatabaseReference markerRef = userRef.child("migrations").child(NODE);
+        long claim = System.currentTimeMillis();
+        markerRef.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData marker) {
+                Object value = marker.getValue();
+                if (Boolean.TRUE.equals(value) && !force) {
+                    return Transaction.abort();
+                }
+                if (value instanceof Long && claim - (Long) value < CLAIM_TIMEOUT_MILLIS) {
+                    return Transaction.abort();  // Another client is rebuilding
+                }
+                marker.setValue(claim);
+                return Transaction.success(marker);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot marker) {
+                if (error != null) {
+                    Log.e(TAG, "Error claiming rollup rebuild", error.toException());
+                    if (listener != null) listener.onError(error.getMessage());
+                } else if (committed) {
+                    correct(userRef, listener);
+                } else if (force && listener != null) {
+                    listener.onError("Rollups are already being rebuilt");
+                }
+            }
+        });
+    }
+
+    // Run by the client holding the claim; a failure leaves the claim to expire
+    private static void correct(DatabaseReference userRef, OnRebuildListener listener) {
+        userRef.get().addOnSuccessListener(EXECUTOR, user -> {
+            Map<String, Map<String, Long>> months = new HashMap<>();
+            for (DataSnapshot child : user.child("expenses").getChildren()) {
+                String categoryStr = child.child("category").getValue(String.class);
+                Long cents = child.child("amountCents").getValue(Long.class);
+                if (cents == null) {
+                    Double amount = child.child("amount").getValue(Double.class);
+                    cents = amount != null ? Money.toCents(amount) : null;
+                }
+                int epochDay = EpochDays.parse(child.child("date").getValue(String.class));
+                if (categoryStr == null || cents == null || epochDay == EpochDays.INVALID) {
+                    continue;
+                }
+
+                Map<String, Long> month = months.get(monthKey(epochDay));
+                if (month == null) {
+                    month = new HashMap<>();
+                    months.put(monthKey(epochDay), month);
+                }
+                Long current = month.get(categoryStr);
+                month.put(categoryStr, (current != null ? current : 0L) + cents);
+            }
+
+            // Stored totals come off first, so categories without expenses end at zero
+            Map<String, Long> corrections = new HashMap<>();
+            for (DataSnapshot month : user.child(NODE).getChildren()) {
+                for (DataSnapshot category : month.getChildren()) {
+                    Long stored = category.getValue(Long.class);
+                    if (stored != null) {
+                        corrections.put(NODE + "/" + month.getKey() + "/" + category.getKey(), -stored);
+                    }
+                }
+            }
+            for (Map.Entry<String, Map<String, Long>> month : months.entrySet()) {
+                for (Map.Entry<String, Long> category : month.getValue().entrySet()) {
+                    String path = NODE + "/" + month.getKey() + "/" + category.getKey();
+                    Long stored = corrections.get(path);
+                    corrections.put(path, (stored != null ? stored : 0L) + category.getValue());
+                }
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            putIncrements(updates, corrections);
+            int corrected = updates.size();
+            updates.put("migrations/" + NODE, true);
+            userRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d(TAG, "Rebuilt rollups for " + months.size() + " months, "
+                                + corrected + " totals corrected");
+                        if (listener != null) listener.onRebuilt(months.size());
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error writing rollups", e);
+                        if (listener != null) listener.onError(e.getMessage());
+                    });
+        }).addOnFailureListener(e -> {
+            Log.e(TAG, "Error reading expenses for rollup rebuild", e);
+            if (listener != null) listener.onError(e.getMessage());
+        });
+    }
+}
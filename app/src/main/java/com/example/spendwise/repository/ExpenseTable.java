@@ -0,0 +1,182 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the fields analytics scans actually read. Each
+ * expense is one row across parallel primitive arrays, so a window scan walks
+ * contiguous memory instead of chasing Expense objects and their Strings.
+ * Rows are upserted and removed by expense id as listener events arrive;
+ * removal swaps the last row into the hole, so row order is not stable.
+ */
+public class ExpenseTable {
+
+    // Circle code for expenses not linked to a saving circle
+    public static final int NO_CIRCLE = 0;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private final Map<String, Integer> circleCodes = new HashMap<>();
+    private final List<String> circleIds = new ArrayList<>();
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private int[] circles = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public ExpenseTable() {
+        circleIds.add(null); // code 0 is reserved for NO_CIRCLE
+    }
+
+    // Independent copy, e.g. to hand the current rows to a background scan
+    public ExpenseTable copy() {
+        ExpenseTable copy = new ExpenseTable();
+        copy.rowById.putAll(rowById);
+        copy.circleCodes.putAll(circleCodes);
+        copy.circleIds.addAll(circleIds.subList(1, circleIds.size()));
+        copy.ids = Arrays.copyOf(ids, Math.max(size, INITIAL_CAPACITY));
+        copy.epochDays = Arrays.copyOf(epochDays, copy.ids.length);
+        copy.cents = Arrays.copyOf(cents, copy.ids.length);
+        copy.categories = Arrays.copyOf(categories, copy.ids.length);
+        copy.circles = Arrays.copyOf(circles, copy.ids.length);
+        copy.size = size;
+        return copy;
+    }
+
+    public static ExpenseTable of(List<Expense> expenses) {
+        ExpenseTable table = new ExpenseTable();
+        if (expenses != null) {
+            for (Expense expense : expenses) {
+                table.upsert(expense);
+            }
+        }
+        return table;
+    }
+
+    // Inserts or replaces the row for expense.getId(); returns false if unusable
+    public boolean upsert(Expense expense) {
+        if (expense == null || expense.getId() == null || expense.getCategory() == null) {
+            return false;
+        }
+
+        Integer existing = rowById.get(expense.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(size + 1);
+            row = size++;
+            ids[row] = expense.getId();
+            rowById.put(expense.getId(), row);
+        }
+
+        epochDays[row] = expense.getEpochDay();
+        cents[row] = expense.getAmountCents();
+        categories[row] = (byte) expense.getCategory().ordinal();
+        circles[row] = encodeCircle(expense.getSavingCircleId());
+        return true;
+    }
+
+    public boolean remove(String expenseId) {
+        Integer row = rowById.remove(expenseId);
+        if (row == null) {
+            return false;
+        }
+
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            epochDays[row] = epochDays[last];
+            cents[row] = cents[last];
+            categories[row] = categories[last];
+            circles[row] = circles[last];
+            rowById.put(ids[row], row);
+        }
+        ids[last] = null;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(ids, 0, size, null);
+        rowById.clear();
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String expenseId) {
+        return rowById.containsKey(expenseId);
+    }
+
+    public String idAt(int row) {
+        return ids[row];
+    }
+
+    public int epochDayAt(int row) {
+        return epochDays[row];
+    }
+
+    public long centsAt(int row) {
+        return cents[row];
+    }
+
+    public int categoryOrdinalAt(int row) {
+        return categories[row];
+    }
+
+    public Category categoryAt(int row) {
+        return CATEGORIES[categories[row]];
+    }
+
+    public int circleCodeAt(int row) {
+        return circles[row];
+    }
+
+    // Code assigned to a circle id, or NO_CIRCLE if the table has never seen it
+    public int circleCodeOf(String savingCircleId) {
+        Integer code = savingCircleId == null ? null : circleCodes.get(savingCircleId);
+        return code != null ? code : NO_CIRCLE;
+    }
+
+    public String circleIdOf(int code) {
+        return circleIds.get(code);
+    }
+
+    private int encodeCircle(String savingCircleId) {
+        if (savingCircleId == null || savingCircleId.isEmpty()) {
+            return NO_CIRCLE;
+        }
+        Integer code = circleCodes.get(savingCircleId);
+        if (code == null) {
+            code = circleIds.size();
+            circleIds.add(savingCircleId);
+            circleCodes.put(savingCircleId, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        circles = Arrays.copyOf(circles, capacity);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The value listeners one owner (usually a ViewModel) keeps attached, keyed
+ * by what they are for. Listening again under a key detaches the listener
+ * already there, so repeated calls from a screen never stack listeners on
+ * the same path; clear() detaches everything and refuses later listens, so
+ * callbacks that complete after the owner is gone cannot leak one either.
+ *
+ * Every attach, detach and delivered snapshot is counted in the shared
+ * ListenerStats (see stats()), which a debug overlay can read. Used from
+ * the main thread only.
+ */
+public final class ListenerRegistry {
+
+    private static final String TAG = "ListenerRegistry";
+    private static final ListenerStats STATS = new ListenerStats();
+
+    private final String owner;
+    private final Map<String, Registration> registrations = new HashMap<>();
+    private boolean cleared;
+
+    public ListenerRegistry(String owner) {
+        this.owner = owner;
+    }
+
+    // Process-wide counts across every registry and the SharedDataStore
+    public static ListenerStats stats() {
+        return STATS;
+    }
+
+    // Registers under the reference's own path
+    public void listen(DatabaseReference ref, ValueEventListener listener) {
+        listen(pathOf(ref), ref, listener);
+    }
+
+    public void listen(String key, Query query, ValueEventListener listener) {
+        if (cleared) {
+            Log.w(TAG, owner + " listened on " + key + " after clear; not attached");
+            return;
+        }
+        remove(key);
+        Registration registration = new Registration(pathOf(query), query, listener);
+        registrations.put(key, registration);
+        query.addValueEventListener(registration);
+        attached(registration.path, owner);
+    }
+
+    public boolean isListening(String key) {
+        return registrations.containsKey(key);
+    }
+
+    public void remove(String key) {
+        Registration registration = registrations.remove(key);
+        if (registration != null) {
+            registration.query.removeEventListener(registration);
+            STATS.detached(registration.path);
+        }
+    }
+
+    public void clear() {
+        cleared = true;
+        for (String key : new ArrayList<>(registrations.keySet())) {
+            remove(key);
+        }
+    }
+
+    // Counts a listener attached outside a registry, warning when its path looks leaked
+    static void attached(String path, String owner) {
+        if (STATS.attached(path)) {
+            Log.w(TAG, "Possible listener leak: " + STATS.liveListeners(path)
+                    + " live listeners on " + path + ", latest from " + owner);
+        }
+    }
+
+    static String pathOf(Query query) {
+        // Reference URLs are the root URL followed by the path
+        DatabaseReference ref = query.getRef();
+        String path = ref.toString().substring(ref.getRoot().toString().length());
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private static final class Registration implements ValueEventListener {
+        private final String path;
+        private final Query query;
+        private final ValueEventListener listener;
+
+        Registration(String path, Query query, ValueEventListener listener) {
+            this.path = path;
+            this.query = query;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onDataChange(@NonNull DataSnapshot snapshot) {
+            STATS.delivered(path);
+            listener.onDataChange(snapshot);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            listener.onCancelled(error);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.spendwise.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Live database listener counts and delivered snapshot counts per path, for
+ * a debug overlay. A path whose live count climbs past the leak threshold is
+ * reported by attached(), since each screen should need at most a couple of
+ * listeners on any one path.
+ *
+ * Thread-safe; counts are kept for a path after its last listener detaches
+ * so its delivery history stays visible.
+ */
+public final class ListenerStats {
+
+    public static final int DEFAULT_LEAK_THRESHOLD = 3;
+
+    /** Immutable counts for one path. */
+    public static final class PathStats {
+        private final String path;
+        private final int liveListeners;
+        private final long deliveries;
+
+        PathStats(String path, int liveListeners, long deliveries) {
+            this.path = path;
+            this.liveListeners = liveListeners;
+            this.deliveries = deliveries;
+        }
+
+        public String getPath() { return path; }
+        public int getLiveListeners() { return liveListeners; }
+        public long getDeliveries() { return deliveries; }
+
+        @Override
+        public String toString() {
+            return path + " live=" + liveListeners + " delivered=" + deliveries;
+        }
+    }
+
+    private static final class Counter {
+        int live;
+        long deliveries;
+    }
+
+    private final int leakThreshold;
+    private final Map<String, Counter> counters = new TreeMap<>();
+    private int totalLive;
+
+    public ListenerStats() {
+        this(DEFAULT_LEAK_THRESHOLD);
+    }
+
+    public ListenerStats(int leakThreshold) {
+        this.leakThreshold = leakThreshold;
+    }
+
+    /**
+     * Records a listener attached to path.
+     *
+     * @return true if path now has more live listeners than the leak threshold
+     */
+    public synchronized boolean attached(String path) {
+        Counter counter = counterFor(path);
+        counter.live++;
+        totalLive++;
+        return counter.live > leakThreshold;
+    }
+
+    public synchronized void detached(String path) {
+        Counter counter = counters.get(path);
+        if (counter == null || counter.live == 0) {
+            return;
+        }
+        counter.live--;
+        totalLive--;
+    }
+
+    public synchronized void delivered(String path) {
+        counterFor(path).deliveries++;
+    }
+
+    public synchronized int liveListeners() {
+        return totalLive;
+    }
+
+    public synchronized int liveListeners(String path) {
+        Counter counter = counters.get(path);
+        return counter != null ? counter.live : 0;
+    }
+
+    public synchronized long deliveries(String path) {
+        Counter counter = counters.get(path);
+        return counter != null ? counter.deliveries : 0;
+    }
+
+    // Every path seen so far, in path order
+    public synchronized List<PathStats> snapshot() {
+        List<PathStats> stats = new ArrayList<>(counters.size());
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            stats.add(new PathStats(entry.getKey(), counter.live, counter.deliveries));
+        }
+        return stats;
+    }
+
+    // Paths currently over the leak threshold
+    public synchronized List<String> suspectedLeaks() {
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (entry.getValue().live > leakThreshold) {
+                paths.add(entry.getKey());
+            }
+        }
+        return paths;
+    }
+
+    private Counter counterFor(String path) {
+        Counter counter = counters.get(path);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(path, counter);
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Newest-first slice of the expense history, grown one keyset page at a time.
+ * Rows are ordered by (epochDay, id) descending, which matches Firebase's
+ * orderByChild("epochDay") with ties broken by key. Each page is fetched
+ * strictly older than the cursor (the oldest row held), so a fetch costs one
+ * page regardless of how far the user has scrolled and rows never repeat.
+ */
+public class PagedExpenseList {
+
+    private final List<Expense> rows = new ArrayList<>();
+    private final Map<String, Expense> rowsById = new HashMap<>();
+    private boolean exhausted;
+
+    public static int compareNewestFirst(Expense first, Expense second) {
+        int byDay = Integer.compare(second.getEpochDay(), first.getEpochDay());
+        if (byDay != 0) {
+            return byDay;
+        }
+        String firstId = first.getId() != null ? first.getId() : "";
+        String secondId = second.getId() != null ? second.getId() : "";
+        return secondId.compareTo(firstId);
+    }
+
+    /**
+     * Adds a page fetched older than the current cursor; lastPage marks that
+     * the start of the history has been reached.
+     */
+    public void appendPage(List<Expense> page, boolean lastPage) {
+        List<Expense> sorted = new ArrayList<>(page);
+        Collections.sort(sorted, PagedExpenseList::compareNewestFirst);
+        for (Expense expense : sorted) {
+            if (expense.getId() != null && !rowsById.containsKey(expense.getId())) {
+                rowsById.put(expense.getId(), expense);
+                rows.add(expense);
+            }
+        }
+        if (lastPage) {
+            exhausted = true;
+        }
+    }
+
+    /**
+     * Places a locally written expense in order. Rows older than the cursor
+     * are left for a later page to fetch, unless the history is exhausted.
+     */
+    public void insert(Expense expense) {
+        if (expense == null || expense.getId() == null) {
+            return;
+        }
+        remove(expense.getId());
+        if (!exhausted && !rows.isEmpty()
+                && compareNewestFirst(expense, rows.get(rows.size() - 1)) > 0) {
+            return;
+        }
+        int position = Collections.binarySearch(rows, expense,
+                PagedExpenseList::compareNewestFirst);
+        rows.add(position < 0 ? -position - 1 : position, expense);
+        rowsById.put(expense.getId(), expense);
+    }
+
+    public boolean remove(String expenseId) {
+        Expense removed = rowsById.remove(expenseId);
+        return removed != null && rows.remove(removed);
+    }
+
+    public void clear() {
+        rows.clear();
+        rowsById.clear();
+        exhausted = false;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // epochDay of the oldest loaded row, or INVALID before the first page
+    public int cursorEpochDay() {
+        return rows.isEmpty() ? EpochDays.INVALID : rows.get(rows.size() - 1).getEpochDay();
+    }
+
+    public String cursorId() {
+        return rows.isEmpty() ? null : rows.get(rows.size() - 1).getId();
+    }
+
+    public List<Expense> snapshot() {
+        return new ArrayList<>(rows);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.spendwise.repository;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs an expensive recompute on its own background thread, one run at a
+ * time, with the latest input winning. A request waits debounceMillis
+ * before running; requests arriving in the meantime replace its input and
+ * are counted as merged. A request arriving while a run is computing
+ * schedules the next run, and the stale result is dropped instead of
+ * published and counted as skipped.
+ *
+ * Inputs must not be modified after they are requested; publish is called
+ * on the background thread (LiveData.postValue fits).
+ */
+public class RecomputeScheduler<I, R> {
+
+    /** Counts since the scheduler was created. */
+    public static final class Metrics {
+        private final long requested;
+        private final long runs;
+        private final long merged;
+        private final long skipped;
+
+        Metrics(long requested, long runs, long merged, long skipped) {
+            this.requested = requested;
+            this.runs = runs;
+            this.merged = merged;
+            this.skipped = skipped;
+        }
+
+        public long getRequested() { return requested; }
+        // Recomputes actually started
+        public long getRuns() { return runs; }
+        // Requests folded into a run that was already waiting
+        public long getMerged() { return merged; }
+        // Runs whose result was dropped because newer input arrived
+        public long getSkipped() { return skipped; }
+
+        @Override
+        public String toString() {
+            return "requested=" + requested + " runs=" + runs
+                    + " merged=" + merged + " skipped=" + skipped;
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Function<I, R> compute;
+    private final Consumer<R> publish;
+    private volatile long debounceMillis;
+
+    // Guarded by this
+    private I pendingInput;
+    private boolean scheduled;
+    private boolean closed;
+    private long version;
+    private long requested;
+    private long runs;
+    private long merged;
+    private long skipped;
+
+    public RecomputeScheduler(String name, long debounceMillis,
+                              Function<I, R> compute, Consumer<R> publish) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.debounceMillis = debounceMillis;
+        this.compute = compute;
+        this.publish = publish;
+    }
+
+    public void setDebounceMillis(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+
+    public synchronized void request(I input) {
+        if (closed) {
+            return;
+        }
+        requested++;
+        version++;
+        pendingInput = input;
+        if (scheduled) {
+            merged++;
+            return;
+        }
+        scheduled = true;
+        try {
+            executor.schedule(this::run, debounceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            scheduled = false;
+        }
+    }
+
+    private void run() {
+        I input;
+        long runVersion;
+        synchronized (this) {
+            scheduled = false;
+            if (closed) {
+                return;
+            }
+            input = pendingInput;
+            pendingInput = null;
+            runVersion = version;
+            runs++;
+        }
+
+        R result = compute.apply(input);
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // A newer request is already scheduled; its run publishes instead
+            if (runVersion != version) {
+                skipped++;
+                return;
+            }
+        }
+        publish.accept(result);
+    }
+
+    public synchronized Metrics getMetrics() {
+        return new Metrics(requested, runs, merged, skipped);
+    }
+
+    // Drops pending work and ignores later requests; call when the owner is cleared
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            pendingInput = null;
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.DateCodec;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Firebase;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Application-scoped owner of the per-user listeners several ViewModels
+ * need, e.g. users/{uid}/expenses (ExpenseViewModel and the dashboard) and
+ * users/{uid}/budgets (BudgetViewModel and the dashboard). Each path gets
+ * one child listener no matter how many subscribers it has: every child is
+ * parsed once and the parsed row is fanned out to all of them. The listener
+ * is attached by the first subscribe and detached when the last
+ * Subscription closes.
+ *
+ * A source with a day child (expenses' epochDay) can also be subscribed to
+ * for a window of days; each distinct window is its own shared entry,
+ * listening to an orderByChild(day).startAt(..).endAt(..) query, so only
+ * rows inside it are downloaded.
+ *
+ * Rows are shared between subscribers and must be treated as read-only.
+ * Listeners and published changes are counted in ListenerRegistry.stats().
+ * Used from the main thread only, where Firebase delivers its callbacks.
+ */
+public final class SharedDataStore {
+
+    private static final String TAG = "SharedDataStore";
+
+    private static SharedDataStore instance;
+
+    public interface Parser<T> {
+        // Null when the child is not a usable row
+        T parse(DataSnapshot child);
+    }
+
+    /** A child node of every user's tree and how to parse its children. */
+    public static final class Source<T> {
+        private final String child;
+        private final Parser<T> parser;
+        // Epoch-day child rows can be windowed by; null when there is none
+        private final String dayChild;
+
+        private Source(String child, Parser<T> parser, String dayChild) {
+            this.child = child;
+            this.parser = parser;
+            this.dayChild = dayChild;
+        }
+
+        public T parse(DataSnapshot snapshot) {
+            return parser.parse(snapshot);
+        }
+    }
+
+    public static final Source<Expense> EXPENSES = new Source<>("expenses", SharedDataStore::parseExpense, "epochDay");
+    public static final Source<Budget> BUDGETS = new Source<>("budgets", SharedDataStore::parseBudget, null);
+
+    public interface Subscriber<T> {
+        // Rows already loaded are replayed as ADDED when subscribing
+        void onChange(ChildRows.Change<T> change);
+
+        void onError(String message);
+    }
+
+    private final FirebaseDatabase database;
+    private final Map<String, Entry<?>> entries = new HashMap<>();
+
+    private SharedDataStore(FirebaseDatabase database) {
+        this.database = database;
+    }
+
+    public static synchronized SharedDataStore getInstance() {
+        if (instance == null) {
+            instance = new SharedDataStore(Firebase.getDatabase());
+        }
+        return instance;
+    }
+
+    public <T> Subscription<T> subscribe(String uid, Source<T> source, Subscriber<T> subscriber) {
+        String path = "users/" + uid + "/" + source.child;
+        return subscribe(path, database.getReference(path), source, subscriber);
+    }
+
+    /**
+     * Subscribes to the rows whose day child lies in [startDay, endDay]
+     * (epoch days, inclusive). EpochDays.INVALID leaves that side open; with
+     * both open this is subscribe(). Moving to another window means closing
+     * this Subscription and subscribing again.
+     *
+     * @throws IllegalArgumentException if source has no day child
+     */
+    public <T> Subscription<T> subscribeWindow(String uid, Source<T> source, int startDay,
+                                               int endDay, Subscriber<T> subscriber) {
+        if (source.dayChild == null) {
+            throw new IllegalArgumentException(source.child + " cannot be windowed by day");
+        }
+        if (startDay == EpochDays.INVALID && endDay == EpochDays.INVALID) {
+            return subscribe(uid, source, subscriber);
+        }
+        String path = "users/" + uid + "/" + source.child;
+        Query query = database.getReference(path).orderByChild(source.dayChild);
+        if (startDay != EpochDays.INVALID) {
+            query = query.startAt(startDay);
+        }
+        if (endDay != EpochDays.INVALID) {
+            query = query.endAt(endDay);
+        }
+        String key = path + "?" + source.dayChild + "=" + windowBound(startDay)
+                + ".." + windowBound(endDay);
+        return subscribe(key, query, source, subscriber);
+    }
+
+    private static String windowBound(int day) {
+        return day == EpochDays.INVALID ? "" : Integer.toString(day);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Subscription<T> subscribe(String key, Query query, Source<T> source,
+                                          Subscriber<T> subscriber) {
+        Entry<T> entry = (Entry<T>) entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key, query, source.parser);
+            entries.put(key, entry);
+            entry.subscribers.add(subscriber);
+            entry.query.addChildEventListener(entry);
+            ListenerRegistry.attached(key, TAG);
+            Log.d(TAG, "Attached shared listener on " + key);
+        } else {
+            entry.replayTo(subscriber);
+            entry.subscribers.add(subscriber);
+        }
+        return new Subscription<>(entry, subscriber);
+    }
+
+    private void release(Entry<?> entry) {
+        if (entry.subscribers.isEmpty() && entries.get(entry.key) == entry) {
+            entries.remove(entry.key);
+            entry.query.removeEventListener(entry);
+            ListenerRegistry.stats().detached(entry.key);
+            Log.d(TAG, "Detached shared listener on " + entry.key);
+        }
+    }
+
+    /** A subscriber's hold on a path; close it when the subscriber goes away. */
+    public final class Subscription<T> {
+        private final Entry<T> entry;
+        private final Subscriber<T> subscriber;
+        private boolean closed;
+
+        private Subscription(Entry<T> entry, Subscriber<T> subscriber) {
+            this.entry = entry;
+            this.subscriber = subscriber;
+        }
+
+        // Current rows in Firebase child order; unmodifiable and shared
+        public List<T> rows() {
+            return entry.rows();
+        }
+
+        public T get(String key) {
+            return entry.rows.get(key);
+        }
+
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            entry.subscribers.remove(subscriber);
+            release(entry);
+        }
+    }
+
+    private static final class Entry<T> implements ChildEventListener {
+        // The path, plus the window for a windowed query
+        private final String key;
+        private final Query query;
+        private final Parser<T> parser;
+        private final ChildRows<T> rows = new ChildRows<>();
+        // Copy-on-write so a subscriber may close while changes are delivered
+        private final List<Subscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+
+        Entry(String key, Query query, Parser<T> parser) {
+            this.key = key;
+            this.query = query;
+            this.parser = parser;
+        }
+
+        List<T> rows() {
+            return rows.rows();
+        }
+
+        void replayTo(Subscriber<T> subscriber) {
+            for (ChildRows.Change<T> change : rows.replay()) {
+                subscriber.onChange(change);
+            }
+        }
+
+        private void publish(ChildRows.Change<T> change) {
+            if (change == null) {
+                return;
+            }
+            ListenerRegistry.stats().delivered(key);
+            for (Subscriber<T> subscriber : subscribers) {
+                subscriber.onChange(change);
+            }
+        }
+
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+            publish(rows.added(snapshot.getKey(), parser.parse(snapshot), previousChildName));
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+            publish(rows.changed(snapshot.getKey(), parser.parse(snapshot), previousChildName));
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+            publish(rows.removed(snapshot.getKey()));
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+            publish(rows.moved(snapshot.getKey(), previousChildName));
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            Log.e(TAG, "Shared listener on " + key + " cancelled: " + error.getMessage());
+            for (Subscriber<T> subscriber : subscribers) {
+                subscriber.onError(error.getMessage());
+            }
+        }
+    }
+
+    private static Expense parseExpense(DataSnapshot snapshot) {
+        try {
+            String id = snapshot.getKey();
+            String name = snapshot.child("name").getValue(String.class);
+            Double amount = snapshot.child("amount").getValue(Double.class);
+            String categoryStr = snapshot.child("category").getValue(String.class);
+            // Rows from the same day share one String
+            String date = DateCodec.intern(snapshot.child("date").getValue(String.class));
+            String notes = snapshot.child("notes").getValue(String.class);
+            String savingCircleId = snapshot.child("savingCircleId").getValue(String.class);
+
+            if (name == null || amount == null || categoryStr == null) {
+                return null;
+            }
+
+            Category category = Category.valueOf(categoryStr);
+            Expense expense;
+            if (savingCircleId != null && !savingCircleId.isEmpty()) {
+                expense = new Expense(name, amount, category,
+                        date, notes != null ? notes : "", savingCircleId);
+            } else {
+                expense = new Expense(name, amount, category,
+                        date, notes != null ? notes : "");
+            }
+            expense.setId(id);
+            return expense;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing expense", e);
+            return null;
+        }
+    }
+
+    private static Budget parseBudget(DataSnapshot snapshot) {
+        try {
+            String id = snapshot.getKey();
+            String name = snapshot.child("name").getValue(String.class);
+            Double amount = snapshot.child("amount").getValue(Double.class);
+            String categoryStr = snapshot.child("category").getValue(String.class);
+            String date = DateCodec.intern(snapshot.child("date").getValue(String.class));
+            String freq = snapshot.child("freq").getValue(String.class);
+
+            if (name == null || amount == null || categoryStr == null || date == null || freq == null) {
+                return null;
+            }
+
+            Budget budget = new Budget(name, amount, Category.valueOf(categoryStr), date, freq);
+            budget.setId(id);
+            return budget;
+        } catch (IllegalArgumentException e) {
+            // Skip invalid category
+            return null;
+        }
+    }
+}
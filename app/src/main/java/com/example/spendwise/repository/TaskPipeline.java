@@ -0,0 +1,130 @@
+package com.example.spendwise.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Small future-based pipeline for multi-step database operations. Each read
+ * stage is a CompletableFuture with its own timeout; independent stages are
+ * started together and joined with whenAll, dependent ones chained with
+ * thenCompose. Write stages have no timeout: Firebase applies a write it has
+ * accepted even after a caller gives up on it, so reporting it as failed
+ * invites a retry that applies it twice.
+ *
+ * cancel() (called when the owning ViewModel is cleared) only suppresses the
+ * final callbacks, so nothing runs against a finished screen. Stages keep
+ * running: an operation the user already confirmed, such as an expense
+ * deduction or an invitation acceptance, still reaches the database.
+ */
+public class TaskPipeline {
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 15_000;
+
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "TaskPipeline-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Executor callbackExecutor;
+    private volatile boolean cancelled;
+
+    // callbackExecutor runs finish() callbacks, typically the main thread
+    public TaskPipeline(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /** A stage failed to finish within its timeout. */
+    public static class StageTimeoutException extends RuntimeException {
+        public StageTimeoutException(String stage, long timeoutMillis) {
+            super(stage + " timed out after " + timeoutMillis + " ms");
+        }
+    }
+
+    public <T> CompletableFuture<T> stage(String name, Supplier<CompletableFuture<T>> start) {
+        return stage(name, DEFAULT_TIMEOUT_MILLIS, start);
+    }
+
+    /**
+     * Starts a read stage. The returned future completes with the stage's
+     * result, or exceptionally with a StageTimeoutException.
+     */
+    public <T> CompletableFuture<T> stage(String name, long timeoutMillis,
+                                          Supplier<CompletableFuture<T>> start) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = TIMER.schedule(
+                () -> result.completeExceptionally(new StageTimeoutException(name, timeoutMillis)),
+                timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> timeout.cancel(false));
+        forward(start, result);
+        return result;
+    }
+
+    /**
+     * Starts a write stage: no timeout, so the future completes only with
+     * the database's own outcome.
+     */
+    public <T> CompletableFuture<T> write(String name, Supplier<CompletableFuture<T>> start) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        forward(start, result);
+        return result;
+    }
+
+    private static <T> void forward(Supplier<CompletableFuture<T>> start, CompletableFuture<T> result) {
+        try {
+            start.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // Fan-in: completes when every stage has, failing if any of them failed
+    public static CompletableFuture<Void> whenAll(CompletableFuture<?>... stages) {
+        return CompletableFuture.allOf(stages);
+    }
+
+    /**
+     * Delivers the pipeline's outcome on the callback executor. error is
+     * unwrapped from CompletionException; nothing is delivered once the
+     * pipeline has been cancelled.
+     */
+    public <T> void finish(CompletableFuture<T> result, BiConsumer<T, Throwable> callback) {
+        result.whenComplete((value, error) -> callbackExecutor.execute(() -> {
+            if (!cancelled) {
+                callback.accept(value, error != null ? unwrap(error) : null);
+            }
+        }));
+    }
+
+    // Suppresses later finish() callbacks; stages already started run to completion
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
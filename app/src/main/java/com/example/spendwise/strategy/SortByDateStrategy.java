@@ -11,7 +11,7 @@ public class SortByDateStrategy implements ExpenseSortStrategy {
         Collections.sort(expenses, new Comparator<Expense>() {
             @Override
             public int compare(Expense e1, Expense e2) {
-                return e1.getDate().compareTo(e2.getDate());
+                return Integer.compare(e1.getEpochDay(), e2.getEpochDay());
             }
         });
     }
@@ -11,12 +11,10 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.spendwise.R;
 import com.example.spendwise.databinding.BudgetlogBinding;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.model.DateCodec;
 import com.example.spendwise.model.Budget;
 
-import java.text.SimpleDateFormat;
-import java.text.ParseException;
 import java.util.Calendar;
-import java.util.Locale;
 import android.app.DatePickerDialog;
 
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -33,7 +31,6 @@ import android.widget.Toast;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Date;
 import java.util.ArrayList;
 
 import android.widget.EditText;
@@ -47,8 +44,6 @@ public class Budgetlog extends AppCompatActivity {
     private BudgetViewModel budgetViewModel;
     private BudgetlogBinding binding;
     private Calendar calendar = Calendar.getInstance();
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy",
-            Locale.US);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -73,12 +68,7 @@ public class Budgetlog extends AppCompatActivity {
         Intent intent = getIntent();
         String dashboardDate = intent.getStringExtra("selected_date");
         if (dashboardDate != null && !dashboardDate.isEmpty()) {
-            try {
-                Date date = dateFormat.parse(dashboardDate);
-                calendar.setTime(date);
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+            DateCodec.toCalendar(DateCodec.parse(dashboardDate), calendar);
         }
 
         setupDatePicker();
@@ -144,7 +134,7 @@ public class Budgetlog extends AppCompatActivity {
         TextInputEditText dateInput = findViewById(R.id.dateInput);
 
         // Initialize with dashboard date
-        dateInput.setText(dateFormat.format(calendar.getTime()));
+        dateInput.setText(DateCodec.format(calendar));
 
         dateInput.setFocusable(false);
         dateInput.setClickable(true);
@@ -154,7 +144,7 @@ public class Budgetlog extends AppCompatActivity {
                     this,
                     (view, year, month, dayOfMonth) -> {
                         calendar.set(year, month, dayOfMonth);
-                        dateInput.setText(dateFormat.format(calendar.getTime()));
+                        dateInput.setText(DateCodec.format(calendar));
                     },
                     calendar.get(Calendar.YEAR),
                     calendar.get(Calendar.MONTH),
@@ -279,7 +269,7 @@ public class Budgetlog extends AppCompatActivity {
         budgetNameInput.setText("");
         amountInput.setText("");
         categoryInput.setText("");
-        dateInput.setText(dateFormat.format(calendar.getTime())); // dashboard date
+        dateInput.setText(DateCodec.format(calendar)); // dashboard date
         freqInput.setText("");
 
         // Clear any errors
@@ -299,15 +289,8 @@ public class Budgetlog extends AppCompatActivity {
 
         budgetViewModel.getBudgets().observe(this, budgets -> {
             List<Budget> sorted = new ArrayList<>(budgets);
-            Collections.sort(sorted, (b1, b2) -> {
-                try {
-                    Date d1 = dateFormat.parse(b1.getDate());
-                    Date d2 = dateFormat.parse(b2.getDate());
-                    return d2.compareTo(d1);
-                } catch (ParseException e) {
-                    return 0;
-                }
-            });
+            Collections.sort(sorted, (b1, b2) ->
+                    Integer.compare(b2.getEpochDay(), b1.getEpochDay()));
 
             adapter.setBudgets(sorted);
             findViewById(R.id.budgetLog_msg).setVisibility(sorted.isEmpty()
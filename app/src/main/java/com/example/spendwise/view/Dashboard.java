@@ -18,9 +18,10 @@ import com.example.spendwise.R;
 import com.example.spendwise.adapter.BudgetAdapter;
 import com.example.spendwise.databinding.DashboardBinding;
 import com.example.spendwise.model.Budget;
-import com.example.spendwise.model.Expense;
-import com.example.spendwise.viewModel.BudgetViewModel;
+import com.example.spendwise.model.DashboardState;
+import com.example.spendwise.model.DateCodec;
 import com.example.spendwise.viewModel.DashboardAnalyticsViewModel;
+import com.example.spendwise.viewModel.DashboardStateViewModel;
 import com.example.spendwise.viewModel.ExpenseViewModel;
 import com.google.android.material.card.MaterialCardView;
 import com.google.firebase.auth.FirebaseAuth;
@@ -32,21 +33,17 @@ import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.PieData;
 import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 public class Dashboard extends AppCompatActivity {
 
     private DashboardBinding binding;
-    private ExpenseViewModel expenseViewModel;
-    private BudgetViewModel budgetViewModel;
+    private DashboardStateViewModel dashboardStateViewModel;
     private DashboardAnalyticsViewModel dashboardAnalyticsViewModel;
     private FirebaseAuth auth;
     private BudgetAdapter remainingBudgetsAdapter;
@@ -55,8 +52,9 @@ public class Dashboard extends AppCompatActivity {
     private final List<String> budgetLabels = new ArrayList<>();
 
     private Calendar currentSimulatedDate;
+    // Remaining-budget list is showing; refreshed with each new state
+    private boolean showingRemainingBudgets;
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.US);
-    private final SimpleDateFormat shortDateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
     private SharedPreferences preferences;
 
     private static final String PREFS_NAME = "SpendWisePrefs";
@@ -72,9 +70,12 @@ public class Dashboard extends AppCompatActivity {
         auth = FirebaseAuth.getInstance();
         preferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
 
-        expenseViewModel = new ViewModelProvider(this).get(ExpenseViewModel.class);
-        budgetViewModel = new ViewModelProvider(this).get(BudgetViewModel.class);
+        // Created for its per-user expense migrations, which the rollups rely on
+        new ViewModelProvider(this).get(ExpenseViewModel.class);
+        dashboardStateViewModel = new ViewModelProvider(this).get(DashboardStateViewModel.class);
         dashboardAnalyticsViewModel = new ViewModelProvider(this).get(DashboardAnalyticsViewModel.class);
+        // Chart windows are whole months, which the monthly rollups cover exactly
+        dashboardAnalyticsViewModel.setRollupMode(true);
         binding.setLifecycleOwner(this);
 
         pieChart = findViewById(R.id.spending_pie_chart);
@@ -83,6 +84,7 @@ public class Dashboard extends AppCompatActivity {
         setupPieChart();
         setupBudgetBarChart();
         observeAnalyticsData();
+        dashboardStateViewModel.getState().observe(this, this::renderState);
 
         loadSimulatedDate();
         updateDateDisplay();
@@ -297,20 +299,20 @@ public class Dashboard extends AppCompatActivity {
         expenseLogNavigate.setOnClickListener(v -> {
             Intent intent = new Intent(this, ExpenseLog.class);
             intent.putExtra("selected_date",
-                    shortDateFormat.format(currentSimulatedDate.getTime()));
+                    DateCodec.format(currentSimulatedDate));
             startActivity(intent);
         });
         budgetNavigate.setOnClickListener(v -> {
             Intent intent = new Intent(Dashboard.this, Budgetlog.class);
             intent.putExtra("selected_date",
-                    shortDateFormat.format(currentSimulatedDate.getTime()));
+                    DateCodec.format(currentSimulatedDate));
             startActivity(intent);
         });
 
         savingCircleNavigate.setOnClickListener(v -> {
             Intent intent = new Intent(Dashboard.this, SavingCircleLog.class);
             intent.putExtra("selected_date",
-                    shortDateFormat.format(currentSimulatedDate.getTime()));
+                    DateCodec.format(currentSimulatedDate));
             startActivity(intent);
         });
 
@@ -325,14 +327,14 @@ public class Dashboard extends AppCompatActivity {
         addExpenseCard.setOnClickListener(v -> {
             Intent intent = new Intent(this, ExpenseLog.class);
             intent.putExtra("selected_date",
-                    shortDateFormat.format(currentSimulatedDate.getTime()));
+                    DateCodec.format(currentSimulatedDate));
             startActivity(intent);
         });
 
         addBudgetCard.setOnClickListener(v -> {
             Intent intent = new Intent(Dashboard.this, Budgetlog.class);
             intent.putExtra("selected_date",
-                    shortDateFormat.format(currentSimulatedDate.getTime()));
+                    DateCodec.format(currentSimulatedDate));
             startActivity(intent);
         });
     }
@@ -349,131 +351,45 @@ public class Dashboard extends AppCompatActivity {
     }
 
     private void showFilteredBudgets(String frequency) {
+        DashboardState state = dashboardStateViewModel.getState().getValue();
+        if (state == null) {
+            return;
+        }
         RecyclerView recyclerView = findViewById(R.id.remaining_budgets_recycler);
         recyclerView.setVisibility(View.VISIBLE);
-
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            List<Budget> filteredBudgets = new ArrayList<>();
-
-            for (Budget budget : budgets) {
-                if (frequency.equalsIgnoreCase(budget.getfreq())) {
-                    try {
-                        Date budgetDate = shortDateFormat.parse(budget.getDate());
-                        if (budgetDate != null) {
-                            boolean isInPeriod = false;
-
-                            if ("Weekly".equalsIgnoreCase(frequency)) {
-                                isInPeriod = isInCurrentWeek(budgetDate);
-                            } else if ("Monthly".equalsIgnoreCase(frequency)) {
-                                isInPeriod = isInCurrentMonth(budgetDate);
-                            }
-
-                            if (isInPeriod) {
-                                filteredBudgets.add(budget);
-                            }
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-
-            if (filteredBudgets.isEmpty()) {
-                Toast.makeText(this,
-                        "No " + frequency.toLowerCase()
-                                + " budgets found for this period",
-                        Toast.LENGTH_SHORT).show();
-                recyclerView.setVisibility(View.GONE);
-            } else {
-                remainingBudgetsAdapter.setBudgets(filteredBudgets);
-                Toast.makeText(this, "Showing " + filteredBudgets.size() + " "
-                                + frequency.toLowerCase() + " budget(s)",
-                        Toast.LENGTH_SHORT).show();
-            }
-        });
+        showingRemainingBudgets = false;
+
+        List<Budget> filteredBudgets = state.budgetsFor(frequency);
+        if (filteredBudgets.isEmpty()) {
+            Toast.makeText(this,
+                    "No " + frequency.toLowerCase()
+                            + " budgets found for this period",
+                    Toast.LENGTH_SHORT).show();
+            recyclerView.setVisibility(View.GONE);
+        } else {
+            remainingBudgetsAdapter.setBudgets(filteredBudgets);
+            Toast.makeText(this, "Showing " + filteredBudgets.size() + " "
+                            + frequency.toLowerCase() + " budget(s)",
+                    Toast.LENGTH_SHORT).show();
+        }
     }
 
     private void loadAllRemainingBudgets() {
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            expenseViewModel.getExpenses().observe(this, expenses -> {
-
-                List<Budget> remainingBudgets = new ArrayList<>();
-
-                for (Budget budget : budgets) {
-                    try {
-                        String freq = budget.getfreq();
-                        boolean isActive = false;
-
-                        if ("Weekly".equalsIgnoreCase(freq)
-                                || "Monthly".equalsIgnoreCase(freq)) {
-                            isActive = true;
-                        } else if ("Yearly".equalsIgnoreCase(freq)) {
-                            Date budgetDate = shortDateFormat.parse(budget.getDate());
-                            if (budgetDate != null) {
-                                isActive = isInCurrentYear(budgetDate);
-                            }
-                        } else if ("Daily".equalsIgnoreCase(freq)) {
-                            Date budgetDate = shortDateFormat.parse(budget.getDate());
-                            if (budgetDate != null) {
-                                isActive = isToday(budgetDate);
-                            }
-                        }
-
-                        if (!isActive) {
-                            continue;
-                        }
-
-                        double totalSpent = 0.0;
-                        for (Expense expense : expenses) {
-                            if (expense.getCategory().getDisplayName()
-                                    .equalsIgnoreCase(budget.getCategory()
-                                            .getDisplayName())) {
-                                Date expenseDate = shortDateFormat.parse(expense.getDate());
-                                if (expenseDate != null) {
-                                    boolean inSamePeriod = false;
-                                    if ("Weekly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentWeek(expenseDate);
-                                    } else if ("Monthly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentMonth(expenseDate);
-                                    } else if ("Yearly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentYear(expenseDate);
-                                    } else if ("Daily".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isToday(expenseDate);
-                                    }
-                                    if (inSamePeriod) {
-                                        totalSpent += expense.getAmount();
-                                    }
-                                }
-                            }
-                        }
-
-                        Budget remainingBudget = new Budget(
-                                budget.getName(),
-                                budget.getAmount() - totalSpent,
-                                budget.getAmount(),
-                                budget.getCategory(),
-                                budget.getDate(),
-                                budget.getfreq()
-                        );
-
-                        remainingBudgets.add(remainingBudget);
-
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                if (remainingBudgets.isEmpty()) {
-                    Toast.makeText(this, "No active budgets for this period",
-                            Toast.LENGTH_SHORT).show();
-                } else {
-                    remainingBudgetsAdapter.setBudgets(remainingBudgets);
-                    Toast.makeText(this,
-                            "Showing remaining budgets for current period",
-                            Toast.LENGTH_SHORT).show();
-                }
-            });
-        });
+        showingRemainingBudgets = true;
+        DashboardState state = dashboardStateViewModel.getState().getValue();
+        if (state == null) {
+            // Shown by renderState once the first state arrives
+            return;
+        }
+        if (state.getRemainingBudgets().isEmpty()) {
+            Toast.makeText(this, "No active budgets for this period",
+                    Toast.LENGTH_SHORT).show();
+        } else {
+            remainingBudgetsAdapter.setBudgets(state.getRemainingBudgets());
+            Toast.makeText(this,
+                    "Showing remaining budgets for current period",
+                    Toast.LENGTH_SHORT).show();
+        }
     }
 
     private void setupRemainingBudgetsButton() {
@@ -487,6 +403,7 @@ public class Dashboard extends AppCompatActivity {
         remainingBudgetsButton.setOnClickListener(v -> {
             if (recyclerView.getVisibility() == View.VISIBLE) {
                 recyclerView.setVisibility(View.GONE);
+                showingRemainingBudgets = false;
             } else {
                 recyclerView.setVisibility(View.VISIBLE);
                 loadAllRemainingBudgets();
@@ -495,12 +412,6 @@ public class Dashboard extends AppCompatActivity {
     }
 
     private void loadDashboardData() {
-        Calendar weekStart = (Calendar) currentSimulatedDate.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
-
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DAY_OF_WEEK, 6);
-
         Calendar monthStart = (Calendar) currentSimulatedDate.clone();
         monthStart.set(Calendar.DAY_OF_MONTH, 1);
 
@@ -509,228 +420,31 @@ public class Dashboard extends AppCompatActivity {
                 monthEnd.getActualMaximum(Calendar.DAY_OF_MONTH));
 
         dashboardAnalyticsViewModel.updateWindow(monthStart.getTime(), monthEnd.getTime());
-
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            if (expenses != null) {
-                calculateAndDisplayTotals(expenses, weekStart, weekEnd,
-                        monthStart, monthEnd);
-            }
-        });
-
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            if (budgets != null) {
-                displayBudgetSummary(budgets);
-            }
-        });
+        dashboardStateViewModel.setSimulatedDate(currentSimulatedDate);
     }
 
-    private void calculateAndDisplayTotals(List<Expense> expenses,
-                                           Calendar weekStart, Calendar weekEnd,
-                                           Calendar monthStart,
-                                           Calendar monthEnd) {
-        double totalSpent = 0.0;
-
-        for (Expense expense : expenses) {
-            try {
-                Date expenseDate = shortDateFormat.parse(expense.getDate());
-                if (expenseDate != null) {
-                    if (isDateInRange(expenseDate, monthStart.getTime(),
-                            monthEnd.getTime())) {
-                        totalSpent += expense.getAmount();
-                    }
-                }
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+    // One pass over the views per state, however many rows changed
+    private void renderState(DashboardState state) {
+        if (state == null) {
+            return;
         }
+        binding.totalSpentAmount.setText(String.format(Locale.US, "$%.2f",
+                state.getMonthSpentAmount()));
+        renderRemaining(binding.weeklyBudgetAmount, state.getWeeklyRemainingAmount());
+        renderRemaining(binding.monthlyBudgetAmount, state.getMonthlyRemainingAmount());
 
-        TextView totalSpentText = findViewById(R.id.total_spent_amount);
-        totalSpentText.setText(String.format(Locale.US, "$%.2f", totalSpent));
-
-        updateBudgetDisplay();
-    }
-
-    private void updateBudgetDisplay() {
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            expenseViewModel.getExpenses().observe(this, expenses -> {
-
-                Map<String, Double> weeklyBudgets = new HashMap<>();
-                Map<String, Double> monthlyBudgets = new HashMap<>();
-
-                for (Budget budget : budgets) {
-                    try {
-                        Date budgetDate = shortDateFormat.parse(budget.getDate());
-                        if (budgetDate == null) {
-                            continue;
-                        }
-
-                        String categoryName = budget.getCategory().getDisplayName();
-                        String freq = budget.getfreq();
-
-                        if ("Weekly".equalsIgnoreCase(freq)
-                                && isInCurrentWeek(budgetDate)) {
-                            weeklyBudgets.put(categoryName,
-                                    weeklyBudgets.getOrDefault(categoryName, 0.0)
-                                            + budget.getAmount());
-                        } else if ("Monthly".equalsIgnoreCase(freq)
-                                && isInCurrentMonth(budgetDate)) {
-                            monthlyBudgets.put(categoryName,
-                                    monthlyBudgets.getOrDefault(categoryName, 0.0)
-                                            + budget.getAmount());
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                double totalWeeklySpent = 0.0;
-                double totalMonthlySpent = 0.0;
-
-                for (Expense expense : expenses) {
-                    try {
-                        Date expenseDate = shortDateFormat.parse(expense.getDate());
-                        if (expenseDate == null) {
-                            continue;
-                        }
-
-                        String categoryName = expense.getCategory().getDisplayName();
-
-                        if (isInCurrentWeek(expenseDate)
-                                && weeklyBudgets.containsKey(categoryName)) {
-                            totalWeeklySpent += expense.getAmount();
-                        }
-
-                        if (isInCurrentMonth(expenseDate)
-                                && monthlyBudgets.containsKey(categoryName)) {
-                            totalMonthlySpent += expense.getAmount();
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                double totalWeeklyBudget = 0.0;
-                double totalMonthlyBudget = 0.0;
-
-                for (double amount : weeklyBudgets.values()) {
-                    totalWeeklyBudget += amount;
-                }
-                for (double amount : monthlyBudgets.values()) {
-                    totalMonthlyBudget += amount;
-                }
-
-                double weeklyRemaining = totalWeeklyBudget - totalWeeklySpent;
-                double monthlyRemaining = totalMonthlyBudget - totalMonthlySpent;
-
-                TextView weeklyBudgetText = findViewById(R.id.weekly_budget_amount);
-                weeklyBudgetText.setText(String.format(Locale.US, "$%.2f",
-                        Math.max(0, weeklyRemaining)));
-                if (weeklyRemaining < 0) {
-                    weeklyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.holo_red_dark));
-                } else {
-                    weeklyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.black));
-                }
-
-                TextView monthlyBudgetText = findViewById(R.id.monthly_budget_amount);
-                monthlyBudgetText.setText(String.format(Locale.US, "$%.2f",
-                        Math.max(0, monthlyRemaining)));
-                if (monthlyRemaining < 0) {
-                    monthlyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.holo_red_dark));
-                } else {
-                    monthlyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.black));
-                }
-            });
-        });
-    }
-
-    private void displayBudgetSummary(List<Budget> budgets) {
-        Map<String, Double> categoryBudgets = new HashMap<>();
-        Map<String, Double> categorySpent = new HashMap<>();
-
-        for (Budget budget : budgets) {
-            String freq = budget.getfreq();
-            boolean isInPeriod = false;
-
-            try {
-                Date budgetDate = shortDateFormat.parse(budget.getDate());
-                if (budgetDate != null) {
-                    if ("Weekly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentWeek(budgetDate);
-                    } else if ("Monthly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentMonth(budgetDate);
-                    } else if ("Yearly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentYear(budgetDate);
-                    } else if ("Daily".equalsIgnoreCase(freq)) {
-                        isInPeriod = isToday(budgetDate);
-                    }
-                }
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
-
-            if (isInPeriod) {
-                String category = budget.getCategory().getDisplayName();
-                categoryBudgets.put(category,
-                        categoryBudgets.getOrDefault(category, 0.0)
-                                + budget.getAmount());
-            }
+        if (showingRemainingBudgets) {
+            remainingBudgetsAdapter.setBudgets(state.getRemainingBudgets());
         }
-
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            if (expenses != null) {
-                for (Expense expense : expenses) {
-                    String category = expense.getCategory().getDisplayName();
-                    categorySpent.put(category,
-                            categorySpent.getOrDefault(category, 0.0)
-                                    + expense.getAmount());
-                }
-            }
-        });
-    }
-
-    private boolean isDateInRange(Date date, Date start, Date end) {
-        return !date.before(start) && !date.after(end);
     }
 
-    private boolean isInCurrentWeek(Date date) {
-        Calendar weekStart = (Calendar) currentSimulatedDate.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
-
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DAY_OF_WEEK, 6);
-
-        return isDateInRange(date, weekStart.getTime(), weekEnd.getTime());
-    }
-
-    private boolean isInCurrentMonth(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR)
-                && dateCalendar.get(Calendar.MONTH)
-                == currentSimulatedDate.get(Calendar.MONTH);
-    }
-
-    private boolean isInCurrentYear(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR);
-    }
-
-    private boolean isToday(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR)
-                && dateCalendar.get(Calendar.MONTH)
-                == currentSimulatedDate.get(Calendar.MONTH)
-                && dateCalendar.get(Calendar.DAY_OF_MONTH)
-                == currentSimulatedDate.get(Calendar.DAY_OF_MONTH);
+    private void renderRemaining(TextView view, double remaining) {
+        view.setText(String.format(Locale.US, "$%.2f", Math.max(0, remaining)));
+        if (remaining < 0) {
+            view.setTextColor(getResources().getColor(android.R.color.holo_red_dark));
+        } else {
+            view.setTextColor(getResources().getColor(android.R.color.black));
+        }
     }
 
     @Override
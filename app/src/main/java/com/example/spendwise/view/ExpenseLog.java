@@ -11,13 +11,11 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.spendwise.R;
 import com.example.spendwise.databinding.ExpenselogBinding;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.model.DateCodec;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.SavingCircle;
 
-import java.text.SimpleDateFormat;
-import java.text.ParseException;
 import java.util.Calendar;
-import java.util.Locale;
 import android.app.DatePickerDialog;
 
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -35,10 +33,7 @@ import android.widget.AutoCompleteTextView;
 import android.widget.Toast;
 import android.util.Log;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -49,7 +44,6 @@ public class ExpenseLog extends AppCompatActivity {
     private SavingCircleViewModel savingCircleViewModel;
     private ExpenselogBinding binding;
     private Calendar calendar = Calendar.getInstance();
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
     private List<String> categoryOptions = new ArrayList<>();
     private Map<String, String> savingCircleMap = new HashMap<>(); // Maps display name to circle ID
 
@@ -69,12 +63,7 @@ public class ExpenseLog extends AppCompatActivity {
         Intent intent = getIntent();
         String dashboardDate = intent.getStringExtra("selected_date");
         if (dashboardDate != null && !dashboardDate.isEmpty()) {
-            try {
-                Date date = dateFormat.parse(dashboardDate);
-                calendar.setTime(date);
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+            DateCodec.toCalendar(DateCodec.parse(dashboardDate), calendar);
         }
 
         setupDatePicker();
@@ -162,7 +151,7 @@ public class ExpenseLog extends AppCompatActivity {
         TextInputEditText dateInput = findViewById(R.id.dateInput);
 
         // Initialize with dashboard date
-        dateInput.setText(dateFormat.format(calendar.getTime()));
+        dateInput.setText(DateCodec.format(calendar));
 
         dateInput.setFocusable(false);
         dateInput.setClickable(true);
@@ -172,7 +161,7 @@ public class ExpenseLog extends AppCompatActivity {
                     this,
                     (view, year, month, dayOfMonth) -> {
                         calendar.set(year, month, dayOfMonth);
-                        dateInput.setText(dateFormat.format(calendar.getTime()));
+                        dateInput.setText(DateCodec.format(calendar));
                     },
                     calendar.get(Calendar.YEAR),
                     calendar.get(Calendar.MONTH),
@@ -261,29 +250,22 @@ public class ExpenseLog extends AppCompatActivity {
         }
 
         // Parse expense date to timestamp
-        long expenseTimestamp;
-        try {
-            Date expenseDate = dateFormat.parse(date);
-            expenseTimestamp = expenseDate != null ? expenseDate.getTime() : System.currentTimeMillis();
-        } catch (ParseException e) {
-            expenseTimestamp = System.currentTimeMillis();
-        }
-
-        // Save to Firebase through ViewModel
-        expenseViewModel.addExpense(name, amount, category, date, notes, savingCircleId, 
-                savingCircleId != null ? expenseTimestamp : -1);
-
-        // If linked to a savings circle, deduct from the circle
-        if (savingCircleId != null && !savingCircleId.isEmpty()) {
-            FirebaseUser currentUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-            if (currentUser != null && currentUser.getEmail() != null) {
-                savingCircleViewModel.deductExpenseFromMemberAtDate(
-                        savingCircleId, 
-                        currentUser.getEmail(), 
-                        amount, 
-                        expenseTimestamp
-                );
-            }
+        long expenseTimestamp = timestampOf(date);
+
+        // Save to Firebase through ViewModel. A circle expense and its deduction
+        // from the member's cycle are written together in one update.
+        FirebaseUser currentUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
+        if (savingCircleId != null && currentUser != null && currentUser.getEmail() != null) {
+            expenseViewModel.addExpense(name, amount, category, date, notes, savingCircleId,
+                    savingCircleViewModel.prepareCycleExpense(
+                            savingCircleId,
+                            currentUser.getEmail(),
+                            amount,
+                            true,
+                            expenseTimestamp
+                    ));
+        } else {
+            expenseViewModel.addExpense(name, amount, category, date, notes, savingCircleId);
         }
 
         // Hide form, show RecyclerView
@@ -308,7 +290,7 @@ public class ExpenseLog extends AppCompatActivity {
         expenseNameInput.setText("");
         amountInput.setText("");
         categoryInput.setText("");
-        dateInput.setText(dateFormat.format(calendar.getTime())); // dashboard date
+        dateInput.setText(DateCodec.format(calendar)); // dashboard date
         notesInput.setText("");
 
         // Clear any errors
@@ -326,30 +308,16 @@ public class ExpenseLog extends AppCompatActivity {
 
         ExpenseAdapter adapter = new ExpenseAdapter();
         recyclerView.setAdapter(adapter);
+        // Request the next page before the user reaches the last loaded row
+        adapter.setOnNearEndListener(() -> expenseViewModel.loadNextPage());
 
-        // Observe expenses from Firebase
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            // Sort expenses from newest to oldest
-            List<Expense> sortedExpenses = new ArrayList<>(expenses);
-            Collections.sort(sortedExpenses, new Comparator<Expense>() {
-                @Override
-                public int compare(Expense e1, Expense e2) {
-                    try {
-                        Date date1 = dateFormat.parse(e1.getDate());
-                        Date date2 = dateFormat.parse(e2.getDate());
-                        // Sort in descending order (newest first)
-                        return date2.compareTo(date1);
-                    } catch (ParseException e) {
-                        return 0;
-                    }
-                }
-            });
-
-            adapter.setExpenses(sortedExpenses);
+        // Observe expenses page by page, already ordered newest first
+        expenseViewModel.getPagedExpenses().observe(this, expenses -> {
+            adapter.setExpenses(expenses);
 
             // Show/hide message based on whether there are expenses
             View expenseLogMsg = findViewById(R.id.expenseLog_msg);
-            if (sortedExpenses.isEmpty()) {
+            if (expenses.isEmpty()) {
                 expenseLogMsg.setVisibility(View.VISIBLE);
             } else {
                 expenseLogMsg.setVisibility(View.GONE);
@@ -360,6 +328,13 @@ public class ExpenseLog extends AppCompatActivity {
         setupSwipeToDelete(recyclerView, adapter);
     }
 
+    // Local midnight of an MM/dd/yyyy date, or now if it does not parse
+    private static long timestampOf(String date) {
+        Calendar day = Calendar.getInstance();
+        return DateCodec.toCalendar(DateCodec.parse(date), day)
+                ? day.getTimeInMillis() : System.currentTimeMillis();
+    }
+
     private void setupNavBar(String dashboardDate) {
         View dashboardNavigate = findViewById(R.id.dashboard_navigate);
         View chatbotNavigate = findViewById(R.id.chatbot_navigate);
@@ -405,24 +380,21 @@ public class ExpenseLog extends AppCompatActivity {
                     String date = expense.getDate();
                     
                     // Parse expense date to timestamp
-                    long expenseTimestamp;
-                    try {
-                        Date expenseDate = dateFormat.parse(date);
-                        expenseTimestamp = expenseDate != null ? expenseDate.getTime() : System.currentTimeMillis();
-                    } catch (ParseException e) {
-                        expenseTimestamp = System.currentTimeMillis();
-                    }
+                    long expenseTimestamp = timestampOf(date);
                     
                     // Get current user email
                     FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
                     if (currentUser != null && currentUser.getEmail() != null) {
-                        // Restore the amount to the savings circle
-                        savingCircleViewModel.addBackExpenseToMemberAtDate(
-                                savingCircleId,
-                                currentUser.getEmail(),
-                                amount,
-                                expenseTimestamp
-                        );
+                        // Delete the expense and restore the amount to the savings circle together
+                        expenseViewModel.deleteExpense(expenseId,
+                                savingCircleViewModel.prepareCycleExpense(
+                                        savingCircleId,
+                                        currentUser.getEmail(),
+                                        amount,
+                                        false,
+                                        expenseTimestamp
+                                ));
+                        return;
                     }
                 }
                 
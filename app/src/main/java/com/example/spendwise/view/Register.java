@@ -10,6 +10,7 @@ import com.example.spendwise.databinding.RegisterBinding;
 import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.Budget;
+import com.example.spendwise.repository.ExpenseRollups;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
@@ -172,8 +173,10 @@ public class Register extends AppCompatActivity {
         expenseData.put("id", id);
         expenseData.put("name", expense.getName());
         expenseData.put("amount", expense.getAmount());
+        expenseData.put("amountCents", expense.getAmountCents());
         expenseData.put("category", expense.getCategory().name());
         expenseData.put("date", expense.getDate());
+        expenseData.put("epochDay", expense.getEpochDay());
         expenseData.put("notes", expense.getNotes());
 
         expenseRef.setValue(expenseData)
@@ -182,6 +185,8 @@ public class Register extends AppCompatActivity {
                     if (completed.incrementAndGet() == total) {
                         android.util.Log.d("Register",
                                 "All dummy data created successfully!");
+                        // Seed data bypasses ExpenseViewModel, so derive its rollups here
+                        ExpenseRollups.rebuild(userRef, null);
                     }
                 })
                 .addOnFailureListener(e -> {
@@ -199,8 +204,10 @@ public class Register extends AppCompatActivity {
         budgetData.put("id", id);
         budgetData.put("name", budget.getName());
         budgetData.put("amount", budget.getAmount());
+        budgetData.put("amountCents", budget.getAmountCents());
         budgetData.put("category", budget.getCategory().name());
         budgetData.put("date", budget.getDate());
+        budgetData.put("epochDay", budget.getEpochDay());
         budgetData.put("freq", budget.getfreq());
 
         budgetRef.setValue(budgetData)
@@ -209,6 +216,8 @@ public class Register extends AppCompatActivity {
                     if (completed.incrementAndGet() == total) {
                         android.util.Log.d("Register",
                                 "All dummy data created successfully!");
+                        // Seed data bypasses ExpenseViewModel, so derive its rollups here
+                        ExpenseRollups.rebuild(userRef, null);
                     }
                 })
                 .addOnFailureListener(e -> {
@@ -11,13 +11,13 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 import com.example.spendwise.R;
 import com.example.spendwise.databinding.SavingcircleDetailBinding;
+import com.example.spendwise.model.CircleSnapshot;
 import com.example.spendwise.model.SavingCircle;
 import com.example.spendwise.model.SavingCircleMember;
 import com.example.spendwise.model.MemberCycle;
 import com.example.spendwise.viewModel.SavingCircleViewModel;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Locale;
 
 public class SavingCircleDetailActivity extends AppCompatActivity {
@@ -27,17 +27,11 @@ public class SavingCircleDetailActivity extends AppCompatActivity {
     private SavingCircleViewModel savingCircleViewModel;
     private String circleId;
     private long selectedDateTimestamp;
-    private String frequency;
 
     // Helper for formatting currency
     private static final DecimalFormat CURRENCY_FORMAT = new DecimalFormat("#,##0.00");
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MMM dd, yyyy", Locale.US);
 
-    // Track total progress for overall calculation
-    private double totalProgressAmount = 0;
-    private int membersProcessed = 0;
-    private int totalMembers = 0;
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -61,33 +55,29 @@ public class SavingCircleDetailActivity extends AppCompatActivity {
             return;
         }
 
-        observeSavingCircleData();
-        observeSavingCircleMembers();
+        observeCircleSnapshot();
     }
 
-    private void observeSavingCircleData() {
-        savingCircleViewModel.getSavingCircleById(circleId).observe(this, savingCircle -> {
-            if (savingCircle != null) {
-                binding.challengeTitle.setText(savingCircle.getChallengeTitle());
-                binding.frequency.setText(savingCircle.getFrequency());
-                frequency = savingCircle.getFrequency();
-
-                binding.goalAmount.setText(
-                        String.format(Locale.US, "Goal: $%s", CURRENCY_FORMAT.format(savingCircle.getGoalAmount()))
-                );
+    private void observeCircleSnapshot() {
+        binding.overallProgressText.setText("Overall Progress: Calculating...");
+        binding.overallProgressBar.setProgress(0);
 
-                binding.overallProgressText.setText("Overall Progress: Calculating...");
-                binding.overallProgressBar.setProgress(0);
+        savingCircleViewModel.getCircleSnapshot(circleId, selectedDateTimestamp).observe(this, snapshot -> {
+            if (snapshot == null) {
+                return;
             }
-        });
-    }
 
-    private void observeSavingCircleMembers() {
-        savingCircleViewModel.getSavingCircleMembers(circleId).observe(this, members -> {
+            SavingCircle savingCircle = snapshot.getCircle();
+            binding.challengeTitle.setText(savingCircle.getChallengeTitle());
+            binding.frequency.setText(savingCircle.getFrequency());
+            binding.goalAmount.setText(
+                    String.format(Locale.US, "Goal: $%s", CURRENCY_FORMAT.format(savingCircle.getGoalAmount()))
+            );
+
             LinearLayout memberContainer = binding.memberContainer;
             memberContainer.removeAllViews();
 
-            if (members == null || members.isEmpty()) {
+            if (snapshot.getMembers().isEmpty()) {
                 TextView noMembers = new TextView(this);
                 noMembers.setText("No members in this circle yet.");
                 noMembers.setPadding(16, 16, 16, 16);
@@ -96,287 +86,55 @@ public class SavingCircleDetailActivity extends AppCompatActivity {
                 return;
             }
 
-            totalProgressAmount = 0;
-            membersProcessed = 0;
-            totalMembers = members.size();
-
-            for (SavingCircleMember member : members) {
-                View memberView = getLayoutInflater().inflate(R.layout.item_member_detail, memberContainer, false);
-
-                TextView nameText = memberView.findViewById(R.id.member_name);
-                TextView currentAmountText = memberView.findViewById(R.id.member_current_amount);
-                TextView joinDateText = memberView.findViewById(R.id.member_join_date);
-                TextView cycleDatesText = memberView.findViewById(R.id.member_cycle_dates);
-                TextView historyText = memberView.findViewById(R.id.member_historical_contributions);
-                ProgressBar memberProgress = memberView.findViewById(R.id.member_progress_bar);
-
-                nameText.setText(member.getEmail());
-                joinDateText.setText(
-                        String.format(Locale.US, "Joined: %s", DATE_FORMAT.format(member.getJoinedAt()))
-                );
-
-                currentAmountText.setText("Loading...");
-                cycleDatesText.setText("Loading cycle dates...");
-                historyText.setText("Loading...");
-                memberProgress.setProgress(0);
-
-                memberContainer.addView(memberView);
-
-                if (member.getJoinedAt() > selectedDateTimestamp) {
-                    currentAmountText.setText("Not joined yet");
-                    cycleDatesText.setText("Not joined yet");
-                    historyText.setText("--");
-                    memberProgress.setProgress(0);
-
-                    synchronized (this) {
-                        membersProcessed++;
-                    }
-                    checkIfAllMembersProcessed();
-                    continue;
-                }
-
-                final double allocation = member.getPersonalAllocation();
-
-                // Get or create the cycle for the selected date
-                getOrCreateCycleForDate(circleId, member.getEmail(), member.getJoinedAt(),
-                        allocation, currentAmountText, cycleDatesText, memberProgress, historyText);
+            for (CircleSnapshot.MemberSnapshot memberSnapshot : snapshot.getMembers()) {
+                memberContainer.addView(bindMemberView(memberSnapshot, memberContainer));
             }
-        });
-    }
-
-    /**
-     * Get existing cycle or create missing cycles up to the selected date
-     */
-    private void getOrCreateCycleForDate(String circleId, String memberEmail, long joinDate,
-                                         double allocation, TextView currentAmountText,
-                                         TextView cycleDatesText, ProgressBar memberProgress, 
-                                         TextView historyText) {
-        savingCircleViewModel.getCycleAtDate(circleId, memberEmail, selectedDateTimestamp,
-                new SavingCircleViewModel.OnCycleLoadedListener() {
-
-                    @Override
-                    public void onCycleLoaded(MemberCycle cycle) {
-                        // Cycle exists, display it
-                        displayCycleData(cycle, allocation, currentAmountText, cycleDatesText, memberProgress);
-                        loadMemberHistoricalContributions(memberEmail, historyText);
-                    }
 
-                    @Override
-                    public void onCycleNotFound() {
-                        // No cycle found - need to create missing cycles
-                        createMissingCycles(circleId, memberEmail, joinDate, allocation,
-                                currentAmountText, cycleDatesText, memberProgress, historyText);
-                    }
-
-                    @Override
-                    public void onError(String message) {
-                        Log.e(TAG, "Error: " + message);
-                        currentAmountText.setText("Error");
-                        cycleDatesText.setText("Error");
-                        historyText.setText("Error");
-
-                        synchronized (SavingCircleDetailActivity.this) {
-                            membersProcessed++;
-                        }
-                        checkIfAllMembersProcessed();
-                    }
-                });
+            updateOverallProgress(snapshot.getTotalContributedAmount(), savingCircle.getGoalAmount());
+        });
     }
 
-    /**
-     * Create all missing cycles from the last existing cycle to the selected date
-     */
-    private void createMissingCycles(String circleId, String memberEmail, long joinDate,
-                                     double allocation, TextView currentAmountText,
-                                     TextView cycleDatesText, ProgressBar memberProgress, 
-                                     TextView historyText) {
-        savingCircleViewModel.getMemberCycleHistory(circleId, memberEmail).observe(this, cycles -> {
-            if (cycles == null || cycles.isEmpty()) {
-                // No cycles at all - create the first cycle
-                Calendar calendar = Calendar.getInstance();
-                calendar.setTimeInMillis(joinDate);
-                
-                if ("Weekly".equals(frequency)) {
-                    calendar.add(Calendar.WEEK_OF_YEAR, 1);
-                } else {
-                    calendar.add(Calendar.MONTH, 1);
-                }
-                long endDate = calendar.getTimeInMillis();
-                
-                MemberCycle firstCycle = new MemberCycle(joinDate, endDate, allocation);
-                savingCircleViewModel.createCycle(circleId, memberEmail, firstCycle,
-                    new SavingCircleViewModel.OnCycleCreatedListener() {
-                        @Override
-                        public void onCycleCreated(MemberCycle cycle) {
-                            displayCycleData(cycle, allocation, currentAmountText, cycleDatesText, memberProgress);
-                            loadMemberHistoricalContributions(memberEmail, historyText);
-                        }
+    private View bindMemberView(CircleSnapshot.MemberSnapshot memberSnapshot, LinearLayout memberContainer) {
+        View memberView = getLayoutInflater().inflate(R.layout.item_member_detail, memberContainer, false);
 
-                        @Override
-                        public void onError(String message) {
-                            Log.e(TAG, "Error creating first cycle: " + message);
-                            currentAmountText.setText("Error creating cycle");
-                            cycleDatesText.setText("Error creating cycle");
-                            historyText.setText("Error");
-                            
-                            synchronized (SavingCircleDetailActivity.this) {
-                                membersProcessed++;
-                            }
-                            checkIfAllMembersProcessed();
-                        }
-                    });
-                return;
-            }
+        TextView nameText = memberView.findViewById(R.id.member_name);
+        TextView currentAmountText = memberView.findViewById(R.id.member_current_amount);
+        TextView joinDateText = memberView.findViewById(R.id.member_join_date);
+        TextView cycleDatesText = memberView.findViewById(R.id.member_cycle_dates);
+        TextView historyText = memberView.findViewById(R.id.member_historical_contributions);
+        ProgressBar memberProgress = memberView.findViewById(R.id.member_progress_bar);
 
-            // Find the last cycle
-            MemberCycle lastCycle = null;
-            for (MemberCycle cycle : cycles) {
-                if (lastCycle == null || cycle.getEndDate() > lastCycle.getEndDate()) {
-                    lastCycle = cycle;
-                }
-            }
+        SavingCircleMember member = memberSnapshot.getMember();
+        nameText.setText(member.getEmail());
+        joinDateText.setText(
+                String.format(Locale.US, "Joined: %s", DATE_FORMAT.format(member.getJoinedAt()))
+        );
+        memberProgress.setProgress(0);
 
-            if (lastCycle == null || selectedDateTimestamp < lastCycle.getStartDate()) {
-                // Selected date is before any cycles
+        switch (memberSnapshot.getStatus()) {
+            case NOT_JOINED:
+                currentAmountText.setText("Not joined yet");
+                cycleDatesText.setText("Not joined yet");
+                historyText.setText("--");
+                break;
+            case NO_CYCLE:
                 currentAmountText.setText("No cycle for this date");
                 cycleDatesText.setText("No cycle for this date");
                 historyText.setText("--");
-
-                synchronized (SavingCircleDetailActivity.this) {
-                    membersProcessed++;
-                }
-                checkIfAllMembersProcessed();
-                return;
-            }
-
-            // If selected date is within existing cycles, we already checked - shouldn't be here
-            if (selectedDateTimestamp < lastCycle.getEndDate()) {
-                displayCycleData(lastCycle, allocation, currentAmountText, cycleDatesText, memberProgress);
-                loadMemberHistoricalContributions(memberEmail, historyText);
-                return;
-            }
-
-            // Create cycles from lastCycle to selectedDate
-            createCyclesUpToDate(circleId, memberEmail, lastCycle, allocation,
-                    currentAmountText, cycleDatesText, memberProgress, historyText);
-        });
-    }
-
-    /**
-     * Create cycles sequentially from the last cycle to cover the selected date
-     * Each new cycle starts with FRESH allocation (budget resets)
-     * IMPORTANT: Auto-created cycles should have $0 contribution (user wasn't active)
-     */
-    private void createCyclesUpToDate(String circleId, String memberEmail, MemberCycle lastCycle,
-                                      double allocation, TextView currentAmountText,
-                                      TextView cycleDatesText, ProgressBar memberProgress, 
-                                      TextView historyText) {
-
-        // First, complete the last cycle if it should be complete
-        if (!lastCycle.isComplete() && lastCycle.getEndDate() <= selectedDateTimestamp) {
-            Log.d(TAG, "Completing cycle: " + lastCycle.getCycleId());
-            completeCycleInDatabase(circleId, memberEmail, lastCycle);
-        }
-
-        // Calculate next cycle dates
-        long nextStartDate = lastCycle.getEndDate();
-        long nextEndDate = calculateNextEndDate(nextStartDate, frequency);
-
-        // Create next cycle - but we need to determine if it's auto-created or real
-        MemberCycle nextCycle = new MemberCycle(nextStartDate, nextEndDate, allocation);
-
-        // Check if this new cycle should already be complete (if it's in the past)
-        boolean shouldBeComplete = nextCycle.getEndDate() <= selectedDateTimestamp;
-        if (shouldBeComplete) {
-            nextCycle.setComplete(true);
-            // CRITICAL FIX: Auto-created cycles have $0 contribution
-            // They represent periods where the user wasn't actively managing the circle
-            nextCycle.setStartAmount(0);
-            nextCycle.setEndAmount(0);
-            nextCycle.setSpent(0);
-            Log.d(TAG, "Creating auto-completed cycle (no contribution): " + nextCycle.getCycleId());
-        } else {
-            // This is the current/future cycle - starts with full allocation
-            nextCycle.setStartAmount(allocation);
-            nextCycle.setEndAmount(allocation);
-            Log.d(TAG, "Creating active cycle: " + nextCycle.getCycleId());
-        }
-
-        // Check if we need to create this cycle
-        if (selectedDateTimestamp >= nextCycle.getStartDate()) {
-            savingCircleViewModel.createCycle(circleId, memberEmail, nextCycle,
-                    new SavingCircleViewModel.OnCycleCreatedListener() {
-
-                        @Override
-                        public void onCycleCreated(MemberCycle cycle) {
-                            Log.d(TAG, "Cycle created: " + cycle.getCycleId() +
-                                    " (complete: " + cycle.isComplete() +
-                                    ", endAmount: " + cycle.getEndAmount() + ")");
-
-                            // Check if we need more cycles
-                            if (selectedDateTimestamp >= cycle.getEndDate()) {
-                                // Need to create more cycles
-                                createCyclesUpToDate(circleId, memberEmail, cycle, allocation,
-                                        currentAmountText, cycleDatesText, memberProgress, historyText);
-                            } else {
-                                // This cycle covers the selected date - display it
-                                displayCycleData(cycle, allocation, currentAmountText, cycleDatesText, memberProgress);
-                                loadMemberHistoricalContributions(memberEmail, historyText);
-                            }
-                        }
-
-                        @Override
-                        public void onError(String message) {
-                            Log.e(TAG, "Error creating cycle: " + message);
-                            currentAmountText.setText("Error creating cycle");
-                            cycleDatesText.setText("Error");
-
-                            synchronized (SavingCircleDetailActivity.this) {
-                                membersProcessed++;
-                            }
-                            checkIfAllMembersProcessed();
-                        }
-                    });
-        } else {
-            // Last cycle covers the selected date
-            displayCycleData(lastCycle, allocation, currentAmountText, cycleDatesText, memberProgress);
-            loadMemberHistoricalContributions(memberEmail, historyText);
-        }
-    }
-
-    /**
-     * Mark a cycle as complete in the database
-     */
-    private void completeCycleInDatabase(String circleId, String memberEmail, MemberCycle cycle) {
-        cycle.setComplete(true);
-        savingCircleViewModel.createCycle(circleId, memberEmail, cycle,
-                new SavingCircleViewModel.OnCycleCreatedListener() {
-                    @Override
-                    public void onCycleCreated(MemberCycle updatedCycle) {
-                        Log.d(TAG, "Cycle marked complete: " + updatedCycle.getCycleId());
-                    }
-
-                    @Override
-                    public void onError(String message) {
-                        Log.e(TAG, "Error completing cycle: " + message);
-                    }
-                });
-    }
-
-    /**
-     * Calculate the end date for the next cycle based on frequency
-     */
-    private long calculateNextEndDate(long startDate, String frequency) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(startDate);
-
-        if ("Weekly".equals(frequency)) {
-            calendar.add(Calendar.WEEK_OF_YEAR, 1);
-        } else { // Monthly
-            calendar.add(Calendar.MONTH, 1);
+                break;
+            case NEEDS_CYCLES:
+                // The view model is writing the missing cycles; the next snapshot shows them
+                currentAmountText.setText("Loading...");
+                cycleDatesText.setText("Loading cycle dates...");
+                historyText.setText("Loading...");
+                break;
+            default:
+                displayCycleData(memberSnapshot.getCycle(), member.getPersonalAllocation(),
+                        currentAmountText, cycleDatesText, memberProgress);
+                displayHistoricalContributions(memberSnapshot, historyText);
+                break;
         }
-
-        return calendar.getTimeInMillis();
+        return memberView;
     }
 
     /**
@@ -405,56 +163,18 @@ public class SavingCircleDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Load historical contributions from completed cycles
+     * Show historical contributions from completed cycles
      */
-    private void loadMemberHistoricalContributions(String memberEmail, TextView historyText) {
-        savingCircleViewModel.getMemberCycleHistory(circleId, memberEmail).observe(this, cycles -> {
-            if (cycles != null && !cycles.isEmpty()) {
-                double historicalContribution = 0;
-                int completedCount = 0;
-
-                for (MemberCycle cycle : cycles) {
-                    // Only count COMPLETED cycles that ended on or before selected date
-                    if (cycle.isComplete() && cycle.getEndDate() <= selectedDateTimestamp) {
-                        historicalContribution += cycle.getEndAmount();
-                        completedCount++;
-                    }
-                }
-
-                synchronized (this) {
-                    totalProgressAmount += historicalContribution;
-                    membersProcessed++;
-                }
-
-                if (completedCount > 0) {
-                    historyText.setText(
-                            String.format(Locale.US, "Contribution to Shared Goal: $%s (%d cycles)",
-                                    CURRENCY_FORMAT.format(historicalContribution),
-                                    completedCount)
-                    );
-                } else {
-                    historyText.setText("Contribution to Shared Goal: $0.00");
-                }
-
-                checkIfAllMembersProcessed();
-            } else {
-                historyText.setText("Contribution to Shared Goal: $0.00");
-
-                synchronized (this) {
-                    membersProcessed++;
-                }
-                checkIfAllMembersProcessed();
-            }
-        });
-    }
-
-    private void checkIfAllMembersProcessed() {
-        if (membersProcessed >= totalMembers) {
-            savingCircleViewModel.getSavingCircleById(circleId).observe(this, circle -> {
-                if (circle != null) {
-                    updateOverallProgress(totalProgressAmount, circle.getGoalAmount());
-                }
-            });
+    private void displayHistoricalContributions(CircleSnapshot.MemberSnapshot memberSnapshot,
+                                                TextView historyText) {
+        if (memberSnapshot.getCompletedCycles() > 0) {
+            historyText.setText(
+                    String.format(Locale.US, "Contribution to Shared Goal: $%s (%d cycles)",
+                            CURRENCY_FORMAT.format(memberSnapshot.getHistoricalAmount()),
+                            memberSnapshot.getCompletedCycles())
+            );
+        } else {
+            historyText.setText("Contribution to Shared Goal: $0.00");
         }
     }
 
@@ -1,18 +1,20 @@
 package com.example.spendwise.viewModel;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.spendwise.model.Budget;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.repository.ChildRows;
+import com.example.spendwise.repository.SharedDataStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,6 +26,9 @@ public class BudgetViewModel extends ViewModel {
     private final FirebaseAuth auth = FirebaseAuth.getInstance();
     private final MutableLiveData<List<Budget>> budgets = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<String> statusMessage = new MutableLiveData<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private SharedDataStore.Subscription<Budget> budgetSubscription;
+    private boolean publishPending;
 
     public LiveData<List<Budget>> getBudgets() {
         loadBudgets();
@@ -34,51 +39,43 @@ public class BudgetViewModel extends ViewModel {
         return statusMessage;
     }
 
+    // Subscribes once to the shared budget rows; later calls are no-ops
     public void loadBudgets() {
         FirebaseUser user = auth.getCurrentUser();
         if (user == null) {
             statusMessage.setValue("User not authenticated");
             return;
         }
+        if (budgetSubscription != null) {
+            return;
+        }
 
-        database.child("users")
-                .child(user.getUid())
-                .child("budgets")
-                .addValueEventListener(new ValueEventListener() {
+        budgetSubscription = SharedDataStore.getInstance().subscribe(user.getUid(),
+                SharedDataStore.BUDGETS, new SharedDataStore.Subscriber<Budget>() {
                     @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        List<Budget> budgetList = new ArrayList<>();
-                        for (DataSnapshot budgetSnapshot : snapshot.getChildren()) {
-                            String id = budgetSnapshot.getKey();
-                            String name = budgetSnapshot.child("name").getValue(String.class);
-                            Double amount = budgetSnapshot.child("amount").getValue(Double.class);
-                            String categoryStr = budgetSnapshot.child("category")
-                                    .getValue(String.class);
-                            String date = budgetSnapshot.child("date").getValue(String.class);
-                            String freq = budgetSnapshot.child("freq").getValue(String.class);
-
-                            if (name != null && amount != null && categoryStr != null
-                                    && date != null && freq != null) {
-                                try {
-                                    Category category = Category.valueOf(categoryStr);
-                                    Budget budget = new Budget(name, amount, category, date, freq);
-                                    budget.setId(id);
-                                    budgetList.add(budget);
-                                } catch (IllegalArgumentException e) {
-                                    // Skip invalid category
-                                }
-                            }
-                        }
-                        budgets.setValue(budgetList);
+                    public void onChange(ChildRows.Change<Budget> change) {
+                        scheduleBudgetsPublish();
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        statusMessage.setValue("Error loading budgets: " + error.getMessage());
+                    public void onError(String message) {
+                        statusMessage.setValue("Error loading budgets: " + message);
                     }
                 });
     }
 
+    // Coalesce the changes delivered in one main-thread pass into one list emission
+    private void scheduleBudgetsPublish() {
+        if (publishPending) {
+            return;
+        }
+        publishPending = true;
+        mainHandler.post(() -> {
+            publishPending = false;
+            budgets.setValue(new ArrayList<>(budgetSubscription.rows()));
+        });
+    }
+
     public void addBudget(String name, double amount, Category category, String date, String freq) {
         FirebaseUser user = auth.getCurrentUser();
         if (user == null) {
@@ -91,8 +88,10 @@ public class BudgetViewModel extends ViewModel {
         Map<String, Object> budgetData = new HashMap<>();
         budgetData.put("name", budget.getName());
         budgetData.put("amount", budget.getAmount());
+        budgetData.put("amountCents", budget.getAmountCents());
         budgetData.put("category", budget.getCategory().name());
         budgetData.put("date", budget.getDate());
+        budgetData.put("epochDay", budget.getEpochDay());
         budgetData.put("freq", budget.getfreq());
 
         database.child("users")
@@ -132,17 +131,32 @@ public class BudgetViewModel extends ViewModel {
     public void updateBudget(String id, double newAmount) {
         List<Budget> current = budgets.getValue();
         if (current == null) return;
-        for (Budget b : current) {
+        for (int i = 0; i < current.size(); i++) {
+            Budget b = current.get(i);
             if (b.getId() != null && b.getId().equals(id)) {
-                b.setAmount(newAmount);
+                // Rows are shared with other ViewModels, so replace rather than mutate
+                Budget updated = new Budget(b.getName(), newAmount, b.getOriginalAmount(),
+                        b.getCategory(), b.getDate(), b.getfreq());
+                updated.setId(b.getId());
+                List<Budget> replaced = new ArrayList<>(current);
+                replaced.set(i, updated);
                 statusMessage.setValue("Budget " + b.getName() + " updated locally.");
-                budgets.setValue(current);
+                budgets.setValue(replaced);
                 return;
             }
         }
         statusMessage.setValue("Budget not found for update.");
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (budgetSubscription != null) {
+            budgetSubscription.close();
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
     /** Dummy method to find a budget by ID */
     public Budget getBudgetById(String id) {
         if (budgets.getValue() == null) return null;
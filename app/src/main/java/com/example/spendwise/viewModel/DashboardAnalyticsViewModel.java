@@ -1,6 +1,9 @@
 package com.example.spendwise.viewModel;
 
 import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
@@ -9,9 +12,16 @@ import androidx.lifecycle.ViewModel;
 import com.example.spendwise.model.Budget;
 import com.example.spendwise.model.BudgetUsageSummary;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.Firebase;
 import com.example.spendwise.repository.AnalyticsRepository;
+import com.example.spendwise.repository.ChildRows;
+import com.example.spendwise.repository.ExpenseRollups;
+import com.example.spendwise.repository.ExpenseTable;
+import com.example.spendwise.repository.ListenerRegistry;
+import com.example.spendwise.repository.RecomputeScheduler;
+import com.example.spendwise.repository.SharedDataStore;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
@@ -26,17 +36,19 @@ import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 public class DashboardAnalyticsViewModel extends ViewModel {
 
+    private static final String TAG = "DashboardAnalyticsViewModel";
+
     private final MutableLiveData<PieData> spendingByCategoryData = new MutableLiveData<>();
     private final MutableLiveData<BarData> budgetUsageData = new MutableLiveData<>();
     private final MutableLiveData<List<String>> budgetUsageLabels = new MutableLiveData<>(new ArrayList<>());
@@ -45,16 +57,34 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     private final FirebaseAuth auth;
     private final AnalyticsRepository analyticsRepository;
 
-    private DatabaseReference expensesRef;
-    private DatabaseReference budgetsRef;
-    private ValueEventListener expensesListener;
-    private ValueEventListener budgetsListener;
+    // Expenses and budgets come from the listeners shared with the other ViewModels
+    private final SharedDataStore store = SharedDataStore.getInstance();
+    private String uid;
+    private SharedDataStore.Subscription<Expense> expenseSubscription;
+    private SharedDataStore.Subscription<Budget> budgetSubscription;
+
+    // Epoch days the expense subscription is windowed to
+    private int subscribedStartDay = EpochDays.INVALID;
+    private int subscribedEndDay = EpochDays.INVALID;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean recalculatePending;
 
-    private final List<Expense> cachedExpenses = new LinkedList<>();
-    private final List<Budget> cachedBudgets = new LinkedList<>();
+    public static final long DEFAULT_RECALCULATE_DEBOUNCE_MILLIS = 50;
+    // Charts are computed off the main thread; a burst of requests runs once with the latest inputs
+    private final RecomputeScheduler<AnalyticsInput, AnalyticsResult> recalculator =
+            new RecomputeScheduler<>("DashboardAnalytics", DEFAULT_RECALCULATE_DEBOUNCE_MILLIS,
+                    this::computeAnalytics, this::publishAnalytics);
 
     private Date windowStart;
     private Date windowEnd;
+    // Nothing is attached before the first updateWindow, so no query runs unbounded
+    private boolean windowKnown;
+
+    // Rollup mode reads users/{uid}/rollups/{yyyyMM} instead of raw expenses
+    private DatabaseReference rollupsRef;
+    private final ListenerRegistry listeners = new ListenerRegistry(TAG);
+    private boolean rollupMode;
+    private long[] rollupCents;
 
     public DashboardAnalyticsViewModel() {
         analyticsRepository = new AnalyticsRepository();
@@ -75,10 +105,62 @@ public class DashboardAnalyticsViewModel extends ViewModel {
         return budgetUsageLabels;
     }
 
+    /**
+     * Switches the charts to the server-maintained monthly rollups, which cost
+     * a few dozen numbers per window instead of every expense in it. Rollups
+     * are month-granular, so a window that starts or ends mid-month counts
+     * the whole of its boundary months.
+     */
+    public void setRollupMode(boolean enabled) {
+        if (rollupMode == enabled) {
+            return;
+        }
+        rollupMode = enabled;
+        if (uid == null || !windowKnown) {
+            return;
+        }
+
+        if (enabled) {
+            detachExpenses();
+            attachRollupQuery();
+        } else {
+            detachRollupQuery();
+            attachExpenses();
+        }
+    }
+
+    public boolean isRollupMode() {
+        return rollupMode;
+    }
+
     public void updateWindow(Date start, Date end) {
         this.windowStart = start;
         this.windowEnd = end;
-        recalculateAnalytics();
+        this.windowKnown = true;
+
+        if (rollupMode && rollupsRef != null) {
+            attachRollupQuery();
+            return;
+        }
+
+        if (uid != null && (expenseSubscription == null
+                || EpochDays.fromDate(start) != subscribedStartDay
+                || EpochDays.fromDate(end) != subscribedEndDay)) {
+            // Only the new window's expenses are downloaded; its replay recalculates
+            detachExpenses();
+            attachExpenses();
+            return;
+        }
+        scheduleRecalculate();
+    }
+
+    public void setRecalculateDebounce(long debounceMillis) {
+        recalculator.setDebounceMillis(debounceMillis);
+    }
+
+    // Requested, run, merged and skipped recomputes, for diagnostics
+    public RecomputeScheduler.Metrics getRecalculateMetrics() {
+        return recalculator.getMetrics();
     }
 
     private void initializeUserReferences() {
@@ -91,117 +173,184 @@ public class DashboardAnalyticsViewModel extends ViewModel {
         // Seed charts immediately to ensure they render even before Firebase data loads
         seedFallbackCharts();
 
-        String uid = currentUser.getUid();
-        expensesRef = database.getReference("users").child(uid).child("expenses");
-        budgetsRef = database.getReference("users").child(uid).child("budgets");
+        uid = currentUser.getUid();
+        rollupsRef = database.getReference("users").child(uid).child(ExpenseRollups.NODE);
 
-        attachExpenseListener();
-        attachBudgetListener();
+        // Expenses or rollups attach once updateWindow supplies the window
+        attachBudgets();
     }
 
-    private void attachExpenseListener() {
-        expensesListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                cachedExpenses.clear();
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    Expense expense = parseExpenseSnapshot(expenseSnapshot);
-                    if (expense != null) {
-                        cachedExpenses.add(expense);
+    // Subscribes to the expenses whose epochDay lies in the current window
+    private void attachExpenses() {
+        subscribedStartDay = EpochDays.fromDate(windowStart);
+        subscribedEndDay = EpochDays.fromDate(windowEnd);
+        expenseSubscription = store.subscribeWindow(uid, SharedDataStore.EXPENSES,
+                subscribedStartDay, subscribedEndDay,
+                new SharedDataStore.Subscriber<Expense>() {
+                    @Override
+                    public void onChange(ChildRows.Change<Expense> change) {
+                        // Row order does not matter to the aggregates
+                        if (change.getType() != ChildRows.Change.Type.MOVED) {
+                            scheduleRecalculate();
+                        }
                     }
-                }
-                recalculateAnalytics();
-            }
 
-            @Override
-            public void onCancelled(DatabaseError error) {
-                // No-op; fallback handled elsewhere
-            }
-        };
-        if (expensesRef != null) {
-            expensesRef.addValueEventListener(expensesListener);
+                    @Override
+                    public void onError(String message) {
+                        // Charts keep the last loaded expenses; the expense screen reports the error
+                    }
+                });
+        // An empty expense list produces no changes, so refresh explicitly
+        scheduleRecalculate();
+    }
+
+    private void detachExpenses() {
+        if (expenseSubscription != null) {
+            expenseSubscription.close();
+            expenseSubscription = null;
+        }
+    }
+
+    // The initial load delivers one change per expense; fold them into
+    // a single request on the next main-thread pass, so the inputs are copied once
+    private void scheduleRecalculate() {
+        if (recalculatePending) {
+            return;
         }
+        recalculatePending = true;
+        mainHandler.post(() -> {
+            recalculatePending = false;
+            recalculateAnalytics();
+        });
     }
 
-    private void attachBudgetListener() {
-        budgetsListener = new ValueEventListener() {
+    // Re-attaches the rollup listener for the months the current window touches
+    private void attachRollupQuery() {
+        rollupCents = null;
+        ValueEventListener rollupsListener = new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot snapshot) {
-                cachedBudgets.clear();
-                for (DataSnapshot budgetSnapshot : snapshot.getChildren()) {
-                    Budget budget = parseBudgetSnapshot(budgetSnapshot);
-                    if (budget != null) {
-                        cachedBudgets.add(budget);
-                    }
+                long[] cents = new long[Category.values().length];
+                for (DataSnapshot monthSnapshot : snapshot.getChildren()) {
+                    ExpenseRollups.accumulateMonth(monthSnapshot, cents);
                 }
-                recalculateAnalytics();
+                rollupCents = cents;
+                scheduleRecalculate();
             }
 
             @Override
             public void onCancelled(DatabaseError error) {
-                // No-op; fallback handled elsewhere
+                // Charts keep the last totals until the next window re-attaches the query
+                Log.e(TAG, "Rollup listener cancelled: " + error.getMessage());
             }
         };
-        if (budgetsRef != null) {
-            budgetsRef.addValueEventListener(budgetsListener);
+
+        Query query = rollupsRef.orderByKey();
+        int startDay = EpochDays.fromDate(windowStart);
+        int endDay = EpochDays.fromDate(windowEnd);
+        if (startDay != EpochDays.INVALID) {
+            query = query.startAt(ExpenseRollups.monthKey(startDay));
+        }
+        if (endDay != EpochDays.INVALID) {
+            query = query.endAt(ExpenseRollups.monthKey(endDay));
         }
+        // Replaces the query for the previous window
+        listeners.listen("rollups", query, rollupsListener);
     }
 
-    private Expense parseExpenseSnapshot(DataSnapshot snapshot) {
-        try {
-            String id = snapshot.getKey();
-            String name = snapshot.child("name").getValue(String.class);
-            Double amount = snapshot.child("amount").getValue(Double.class);
-            String categoryStr = snapshot.child("category").getValue(String.class);
-            String date = snapshot.child("date").getValue(String.class);
-            String notes = snapshot.child("notes").getValue(String.class);
-
-            if (name == null || amount == null || categoryStr == null) {
-                return null;
-            }
+    private void detachRollupQuery() {
+        listeners.remove("rollups");
+        rollupCents = null;
+    }
+
+    private void attachBudgets() {
+        budgetSubscription = store.subscribe(uid, SharedDataStore.BUDGETS,
+                new SharedDataStore.Subscriber<Budget>() {
+                    @Override
+                    public void onChange(ChildRows.Change<Budget> change) {
+                        // Rows are read once per recompute, not per change
+                        scheduleRecalculate();
+                    }
 
-            Expense expense = new Expense(name, amount, Category.valueOf(categoryStr), date, notes != null ? notes : "");
-            expense.setId(id);
-            return expense;
-        } catch (Exception e) {
-            return null;
+                    @Override
+                    public void onError(String message) {
+                        // Charts keep the last loaded budgets; the budget screen reports the error
+                    }
+                });
+    }
+
+    // Inputs of one recompute; rows() lists are immutable snapshots, so the
+    // worker reads them while the main thread keeps applying changes
+    private static final class AnalyticsInput {
+        final boolean rollupMode;
+        final List<Expense> expenses;
+        final long[] rollupCents;
+        final List<Budget> budgets;
+        final Date windowStart;
+        final Date windowEnd;
+
+        AnalyticsInput(boolean rollupMode, List<Expense> expenses, long[] rollupCents,
+                       List<Budget> budgets, Date windowStart, Date windowEnd) {
+            this.rollupMode = rollupMode;
+            this.expenses = expenses;
+            this.rollupCents = rollupCents;
+            this.budgets = budgets;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
         }
     }
 
-    private Budget parseBudgetSnapshot(DataSnapshot snapshot) {
-        try {
-            String id = snapshot.getKey();
-            String name = snapshot.child("name").getValue(String.class);
-            Double amount = snapshot.child("amount").getValue(Double.class);
-            String categoryStr = snapshot.child("category").getValue(String.class);
-            String date = snapshot.child("date").getValue(String.class);
-            String freq = snapshot.child("freq").getValue(String.class);
-
-            if (name == null || amount == null || categoryStr == null || date == null || freq == null) {
-                return null;
-            }
+    private static final class AnalyticsResult {
+        final PieData pieData;
+        final List<String> labels;
+        final BarData barData;
 
-            Budget budget = new Budget(name, amount, Category.valueOf(categoryStr), date, freq);
-            budget.setId(id);
-            return budget;
-        } catch (Exception e) {
-            return null;
+        AnalyticsResult(PieData pieData, List<String> labels, BarData barData) {
+            this.pieData = pieData;
+            this.labels = labels;
+            this.barData = barData;
         }
     }
 
     private void recalculateAnalytics() {
-        Map<String, Double> categoryTotals = analyticsRepository.calculateCategoryTotals(
-                cachedExpenses,
-                windowStart,
-                windowEnd
-        );
-
-        List<BudgetUsageSummary> budgetSummaries = analyticsRepository.calculateBudgetUsage(
-                cachedBudgets,
-                cachedExpenses,
-                windowStart,
-                windowEnd
-        );
+        // Rollup mode never reads the expense rows, so it gets none
+        recalculator.request(new AnalyticsInput(
+                rollupMode,
+                rollupMode || expenseSubscription == null
+                        ? Collections.<Expense>emptyList() : expenseSubscription.rows(),
+                rollupCents,
+                budgetSubscription != null ? budgetSubscription.rows() : Collections.<Budget>emptyList(),
+                windowStart != null ? new Date(windowStart.getTime()) : null,
+                windowEnd != null ? new Date(windowEnd.getTime()) : null));
+    }
+
+    // Runs on the recalculator's thread
+    private AnalyticsResult computeAnalytics(AnalyticsInput input) {
+        Map<String, Double> categoryTotals;
+        List<BudgetUsageSummary> budgetSummaries;
+        if (input.rollupMode) {
+            categoryTotals = analyticsRepository.calculateCategoryTotals(input.rollupCents);
+            budgetSummaries = analyticsRepository.calculateBudgetUsage(
+                    input.budgets,
+                    input.rollupCents,
+                    input.windowStart,
+                    input.windowEnd
+            );
+        } else {
+            // Columns are built here, off the main thread, and shared by both scans
+            ExpenseTable expenses = ExpenseTable.of(input.expenses);
+            categoryTotals = analyticsRepository.calculateCategoryTotals(
+                    expenses,
+                    input.windowStart,
+                    input.windowEnd
+            );
+            budgetSummaries = analyticsRepository.calculateBudgetUsage(
+                    input.budgets,
+                    expenses,
+                    input.windowStart,
+                    input.windowEnd
+            );
+        }
 
         if (categoryTotals.isEmpty()) {
             categoryTotals = analyticsRepository.createSeedCategoryTotals();
@@ -210,9 +359,14 @@ public class DashboardAnalyticsViewModel extends ViewModel {
             budgetSummaries = analyticsRepository.createSeedBudgetUsage();
         }
 
-        spendingByCategoryData.postValue(buildPieData(categoryTotals));
-        budgetUsageLabels.postValue(extractLabels(budgetSummaries));
-        budgetUsageData.postValue(buildBudgetBarData(budgetSummaries));
+        return new AnalyticsResult(buildPieData(categoryTotals),
+                extractLabels(budgetSummaries), buildBudgetBarData(budgetSummaries));
+    }
+
+    private void publishAnalytics(AnalyticsResult result) {
+        spendingByCategoryData.postValue(result.pieData);
+        budgetUsageLabels.postValue(result.labels);
+        budgetUsageData.postValue(result.barData);
     }
 
     private PieData buildPieData(Map<String, Double> categoryTotals) {
@@ -288,11 +442,12 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (expensesRef != null && expensesListener != null) {
-            expensesRef.removeEventListener(expensesListener);
-        }
-        if (budgetsRef != null && budgetsListener != null) {
-            budgetsRef.removeEventListener(budgetsListener);
+        detachExpenses();
+        if (budgetSubscription != null) {
+            budgetSubscription.close();
         }
+        listeners.clear();
+        mainHandler.removeCallbacksAndMessages(null);
+        recalculator.close();
     }
 }
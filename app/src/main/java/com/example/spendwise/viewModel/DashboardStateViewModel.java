@@ -0,0 +1,180 @@
+package com.example.spendwise.viewModel;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.DashboardState;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDailyIndex;
+import com.example.spendwise.repository.ChildRows;
+import com.example.spendwise.repository.RecomputeScheduler;
+import com.example.spendwise.repository.SharedDataStore;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Merges the user's budgets, expenses and the dashboard's simulated date
+ * into one DashboardState. Rows come from the SharedDataStore, so this adds
+ * no listeners of its own; expenses are subscribed to for the days the
+ * simulated date's periods cover only, and re-subscribed when the date moves
+ * to another window. Those expenses are kept in a CategoryDailyIndex, so each
+ * recompute reads every period's spending in O(categories) instead of
+ * scanning the rows, and a date-picker change within the window reads the
+ * same index again. Changes delivered in one main-thread pass are
+ * coalesced into a single request to a RecomputeScheduler, which computes
+ * on its own thread with the latest inputs and drops results a newer change
+ * has already superseded, so every burst of changes emits one state.
+ */
+public class DashboardStateViewModel extends ViewModel {
+
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    private static final class Inputs {
+        final List<Budget> budgets;
+        final DashboardState.Spending spending;
+        final DashboardState.Periods periods;
+
+        Inputs(List<Budget> budgets, DashboardState.Spending spending, DashboardState.Periods periods) {
+            this.budgets = budgets;
+            this.spending = spending;
+            this.periods = periods;
+        }
+    }
+
+    private final MutableLiveData<DashboardState> state = new MutableLiveData<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final RecomputeScheduler<Inputs, DashboardState> recomputer = new RecomputeScheduler<>(
+            "DashboardState", DEBOUNCE_MILLIS,
+            inputs -> DashboardState.compute(inputs.budgets, inputs.spending, inputs.periods),
+            state::postValue);
+    private SharedDataStore.Subscription<Expense> expenseSubscription;
+    private SharedDataStore.Subscription<Budget> budgetSubscription;
+    // Daily totals of the subscribed window's expenses; main thread only
+    private final CategoryDailyIndex categoryIndex = new CategoryDailyIndex();
+    private final SharedDataStore store = SharedDataStore.getInstance();
+    private String uid;
+    private DashboardState.Periods periods;
+    private boolean recomputePending;
+
+    public DashboardStateViewModel() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            return;
+        }
+        uid = user.getUid();
+        // Expenses attach once setSimulatedDate supplies the window
+        budgetSubscription = store.subscribe(uid, SharedDataStore.BUDGETS,
+                new SharedDataStore.Subscriber<Budget>() {
+                    @Override
+                    public void onChange(ChildRows.Change<Budget> change) {
+                        scheduleRecompute();
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        // Keeps the last state; the budget screen reports the error
+                    }
+                });
+    }
+
+    public LiveData<DashboardState> getState() {
+        return state;
+    }
+
+    public void setSimulatedDate(Calendar date) {
+        DashboardState.Periods previous = periods;
+        periods = DashboardState.Periods.of(date);
+        if (uid != null && (previous == null
+                || previous.getFirstDay() != periods.getFirstDay()
+                || previous.getLastDay() != periods.getLastDay())) {
+            subscribeExpenses();
+        }
+        scheduleRecompute();
+    }
+
+    // Re-targets the expense subscription at the days the current periods cover
+    private void subscribeExpenses() {
+        SharedDataStore.Subscription<Expense> previous = expenseSubscription;
+        // The new window replays its rows as ADDED
+        categoryIndex.clear();
+        expenseSubscription = store.subscribeWindow(uid, SharedDataStore.EXPENSES,
+                periods.getFirstDay(), periods.getLastDay(),
+                new SharedDataStore.Subscriber<Expense>() {
+                    @Override
+                    public void onChange(ChildRows.Change<Expense> change) {
+                        switch (change.getType()) {
+                            case ADDED:
+                            case CHANGED:
+                                categoryIndex.replace(change.getPrevious(), change.getValue());
+                                break;
+                            case REMOVED:
+                                categoryIndex.remove(change.getPrevious());
+                                break;
+                            case MOVED:
+                                // Row order does not matter to the totals
+                                return;
+                        }
+                        scheduleRecompute();
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        // Keeps the last state; the expense screen reports the error
+                    }
+                });
+        // Closed after the new one attaches, so a shared window is not detached in between
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    // Coalesce the changes delivered in one main-thread pass into one recompute
+    private void scheduleRecompute() {
+        if (recomputePending) {
+            return;
+        }
+        recomputePending = true;
+        mainHandler.post(() -> {
+            recomputePending = false;
+            recompute();
+        });
+    }
+
+    private void recompute() {
+        if (periods == null) {
+            return;
+        }
+        // rows() lists are immutable snapshots, safe to read on the worker
+        List<Budget> budgets = budgetSubscription != null
+                ? budgetSubscription.rows() : Collections.emptyList();
+        // The index is not thread-safe, so its period totals are read here
+        DashboardState.Spending spending = new DashboardState.Spending(
+                categoryIndex.totalsByCategory(periods.getDay(), periods.getDay()),
+                categoryIndex.totalsByCategory(periods.getWeekStartDay(), periods.getWeekEndDay()),
+                categoryIndex.totalsByCategory(periods.getMonthStartDay(), periods.getMonthEndDay()),
+                categoryIndex.totalsByCategory(periods.getYearStartDay(), periods.getYearEndDay()));
+        recomputer.request(new Inputs(budgets, spending, periods));
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        recomputer.close();
+        if (expenseSubscription != null) {
+            expenseSubscription.close();
+        }
+        if (budgetSubscription != null) {
+            budgetSubscription.close();
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+}
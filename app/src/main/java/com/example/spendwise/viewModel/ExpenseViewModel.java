@@ -6,7 +6,15 @@ import androidx.lifecycle.ViewModel;
 import com.example.spendwise.model.Category;
 
 import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.ExpenseChange;
 import com.example.spendwise.model.Firebase;
+import com.example.spendwise.repository.ChildRows;
+import com.example.spendwise.repository.CircleWrite;
+import com.example.spendwise.repository.EpochDayMigrator;
+import com.example.spendwise.repository.ExpenseRollups;
+import com.example.spendwise.repository.PagedExpenseList;
+import com.example.spendwise.repository.SharedDataStore;
+import com.example.spendwise.repository.TaskPipeline;
 
 import com.example.spendwise.strategy.ExpenseSortStrategy;
 import com.example.spendwise.strategy.SortByDateStrategy;
@@ -14,14 +22,17 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
-import androidx.annotation.NonNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
 import java.util.Locale;
@@ -29,10 +40,21 @@ import java.util.Date;
 
 public class ExpenseViewModel extends ViewModel {
     private static final String TAG = "ExpenseViewModel";
+    private static final int PAGE_SIZE = 50;
 
     private MutableLiveData<String> statusMessage;
     private MutableLiveData<List<Expense>> expenses;
+    private final MutableLiveData<ExpenseChange> expenseChanges = new MutableLiveData<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean listPublishPending;
+    // Newest-first pages for the expense log; bounded by how far it scrolled
+    private final PagedExpenseList pagedExpenses = new PagedExpenseList();
+    private final MutableLiveData<List<Expense>> expensePages = new MutableLiveData<>();
+    private boolean pageLoading;
+    // Shared users/{uid}/expenses rows, in Firebase child order
+    private SharedDataStore.Subscription<Expense> expenseSubscription;
     private FirebaseDatabase database;
+    private DatabaseReference userRef; // users/{uid}, root for multi-path writes
     private DatabaseReference expensesRef; //references to the expenses collection
     //Firebase is a json so points to that node
     private FirebaseAuth auth;
@@ -49,8 +71,8 @@ public class ExpenseViewModel extends ViewModel {
         // Setups user specific path for the proper structure in database tree,
         // and correct retrieval later
         setupUserExpensesReference();
-        // Load expenses from Firebase when ViewModel is created (a function)
-        loadExpensesFromFirebase();
+        // The full-history listener attaches on first use of getExpenses()
+        // or getExpenseChanges(); paged screens never pay for it
     }
 
     // Setup reference based on current user
@@ -59,9 +81,12 @@ public class ExpenseViewModel extends ViewModel {
         if (currentUser != null) {
             String uid = currentUser.getUid();
             // Path: users/{uid}/expenses
-            expensesRef = database.getReference("users").child(uid)
-                    .child("expenses");
+            userRef = database.getReference("users").child(uid);
+            expensesRef = userRef.child("expenses");
             Log.d(TAG, "Expenses reference set for user: " + uid);
+            // Older records predate epochDay; patch them so windowed queries see them
+            new EpochDayMigrator(userRef).runOnce();
+            ExpenseRollups.ensureBuilt(userRef);
         } else {
             Log.e(TAG, "No user logged in!");
             statusMessage.setValue("Please log in to manage expenses");
@@ -69,9 +94,83 @@ public class ExpenseViewModel extends ViewModel {
     }
 
     public LiveData<List<Expense>> getExpenses() {
+        loadExpensesFromFirebase();
         return expenses;
     }
 
+    // Emits one delta per child event; cheaper to observe than the full list
+    public LiveData<ExpenseChange> getExpenseChanges() {
+        loadExpensesFromFirebase();
+        return expenseChanges;
+    }
+
+    // Newest-first expenses loaded so far; the first page is requested here
+    public LiveData<List<Expense>> getPagedExpenses() {
+        if (expensePages.getValue() == null) {
+            loadNextPage();
+        }
+        return expensePages;
+    }
+
+    public boolean hasMorePages() {
+        return !pagedExpenses.isExhausted();
+    }
+
+    /**
+     * Fetches the next PAGE_SIZE expenses older than the oldest one loaded,
+     * using (epochDay, key) as the keyset cursor. Calls while a page is in
+     * flight or after the history is exhausted are ignored.
+     */
+    public void loadNextPage() {
+        if (expensesRef == null || pageLoading || pagedExpenses.isExhausted()) {
+            return;
+        }
+        pageLoading = true;
+
+        Query query = expensesRef.orderByChild("epochDay");
+        if (!pagedExpenses.isEmpty()) {
+            query = query.endBefore(pagedExpenses.cursorEpochDay(), pagedExpenses.cursorId());
+        }
+        query.limitToLast(PAGE_SIZE).get()
+                .addOnSuccessListener(snapshot -> {
+                    List<Expense> page = new ArrayList<>();
+                    for (DataSnapshot child : snapshot.getChildren()) {
+                        Expense expense = SharedDataStore.EXPENSES.parse(child);
+                        if (expense != null) {
+                            page.add(expense);
+                        }
+                    }
+                    // A short page is the start of history; a page with no usable
+                    // rows cannot move the cursor, so stop there too
+                    pagedExpenses.appendPage(page,
+                            snapshot.getChildrenCount() < PAGE_SIZE || page.isEmpty());
+                    pageLoading = false;
+                    expensePages.setValue(pagedExpenses.snapshot());
+                    Log.d(TAG, "Loaded expense page; " + pagedExpenses.size() + " shown");
+                })
+                .addOnFailureListener(e -> {
+                    pageLoading = false;
+                    Log.e(TAG, "Error loading expense page", e);
+                    statusMessage.setValue("Error loading expenses: " + e.getMessage());
+                    if (expensePages.getValue() == null) {
+                        expensePages.setValue(new ArrayList<>());
+                    }
+                });
+    }
+
+    // Keeps the paged list in step with writes made through this ViewModel
+    private void applyToPages(Expense written, String removedId) {
+        if (expensePages.getValue() == null) {
+            return;
+        }
+        if (removedId != null) {
+            pagedExpenses.remove(removedId);
+        } else {
+            pagedExpenses.insert(written);
+        }
+        expensePages.setValue(pagedExpenses.snapshot());
+    }
+
     /*public void addExpense(Expense expense) {
         expenses.getValue().add(expense);
         // Add directly to the list by unpacking the mutable live data box
@@ -82,36 +181,26 @@ public class ExpenseViewModel extends ViewModel {
     // Add new expense to Firebase (overload without savingCircleId for backwards compatibility)
     public void addExpense(String name, double amount, Category category,
                            String date, String notes) {
-        addExpense(name, amount, category, date, notes, null, -1);
+        addExpense(name, amount, category, date, notes, null);
     }
 
     // Add new expense to Firebase with optional savings circle linkage
     public void addExpense(String name, double amount, Category category,
-                           String date, String notes, String savingCircleId, long expenseTimestamp) {
+                           String date, String notes, String savingCircleId) {
         if (expensesRef == null) {
             Log.e(TAG, "expensesRef is null! Cannot add expense.");
             statusMessage.setValue("Error: User not logged in");
             return;
         }
 
-        Expense expense;
-        if (savingCircleId != null && !savingCircleId.isEmpty()) {
-            expense = new Expense(name, amount, category, date, notes, savingCircleId);
-        } else {
-            expense = new Expense(name, amount, category, date, notes);
-        }
-
-        // Push to Firebase (auto-generates ID)
-        DatabaseReference newExpenseRef = expensesRef.push();
-        String firebaseId = newExpenseRef.getKey();
-        expense.setId(firebaseId);
-
+        Expense expense = newExpense(name, amount, category, date, notes, savingCircleId);
         Log.d(TAG, "Adding expense to Firebase: " + expense);
 
-        newExpenseRef.setValue(expense)
+        userRef.updateChildren(additionUpdates(expense))
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Expense added successfully: " + expense);
                     statusMessage.setValue("Expense added!");
+                    applyToPages(expense, null);
                     // Note: Deduction from savings circle is handled in the Activity
                     // to avoid circular dependencies between ViewModels
                 })
@@ -121,6 +210,125 @@ public class ExpenseViewModel extends ViewModel {
                 });
     }
 
+    /**
+     * Adds a savings circle expense together with its deduction from the
+     * member's cycle. circleWrite (see
+     * SavingCircleViewModel.prepareCycleExpense) is merged with the expense
+     * and its rollup into one root-level updateChildren; changes that must
+     * be transactional follow once that write lands.
+     */
+    public void addExpense(String name, double amount, Category category, String date,
+                           String notes, String savingCircleId,
+                           CompletableFuture<CircleWrite> circleWrite) {
+        if (expensesRef == null) {
+            Log.e(TAG, "expensesRef is null! Cannot add expense.");
+            statusMessage.setValue("Error: User not logged in");
+            return;
+        }
+
+        Expense expense = newExpense(name, amount, category, date, notes, savingCircleId);
+        Log.d(TAG, "Adding expense with savings circle deduction: " + expense);
+
+        updateWithCircle(additionUpdates(expense), circleWrite, true, () -> {
+            Log.d(TAG, "Expense and deduction added: " + expense);
+            statusMessage.setValue("Expense added!");
+            applyToPages(expense, null);
+        });
+    }
+
+    // New expense under a freshly pushed key
+    private Expense newExpense(String name, double amount, Category category,
+                               String date, String notes, String savingCircleId) {
+        Expense expense;
+        if (savingCircleId != null && !savingCircleId.isEmpty()) {
+            expense = new Expense(name, amount, category, date, notes, savingCircleId);
+        } else {
+            expense = new Expense(name, amount, category, date, notes);
+        }
+
+        // Push to Firebase (auto-generates ID)
+        expense.setId(expensesRef.push().getKey());
+        return expense;
+    }
+
+    // Expense and its monthly rollup increment, relative to users/{uid}
+    private Map<String, Object> additionUpdates(Expense expense) {
+        Map<String, Long> rollupDeltas = new HashMap<>();
+        ExpenseRollups.addDelta(rollupDeltas, expense, 1);
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("expenses/" + expense.getId(), expense);
+        ExpenseRollups.putIncrements(updates, rollupDeltas);
+        return updates;
+    }
+
+    // Removal of a stored expense and its rollup contribution, relative to users/{uid}
+    private Map<String, Object> removalUpdates(DataSnapshot snapshot) {
+        Map<String, Long> rollupDeltas = new HashMap<>();
+        ExpenseRollups.addDelta(rollupDeltas, SharedDataStore.EXPENSES.parse(snapshot), -1);
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("expenses/" + snapshot.getKey(), null);
+        ExpenseRollups.putIncrements(updates, rollupDeltas);
+        return updates;
+    }
+
+    /**
+     * Once circleWrite resolves, writes its paths with userUpdates (re-rooted
+     * under users/{uid}) in a single root updateChildren, then starts its
+     * follow-up. If the circle's part cannot be prepared, a new expense is
+     * still saved on its own and the circle failure reported separately; a
+     * deletion is not written at all, since it would drop the expense
+     * without restoring what it took from the circle.
+     *
+     * @param addition true when userUpdates add an expense, false when they delete one
+     */
+    private void updateWithCircle(Map<String, Object> userUpdates,
+                                  CompletableFuture<CircleWrite> circleWrite,
+                                  boolean addition, Runnable onWritten) {
+        circleWrite.whenComplete((circle, error) -> mainHandler.post(() -> {
+            Map<String, Object> updates = new HashMap<>();
+            if (error != null) {
+                Throwable cause = TaskPipeline.unwrap(error);
+                Log.e(TAG, "Error preparing savings circle update", cause);
+                if (!addition) {
+                    statusMessage.setValue("Error: expense not deleted, the savings circle"
+                            + " could not be updated: " + cause.getMessage());
+                    return;
+                }
+            } else {
+                updates.putAll(circle.getUpdates());
+            }
+            String userPath = "users/" + userRef.getKey() + "/";
+            for (Map.Entry<String, Object> entry : userUpdates.entrySet()) {
+                updates.put(userPath + entry.getKey(), entry.getValue());
+            }
+            database.getReference().updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        onWritten.run();
+                        if (error != null) {
+                            reportCircleFailure(addition, error);
+                        } else {
+                            circle.afterWrite().whenComplete((ignored, failure) -> {
+                                if (failure != null) {
+                                    mainHandler.post(() -> reportCircleFailure(addition, failure));
+                                }
+                            });
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error writing expense with savings circle", e);
+                        statusMessage.setValue("Error: " + e.getMessage());
+                    });
+        }));
+    }
+
+    // The expense change itself was written; only its savings circle change was lost
+    private void reportCircleFailure(boolean addition, Throwable error) {
+        Throwable cause = TaskPipeline.unwrap(error);
+        Log.e(TAG, "Error updating savings circle", cause);
+        statusMessage.setValue((addition ? "Expense saved" : "Expense deleted")
+                + ", but the savings circle was not updated: " + cause.getMessage());
+    }
+
     public LiveData<String> getStatusMessage() {
         return statusMessage;
     }
@@ -131,10 +339,40 @@ public class ExpenseViewModel extends ViewModel {
         Expense expense = new Expense(name, amount, category, date, notes);
         expense.setId(id);
 
-        expensesRef.child(id).setValue(expense)
+        Expense previous = expenseSubscription != null ? expenseSubscription.get(id) : null;
+        if (previous != null) {
+            writeUpdate(expense, previous);
+            return;
+        }
+        // Not synced yet; the stored version is needed to move its rollup contribution
+        expensesRef.child(id).get()
+                .addOnSuccessListener(snapshot -> {
+                    if (!snapshot.exists()) {
+                        statusMessage.setValue("Expense not found");
+                        return;
+                    }
+                    writeUpdate(expense, SharedDataStore.EXPENSES.parse(snapshot));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching expense for update", e);
+                    statusMessage.setValue("Error: " + e.getMessage());
+                });
+    }
+
+    // Replaces previous with expense, moving the rollup contribution with it
+    private void writeUpdate(Expense expense, Expense previous) {
+        Map<String, Long> rollupDeltas = new HashMap<>();
+        ExpenseRollups.addDelta(rollupDeltas, previous, -1);
+        ExpenseRollups.addDelta(rollupDeltas, expense, 1);
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("expenses/" + expense.getId(), expense);
+        ExpenseRollups.putIncrements(updates, rollupDeltas);
+
+        userRef.updateChildren(updates)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Expense updated successfully");
                     statusMessage.setValue("Expense updated!");
+                    applyToPages(expense, null);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error updating expense", e);
@@ -142,63 +380,75 @@ public class ExpenseViewModel extends ViewModel {
                 });
     }
 
-    // Load expenses from Firebase
+    // Subscribe to the shared expense rows, applying child-level deltas so a
+    // single add/edit/delete does not re-parse the whole subtree
     private void loadExpensesFromFirebase() {
-        expensesRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                List<Expense> expenseList = new ArrayList<>();
-
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    try {
-                        // Get the expense data and parse it correctly
-                        String id = expenseSnapshot.getKey();
-                        String name = expenseSnapshot.child("name")
-                                .getValue(String.class);
-                        Double amount = expenseSnapshot.child("amount")
-                                .getValue(Double.class);
-                        String categoryStr = expenseSnapshot.child("category")
-                                .getValue(String.class);
-                        String date = expenseSnapshot.child("date")
-                                .getValue(String.class);
-                        String notes = expenseSnapshot.child("notes")
-                                .getValue(String.class);
-                        String savingCircleId = expenseSnapshot.child("savingCircleId")
-                                .getValue(String.class);
-
-                        // Create expense object
-                        if (name != null && amount != null && categoryStr != null) {
-                            Category category = Category.valueOf(categoryStr);
-                            Expense expense;
-                            if (savingCircleId != null && !savingCircleId.isEmpty()) {
-                                expense = new Expense(name, amount, category,
-                                        date, notes != null ? notes : "", savingCircleId);
-                            } else {
-                                expense = new Expense(name, amount, category,
-                                        date, notes != null ? notes : "");
-                            }
-                            expense.setId(id);
-                            expenseList.add(expense);
+        if (expensesRef == null || expenseSubscription != null) {
+            return;
+        }
+
+        expenseSubscription = SharedDataStore.getInstance().subscribe(userRef.getKey(),
+                SharedDataStore.EXPENSES, new SharedDataStore.Subscriber<Expense>() {
+                    @Override
+                    public void onChange(ChildRows.Change<Expense> change) {
+                        switch (change.getType()) {
+                            case ADDED:
+                                publishChange(new ExpenseChange(ExpenseChange.Type.ADDED,
+                                        change.getKey(), change.getValue(), change.getPreviousChildKey()));
+                                break;
+                            case CHANGED:
+                                publishChange(new ExpenseChange(ExpenseChange.Type.CHANGED,
+                                        change.getKey(), change.getValue(), change.getPreviousChildKey()));
+                                break;
+                            case REMOVED:
+                                publishChange(new ExpenseChange(ExpenseChange.Type.REMOVED,
+                                        change.getKey(), null, null));
+                                break;
+                            case MOVED:
+                                publishChange(new ExpenseChange(ExpenseChange.Type.MOVED,
+                                        change.getKey(), change.getValue(), change.getPreviousChildKey()));
+                                break;
                         }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing expense", e);
                     }
-                }
 
-                expenses.setValue(expenseList);
-                Log.d(TAG, "Loaded " + expenseList.size()
-                        + " expenses from Firebase");
-            }
+                    @Override
+                    public void onError(String message) {
+                        Log.e(TAG, "Firebase error: " + message);
+                        statusMessage.setValue("Error loading expenses: " + message);
+                    }
+                });
+    }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Firebase error: " + error.getMessage());
-                statusMessage.setValue("Error loading expenses: "
-                        + error.getMessage());
-            }
+    private void publishChange(ExpenseChange change) {
+        expenseChanges.setValue(change);
+        scheduleListPublish();
+    }
+
+    // Coalesce all deltas delivered in one main-thread pass (e.g. the initial
+    // burst of onChildAdded calls) into a single list emission
+    private void scheduleListPublish() {
+        if (listPublishPending) {
+            return;
+        }
+        listPublishPending = true;
+        mainHandler.post(() -> {
+            listPublishPending = false;
+            // Built once per pass and shared; rows() is unmodifiable
+            List<Expense> expenseList = expenseSubscription.rows();
+            expenses.setValue(expenseList);
+            Log.d(TAG, "Published " + expenseList.size() + " expenses");
         });
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (expenseSubscription != null) {
+            expenseSubscription.close();
+        }
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
     // Delete expense from Firebase
     public void deleteExpense(String id) {
         if (expensesRef == null) {
@@ -212,13 +462,13 @@ public class ExpenseViewModel extends ViewModel {
                     if (snapshot.exists()) {
                         String savingCircleId = snapshot.child("savingCircleId").getValue(String.class);
                         Double amount = snapshot.child("amount").getValue(Double.class);
-                        String date = snapshot.child("date").getValue(String.class);
-                        
-                        // Delete the expense
-                        expensesRef.child(id).removeValue()
+
+                        // Delete the expense and take it out of its rollup atomically
+                        userRef.updateChildren(removalUpdates(snapshot))
                                 .addOnSuccessListener(aVoid -> {
                                     Log.d(TAG, "Expense deleted successfully");
                                     statusMessage.setValue("Expense deleted!");
+                                    applyToPages(null, id);
                                     
                                     // If linked to a savings circle, restore the amount
                                     // Note: This will be handled by the Activity to avoid ViewModel dependencies
@@ -241,6 +491,36 @@ public class ExpenseViewModel extends ViewModel {
                 });
     }
 
+    /**
+     * Deletes a savings circle expense together with restoring it to the
+     * member's cycle (see updateWithCircle); circleWrite comes from
+     * SavingCircleViewModel.prepareCycleExpense and is prepared while the
+     * expense is read.
+     */
+    public void deleteExpense(String id, CompletableFuture<CircleWrite> circleWrite) {
+        if (expensesRef == null) {
+            statusMessage.setValue("User not authenticated");
+            return;
+        }
+
+        expensesRef.child(id).get()
+                .addOnSuccessListener(snapshot -> {
+                    if (!snapshot.exists()) {
+                        statusMessage.setValue("Expense not found");
+                        return;
+                    }
+                    updateWithCircle(removalUpdates(snapshot), circleWrite, false, () -> {
+                        Log.d(TAG, "Expense deleted and restored to savings circle: " + id);
+                        statusMessage.setValue("Expense deleted!");
+                        applyToPages(null, id);
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching expense for deletion", e);
+                    statusMessage.setValue("Error: " + e.getMessage());
+                });
+    }
+
     // Get expense by ID (for deletion/restoration logic)
     public interface OnExpenseLoadedListener {
         void onExpenseLoaded(Expense expense);
@@ -257,31 +537,11 @@ public class ExpenseViewModel extends ViewModel {
         expensesRef.child(id).get()
                 .addOnSuccessListener(snapshot -> {
                     if (snapshot.exists()) {
-                        try {
-                            String expenseId = snapshot.getKey();
-                            String name = snapshot.child("name").getValue(String.class);
-                            Double amount = snapshot.child("amount").getValue(Double.class);
-                            String categoryStr = snapshot.child("category").getValue(String.class);
-                            String date = snapshot.child("date").getValue(String.class);
-                            String notes = snapshot.child("notes").getValue(String.class);
-                            String savingCircleId = snapshot.child("savingCircleId").getValue(String.class);
-
-                            if (name != null && amount != null && categoryStr != null) {
-                                Category category = Category.valueOf(categoryStr);
-                                Expense expense;
-                                if (savingCircleId != null && !savingCircleId.isEmpty()) {
-                                    expense = new Expense(name, amount, category, date, notes != null ? notes : "", savingCircleId);
-                                } else {
-                                    expense = new Expense(name, amount, category, date, notes != null ? notes : "");
-                                }
-                                expense.setId(expenseId);
-                                if (listener != null) listener.onExpenseLoaded(expense);
-                            } else {
-                                if (listener != null) listener.onError("Expense data incomplete");
-                            }
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error parsing expense", e);
-                            if (listener != null) listener.onError("Error parsing expense: " + e.getMessage());
+                        Expense expense = SharedDataStore.EXPENSES.parse(snapshot);
+                        if (expense != null) {
+                            if (listener != null) listener.onExpenseLoaded(expense);
+                        } else {
+                            if (listener != null) listener.onError("Expense data incomplete");
                         }
                     } else {
                         if (listener != null) listener.onExpenseNotFound();
@@ -305,8 +565,10 @@ public class ExpenseViewModel extends ViewModel {
     private void applySorting() {
         List<Expense> currentExpenses = expenses.getValue();
         if (currentExpenses != null && !currentExpenses.isEmpty()) {
-            sortStrategy.sort(currentExpenses);
-            expenses.setValue(currentExpenses);
+            // The published list may be the store's shared, unmodifiable rows
+            List<Expense> sorted = new ArrayList<>(currentExpenses);
+            sortStrategy.sort(sorted);
+            expenses.setValue(sorted);
         }
     }
 
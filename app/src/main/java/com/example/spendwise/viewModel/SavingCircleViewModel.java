@@ -1,5 +1,7 @@
 package com.example.spendwise.viewModel;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -7,24 +9,50 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.example.spendwise.model.CircleSnapshot;
+import com.example.spendwise.model.CircleSummary;
+import com.example.spendwise.model.CycleCalendar;
+import com.example.spendwise.model.CycleExpense;
 import com.example.spendwise.model.Firebase;
 import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.Money;
 import com.example.spendwise.model.SavingCircle;
 import com.example.spendwise.model.SavingCircleInvitation;
 import com.example.spendwise.model.SavingCircleMember;
+import com.example.spendwise.repository.CircleCycles;
+import com.example.spendwise.repository.CircleDirectory;
+import com.example.spendwise.repository.CircleMetadataCache;
+import com.example.spendwise.repository.CircleSummaries;
+import com.example.spendwise.repository.CircleWrite;
+import com.example.spendwise.repository.CycleTimeline;
+import com.example.spendwise.repository.ListenerRegistry;
+import com.example.spendwise.repository.TaskPipeline;
+import com.google.android.gms.tasks.Task;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SavingCircleViewModel extends ViewModel {
     private static final String TAG = "SavingCircleViewModel";
@@ -35,9 +63,26 @@ public class SavingCircleViewModel extends ViewModel {
     private final MutableLiveData<List<SavingCircleInvitation>> invitations;
     private final FirebaseDatabase database;
     private DatabaseReference savingCirclesRef;
+    // List-card projections of this user's circles; the list reads only these
+    private DatabaseReference circleSummariesRef;
     private final DatabaseReference invitationsRootRef;
     private final FirebaseAuth auth;
-    private ValueEventListener invitationsListener;
+    // creatorUid/frequency per circle, so cycle operations skip the directory read
+    private final CircleMetadataCache circleMetadata = new CircleMetadataCache();
+    // Cycle histories kept current by getMemberCycleHistory listeners, keyed circleId/member
+    private final Map<String, CycleTimeline> cycleTimelines = new HashMap<>();
+    // Every value listener this ViewModel keeps attached; cleared in onCleared
+    private final ListenerRegistry listeners = new ListenerRegistry(TAG);
+    // circleId/member keys with a cycle write in flight from materializeMissingCycles
+    private final Set<String> materializing = ConcurrentHashMap.newKeySet();
+    // Snapshots are parsed and computed off the main thread
+    private static final Executor SNAPSHOT_EXECUTOR = Executors.newSingleThreadExecutor();
+    // Per-circle checks that the circle's cycles are in circleCycles; see circleMigrated
+    private final Map<String, CompletableFuture<Void>> circleMigrations = new ConcurrentHashMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean cleared;
+    // Multi-step invitation and expense operations; their callbacks stop in onCleared
+    private final TaskPipeline pipeline = new TaskPipeline(mainHandler::post);
 
     public SavingCircleViewModel() {
         savingCircles = new MutableLiveData<>(new ArrayList<>());
@@ -78,6 +123,13 @@ public class SavingCircleViewModel extends ViewModel {
             savingCirclesRef = database.getReference("users").child(uid)
                     .child("savingCircles");
             Log.d(TAG, "SavingCircles reference set for user: " + uid);
+            // Circles created before circleIndex existed need a directory entry
+            CircleDirectory.ensureBackfilled(database, uid);
+            circleSummariesRef = CircleSummaries.userRef(database, uid);
+            // Cycles embedded under members move to circleCycles once; summaries
+            // count cycles wherever they are, so neither waits for the other
+            CircleCycles.ensureMigrated(database, uid);
+            CircleSummaries.ensureBackfilled(database, uid);
         } else {
             Log.e(TAG, "No user logged in!");
             statusMessage.setValue("Please log in to manage saving circles");
@@ -91,11 +143,8 @@ public class SavingCircleViewModel extends ViewModel {
 
         String sanitizedEmail = sanitizeEmail(email);
 
-        if (invitationsListener != null) {
-            invitationsRootRef.child(sanitizedEmail).removeEventListener(invitationsListener);
-        }
-
-        invitationsListener = new ValueEventListener() {
+        // Keyed by role, so a new email replaces the previous user's listener
+        listeners.listen("invitations", invitationsRootRef.child(sanitizedEmail), new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
                 List<SavingCircleInvitation> invitationList = new ArrayList<>();
@@ -113,9 +162,7 @@ public class SavingCircleViewModel extends ViewModel {
             public void onCancelled(@NonNull DatabaseError error) {
                 Log.e(TAG, "Error loading invitations: " + error.getMessage());
             }
-        };
-
-        invitationsRootRef.child(sanitizedEmail).addValueEventListener(invitationsListener);
+        });
     }
 
     public LiveData<List<SavingCircleInvitation>> getInvitations() {
@@ -152,7 +199,13 @@ public class SavingCircleViewModel extends ViewModel {
 
         Log.d(TAG, "Adding saving circle to Firebase: " + savingCircle);
 
-        newSavingCircleRef.setValue(savingCircle)
+        // Circle, its directory entry and the creator's summary are written atomically
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("users/" + creatorUid + "/savingCircles/" + firebaseId, savingCircle);
+        CircleDirectory.putEntry(updates, firebaseId, creatorUid, frequency);
+        CircleSummaries.putSummary(updates, creatorUid, firebaseId, new CircleSummary(savingCircle, 0, 0));
+
+        database.getReference().updateChildren(updates)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Saving circle added successfully: " + savingCircle);
 
@@ -184,8 +237,9 @@ public class SavingCircleViewModel extends ViewModel {
                 .setValue(member)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Member added to circle: " + memberEmail);
+                    CircleSummaries.applyProgress(database, circleId, 1, 0);
 
-                    initializeMemberCycleInPath(savingCirclesRef, circleId, memberEmail, joinTimestamp,
+                    initializeMemberCycleInPath(circleId, memberEmail, joinTimestamp,
                             frequency, personalAllocation);
                 })
                 .addOnFailureListener(e -> {
@@ -193,49 +247,6 @@ public class SavingCircleViewModel extends ViewModel {
                 });
     }
 
-    private void addMemberToCircleInCreatorPath(String creatorUid, String circleId, String memberEmail,
-                                                double personalAllocation, long joinTimestamp,
-                                                String frequency) {
-        DatabaseReference creatorCirclesRef = database.getReference("users").child(creatorUid)
-                .child("savingCircles");
-
-        SavingCircleMember member = new SavingCircleMember(memberEmail, personalAllocation, joinTimestamp);
-        String sanitizedEmail = sanitizeEmail(memberEmail);
-
-        creatorCirclesRef.child(circleId)
-                .child("members")
-                .child(sanitizedEmail)
-                .setValue(member)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Member added to circle in creator's path: " + memberEmail + " with personal allocation: $" + personalAllocation);
-
-                    initializeMemberCycleInPath(creatorCirclesRef, circleId, memberEmail, joinTimestamp,
-                            frequency, personalAllocation);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error adding member to circle in creator's path", e);
-                });
-    }
-
-    private void addCircleToInviteePath(String inviteeUid, SavingCircle circle) {
-        DatabaseReference inviteeCirclesRef = database.getReference("users").child(inviteeUid)
-                .child("savingCircles");
-
-        // Ensure creatorUid is set in the circle before saving to invitee's path
-        if (circle.getCreatorUid() == null || circle.getCreatorUid().isEmpty()) {
-            Log.w(TAG, "Circle missing creatorUid when adding to invitee path");
-        }
-
-        inviteeCirclesRef.child(circle.getId()).setValue(circle)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Circle added to invitee's path: " + circle.getId() + " for user: " + inviteeUid);
-                    // The ValueEventListener in loadSavingCirclesFromFirebase should automatically pick up this change
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error adding circle to invitee's path", e);
-                });
-    }
-
     public void sendInvitation(String circleId, String inviteeEmail, OnInvitationSentListener listener) {
         if (savingCirclesRef == null || invitationsRootRef == null) {
             if (listener != null) listener.onError("Database reference not initialized");
@@ -323,92 +334,100 @@ public class SavingCircleViewModel extends ViewModel {
         }
         String inviteeUid = currentUser.getUid();
 
-        // If creatorUid is not in the invitation (for backwards compatibility), search for it
-        if (creatorUid == null || creatorUid.isEmpty()) {
-            // Fallback: search for the circle
-            database.getReference("users").get()
-                    .addOnSuccessListener(usersSnapshot -> {
-                        String foundCreatorUid = null;
-                        for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                            if (userSnapshot.child("savingCircles").child(circleId).exists()) {
-                                foundCreatorUid = userSnapshot.getKey();
-                                break;
-                            }
-                        }
-                        if (foundCreatorUid != null) {
-                            proceedWithAcceptance(foundCreatorUid, circleId, inviteeEmail, inviteeUid,
-                                    allocation, responseTimestamp, frequency, invitation, listener);
-                        } else {
-                            if (listener != null) listener.onError("Circle not found");
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error finding circle", e);
-                        if (listener != null) listener.onError("Error accepting invitation: " + e.getMessage());
-                    });
-        } else {
-            // Use the creatorUid from the invitation
-            proceedWithAcceptance(creatorUid, circleId, inviteeEmail, inviteeUid,
-                    allocation, responseTimestamp, frequency, invitation, listener);
-        }
-    }
-
-    private void proceedWithAcceptance(String creatorUid, String circleId, String inviteeEmail,
-                                       String inviteeUid, double allocation, long responseTimestamp,
-                                       String frequency, SavingCircleInvitation invitation,
-                                       OnInvitationActionListener listener) {
-        // Fetch the circle from the creator's path
-        DatabaseReference creatorCirclesRef = database.getReference("users").child(creatorUid)
-                .child("savingCircles");
-
-        creatorCirclesRef.child(circleId).get()
-                .addOnSuccessListener(snapshot -> {
-                    if (!snapshot.exists()) {
-                        Log.e(TAG, "Circle not found in creator's path: " + circleId);
-                        if (listener != null) listener.onError("Circle not found");
-                        return;
-                    }
-
-                    try {
-                        String id = snapshot.getKey();
-                        String groupName = snapshot.child("groupName").getValue(String.class);
-                        String creatorEmail = snapshot.child("creatorEmail").getValue(String.class);
-                        String challengeTitle = snapshot.child("challengeTitle").getValue(String.class);
-                        Double goalAmount = snapshot.child("goalAmount").getValue(Double.class);
-                        String freq = snapshot.child("frequency").getValue(String.class);
-                        String notes = snapshot.child("notes").getValue(String.class);
-                        Long createdAt = snapshot.child("createdAt").getValue(Long.class);
-
-                        if (groupName == null || creatorEmail == null || challengeTitle == null || goalAmount == null) {
-                            if (listener != null) listener.onError("Circle data incomplete");
-                            return;
-                        }
+        // Older invitations carry no creatorUid; look it up in the directory first
+        CompletableFuture<String> creator = creatorUid != null && !creatorUid.isEmpty()
+                ? CompletableFuture.completedFuture(creatorUid)
+                : pipeline.stage("creator lookup", () -> {
+                    CompletableFuture<String> found = new CompletableFuture<>();
+                    CircleDirectory.lookup(database, circleId,
+                            (foundCreatorUid, indexedFrequency) -> found.complete(foundCreatorUid));
+                    return found;
+                });
 
-                        SavingCircle circle = new SavingCircle(groupName, creatorEmail, challengeTitle,
-                                goalAmount, freq != null ? freq : "Monthly",
-                                notes != null ? notes : "",
-                                createdAt != null ? createdAt : System.currentTimeMillis());
-                        circle.setId(id);
-                        circle.setCreatorUid(creatorUid); // Store creator UID in the circle
+        CompletableFuture<Void> accepted = creator.thenCompose(foundCreatorUid -> {
+            if (foundCreatorUid == null) {
+                throw new IllegalStateException("Circle not found");
+            }
+            return proceedWithAcceptance(foundCreatorUid, circleId, inviteeEmail, inviteeUid,
+                    allocation, responseTimestamp, frequency, invitation);
+        });
 
-                        // Step 1: Add member to the circle in the creator's path
-                        addMemberToCircleInCreatorPath(creatorUid, circleId, inviteeEmail, allocation,
-                                responseTimestamp, frequency);
+        pipeline.finish(accepted, (ignored, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error accepting invitation", error);
+            }
+            if (listener == null) {
+                return;
+            }
+            if (error == null) {
+                listener.onSuccess();
+            } else if (error instanceof IllegalStateException) {
+                listener.onError(error.getMessage());
+            } else {
+                listener.onError("Error accepting invitation: " + error.getMessage());
+            }
+        });
+    }
 
-                        // Step 2: Add the circle to the invitee's path so it shows in their list
-                        addCircleToInviteePath(inviteeUid, circle);
+    /**
+     * Reads the creator's circle, the creator's summary and the circle's
+     * viewers in parallel, then joins the circle in one multi-path update:
+     * the invitee's copy and summary, the member row and its first cycle,
+     * the other viewers' member counts and the invitation status.
+     */
+    private CompletableFuture<Void> proceedWithAcceptance(String creatorUid, String circleId,
+                                                          String inviteeEmail, String inviteeUid,
+                                                          double allocation, long responseTimestamp,
+                                                          String frequency,
+                                                          SavingCircleInvitation invitation) {
+        CompletableFuture<DataSnapshot> circleRead = pipeline.stage("circle read", () ->
+                future(database.getReference("users").child(creatorUid)
+                        .child("savingCircles").child(circleId).get()));
+        CompletableFuture<DataSnapshot> summaryRead = pipeline.stage("summary read", () ->
+                future(CircleSummaries.userRef(database, creatorUid).child(circleId).get()));
+        CompletableFuture<DataSnapshot> viewersRead = pipeline.stage("viewers read", () ->
+                future(CircleSummaries.viewersRef(database, circleId).get()));
+
+        return TaskPipeline.whenAll(circleRead, summaryRead, viewersRead).thenCompose(ignored -> {
+            DataSnapshot circleNode = circleRead.join();
+            if (!circleNode.exists()) {
+                throw new IllegalStateException("Circle not found");
+            }
+            SavingCircle circle = parseCircle(circleNode);
+            if (circle == null) {
+                throw new IllegalStateException("Circle data incomplete");
+            }
+            circle.setCreatorUid(creatorUid); // Store creator UID in the circle
+
+            // The invitee's summary starts from the creator's counters plus this member
+            CircleSummary source = summaryRead.join().getValue(CircleSummary.class);
+            CircleSummary summary = new CircleSummary(circle,
+                    (source != null ? source.getMemberCount() : 0) + 1,
+                    source != null ? source.getContributedCents() : 0);
+            List<String> otherViewers = new ArrayList<>();
+            for (DataSnapshot viewer : viewersRead.join().getChildren()) {
+                if (!inviteeUid.equals(viewer.getKey())) {
+                    otherViewers.add(viewer.getKey());
+                }
+            }
 
-                        // Step 3: Update invitation status
-                        updateInvitationStatus(invitation, "accepted", responseTimestamp, listener);
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing circle", e);
-                        if (listener != null) listener.onError("Error parsing circle data");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching circle from creator's path", e);
-                    if (listener != null) listener.onError("Error accepting invitation: " + e.getMessage());
-                });
+            String memberKey = sanitizeEmail(inviteeEmail);
+            MemberCycle firstCycle = firstCycleFor(responseTimestamp, frequency, allocation);
+            String invitationPath = "invitations/" + memberKey + "/" + invitation.getInvitationId();
+
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("users/" + inviteeUid + "/savingCircles/" + circleId, circle);
+            CircleSummaries.putSummary(updates, inviteeUid, circleId, summary);
+            updates.put("users/" + creatorUid + "/savingCircles/" + circleId + "/members/" + memberKey,
+                    new SavingCircleMember(inviteeEmail, allocation, responseTimestamp));
+            updates.put(CircleCycles.cyclePath(circleId, memberKey, firstCycle.getCycleId()), firstCycle);
+            CircleSummaries.putProgress(updates, otherViewers, circleId, 1, 0);
+            updates.put(invitationPath + "/status", "accepted");
+            updates.put(invitationPath + "/respondedAt", responseTimestamp);
+
+            return pipeline.write("acceptance write", () ->
+                    future(database.getReference().updateChildren(updates)));
+        }).thenRun(() -> Log.d(TAG, "Invitation accepted for " + inviteeEmail + " in circle " + circleId));
     }
 
     public void declineInvitation(SavingCircleInvitation invitation, OnInvitationActionListener listener) {
@@ -452,14 +471,27 @@ public class SavingCircleViewModel extends ViewModel {
                                       long joinDate, String frequency,
                                       double startAmount) {
         if (savingCirclesRef == null) return;
-        initializeMemberCycleInPath(savingCirclesRef, circleId, memberEmail, joinDate, frequency, startAmount);
+        initializeMemberCycleInPath(circleId, memberEmail, joinDate, frequency, startAmount);
     }
 
-    private void initializeMemberCycleInPath(DatabaseReference circlesRef, String circleId, String memberEmail,
+    private void initializeMemberCycleInPath(String circleId, String memberEmail,
                                              long joinDate, String frequency,
                                              double startAmount) {
-        if (circlesRef == null) return;
+        MemberCycle firstCycle = firstCycleFor(joinDate, frequency, startAmount);
+
+        cyclesRef(circleId, memberEmail)
+                .child(firstCycle.getCycleId())
+                .setValue(firstCycle)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Initial cycle created for member: " + memberEmail);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error creating initial cycle", e);
+                });
+    }
 
+    // The cycle a member starts in when joining at joinDate
+    private MemberCycle firstCycleFor(long joinDate, String frequency, double startAmount) {
         Calendar calendar = Calendar.getInstance();
         calendar.setTimeInMillis(joinDate);
         
@@ -493,67 +525,14 @@ public class SavingCircleViewModel extends ViewModel {
             cycleEndDate = calendar.getTimeInMillis();
         }
 
-        MemberCycle firstCycle = new MemberCycle(cycleStartDate, cycleEndDate, startAmount);
-
-        String sanitizedEmail = sanitizeEmail(memberEmail);
-
-        circlesRef.child(circleId)
-                .child("members")
-                .child(sanitizedEmail)
-                .child("cycles")
-                .child(firstCycle.getCycleId())
-                .setValue(firstCycle)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Initial cycle created for member: " + memberEmail);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error creating initial cycle", e);
-                });
+        return new MemberCycle(cycleStartDate, cycleEndDate, startAmount);
     }
 
     public void getCurrentCycle(String circleId, String memberEmail,
                                 OnCycleLoadedListener listener) {
         if (savingCirclesRef == null) return;
 
-        // Find the circle to get creator UID, then read from creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                listener.onError("Cannot find circle creator");
-                return;
-            }
-
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .get()
-                    .addOnSuccessListener(dataSnapshot -> {
-                        MemberCycle currentCycle = null;
-                        long currentTime = System.currentTimeMillis();
-
-                        for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
-                            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
-                            if (cycle != null && cycle.isDateInCycle(currentTime)) {
-                                currentCycle = cycle;
-                                break;
-                            }
-                        }
-
-                        if (currentCycle != null) {
-                            listener.onCycleLoaded(currentCycle);
-                        } else {
-                            listener.onCycleNotFound();
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error loading current cycle", e);
-                        listener.onError(e.getMessage());
-                    });
-        });
+        getCycleAtDate(circleId, memberEmail, System.currentTimeMillis(), listener);
     }
 
     public void checkAndCreateNextCycle(String circleId, String memberEmail, String frequency) {
@@ -581,56 +560,28 @@ public class SavingCircleViewModel extends ViewModel {
     }
 
     private void completeCycle(String circleId, String memberEmail, MemberCycle cycle) {
-        // Find creator UID and write to creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                Log.e(TAG, "Cannot find circle creator for completing cycle");
-                return;
-            }
+        cycle.setComplete(true);
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
-            cycle.setComplete(true);
-
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .child(cycle.getCycleId())
-                    .setValue(cycle)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Cycle completed: " + cycle.getCycleId());
-                    });
-        });
+        cyclesRef(circleId, memberEmail)
+                .child(cycle.getCycleId())
+                .setValue(cycle)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Cycle completed: " + cycle.getCycleId());
+                    // A completed cycle's leftover counts toward the shared goal
+                    CircleSummaries.applyProgress(database, circleId, 0, cycle.getEndCents());
+                });
     }
 
     private void createNextCycle(String circleId, String memberEmail,
                                  MemberCycle previousCycle, String frequency) {
-        // Find creator UID and write to creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                Log.e(TAG, "Cannot find circle creator for creating next cycle");
-                return;
-            }
+        MemberCycle nextCycle = MemberCycle.createNextCycle(previousCycle, frequency);
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
-            MemberCycle nextCycle = MemberCycle.createNextCycle(previousCycle, frequency);
-
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .child(nextCycle.getCycleId())
-                    .setValue(nextCycle)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Next cycle created: " + nextCycle.getCycleId());
-                    });
-        });
+        cyclesRef(circleId, memberEmail)
+                .child(nextCycle.getCycleId())
+                .setValue(nextCycle)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Next cycle created: " + nextCycle.getCycleId());
+                });
     }
 
     public void recordExpenseInCycle(String circleId, String memberEmail, double amount) {
@@ -640,63 +591,7 @@ public class SavingCircleViewModel extends ViewModel {
 
     // Record expense in cycle for a specific date (respects Dashboard date selector)
     public void recordExpenseInCycleAtDate(String circleId, String memberEmail, double amount, long expenseDate) {
-        getCycleAtDate(circleId, memberEmail, expenseDate, new OnCycleLoadedListener() {
-            @Override
-            public void onCycleLoaded(MemberCycle cycle) {
-                double oldEndAmount = cycle.getEndAmount();
-                cycle.recordExpense(amount);
-                double newEndAmount = cycle.getEndAmount();
-
-                // Find creator UID and write to creator's path
-                getCircleCreatorUid(circleId, creatorUid -> {
-                    if (creatorUid == null) {
-                        Log.e(TAG, "Cannot find circle creator for recording expense");
-                        return;
-                    }
-
-                    DatabaseReference circlesRef = database.getReference("users")
-                            .child(creatorUid).child("savingCircles");
-                    String sanitizedEmail = sanitizeEmail(memberEmail);
-
-                    circlesRef.child(circleId)
-                            .child("members")
-                            .child(sanitizedEmail)
-                            .child("cycles")
-                            .child(cycle.getCycleId())
-                            .setValue(cycle)
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Expense recorded in cycle: " + cycle.getCycleId() + " for date: " + new java.util.Date(expenseDate));
-                                
-                                // Sync currentAmount with the cycle's endAmount if this is the current cycle
-                                // Check if this cycle contains the current date
-                                long currentTime = System.currentTimeMillis();
-                                if (cycle.isDateInCycle(currentTime)) {
-                                    circlesRef.child(circleId)
-                                            .child("members")
-                                            .child(sanitizedEmail)
-                                            .child("currentAmount")
-                                            .setValue(newEndAmount)
-                                            .addOnSuccessListener(aVoid2 -> {
-                                                Log.d(TAG, "Synced currentAmount with cycle endAmount: " + newEndAmount);
-                                            });
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error recording expense in cycle", e);
-                            });
-                });
-            }
-
-            @Override
-            public void onCycleNotFound() {
-                Log.e(TAG, "Cannot record expense - no cycle found for date: " + new java.util.Date(expenseDate));
-            }
-
-            @Override
-            public void onError(String message) {
-                Log.e(TAG, "Error recording expense: " + message);
-            }
-        });
+        applyExpenseAtDate(circleId, memberEmail, amount, true, expenseDate);
     }
 
     public void restoreExpenseInCycle(String circleId, String memberEmail, double amount) {
@@ -706,59 +601,181 @@ public class SavingCircleViewModel extends ViewModel {
 
     // Restore expense in cycle for a specific date
     public void restoreExpenseInCycleAtDate(String circleId, String memberEmail, double amount, long expenseDate) {
-        getCycleAtDate(circleId, memberEmail, expenseDate, new OnCycleLoadedListener() {
-            @Override
-            public void onCycleLoaded(MemberCycle cycle) {
-                double oldEndAmount = cycle.getEndAmount();
-                cycle.restoreExpense(amount);
-                double newEndAmount = cycle.getEndAmount();
-
-                // Find creator UID and write to creator's path
-                getCircleCreatorUid(circleId, creatorUid -> {
-                    if (creatorUid == null) {
-                        Log.e(TAG, "Cannot find circle creator for restoring expense");
-                        return;
-                    }
-
-                    DatabaseReference circlesRef = database.getReference("users")
-                            .child(creatorUid).child("savingCircles");
-                    String sanitizedEmail = sanitizeEmail(memberEmail);
+        applyExpenseAtDate(circleId, memberEmail, amount, false, expenseDate);
+    }
 
-                    circlesRef.child(circleId)
-                            .child("members")
-                            .child(sanitizedEmail)
-                            .child("cycles")
-                            .child(cycle.getCycleId())
-                            .setValue(cycle)
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Expense restored in cycle: " + cycle.getCycleId());
-                                
-                                // Sync currentAmount if this is the current cycle
-                                long currentTime = System.currentTimeMillis();
-                                if (cycle.isDateInCycle(currentTime)) {
-                                    circlesRef.child(circleId)
-                                            .child("members")
-                                            .child(sanitizedEmail)
-                                            .child("currentAmount")
-                                            .setValue(newEndAmount)
-                                            .addOnSuccessListener(aVoid2 -> {
-                                                Log.d(TAG, "Synced currentAmount after restore: " + newEndAmount);
-                                            });
-                                }
-                            });
+    private void applyExpenseAtDate(String circleId, String memberEmail, double amount,
+                                    boolean record, long expenseDate) {
+        CompletableFuture<Void> applied = prepareCycleExpense(circleId, memberEmail, amount, record, expenseDate)
+                .thenCompose(circleWrite -> {
+                    CompletableFuture<Void> written = circleWrite.getUpdates().isEmpty()
+                            ? CompletableFuture.completedFuture(null)
+                            : pipeline.write("expense write", () ->
+                                    future(database.getReference().updateChildren(circleWrite.getUpdates())));
+                    return written.thenCompose(ignored -> circleWrite.afterWrite());
                 });
+
+        pipeline.finish(applied, (ignored, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error " + (record ? "recording" : "restoring") + " expense: " + error.getMessage());
+            } else {
+                Log.d(TAG, "Expense " + (record ? "recorded in" : "restored to") + " cycle of " + memberEmail);
             }
+        });
+    }
+
+    /**
+     * What moving an expense into (record) or out of (restore) the member's
+     * cycle for expenseDate writes. The cycle and the circle's creator are
+     * looked up in parallel.
+     *
+     * A change that can be a server increment (see CycleExpense) comes back
+     * as root-relative updates: the cycle's balance and spent, the member's
+     * currentAmount when that cycle is the current one and, for a completed
+     * cycle, every viewer's contributed total. Callers add their own paths
+     * (e.g. the expense itself) and write everything in one updateChildren,
+     * so the circle changes land together with them or not at all.
+     *
+     * Any other change (clamped, inside an idle run, or on a record without
+     * cents) is redone in a transaction on the member's cycles by
+     * CircleWrite.afterWrite, once the caller's update has landed, so a
+     * concurrent increment is never overwritten by a record built from a
+     * stale read.
+     */
+    public CompletableFuture<CircleWrite> prepareCycleExpense(String circleId, String memberEmail,
+                                                              double amount, boolean record,
+                                                              long expenseDate) {
+        CompletableFuture<MemberCycle> cycleLookup = pipeline.stage("cycle lookup", () ->
+                cycleAtDateFuture(circleId, memberEmail, expenseDate));
+        CompletableFuture<String> creatorLookup = pipeline.stage("creator lookup", () ->
+                creatorUidFuture(circleId));
+        // Backfills currentCents on legacy member rows before they are incremented
+        CompletableFuture<Void> migration = circleMigrated(circleId);
+
+        return TaskPipeline.whenAll(cycleLookup, creatorLookup, migration).thenCompose(ignored -> {
+            if (cycleLookup.join() == null) {
+                throw new IllegalStateException("no cycle found for date: " + new java.util.Date(expenseDate));
+            }
+            if (creatorLookup.join() == null) {
+                throw new IllegalStateException("cannot find circle creator");
+            }
+            String memberKey = sanitizeEmail(memberEmail);
+            String creatorUid = creatorLookup.join();
+            long cents = Money.toCents(amount);
+            CycleExpense change = CycleExpense.plan(cycleLookup.join(), cents, record, expenseDate);
+            if (!change.isIncrement()) {
+                return CompletableFuture.completedFuture(new CircleWrite(new HashMap<>(),
+                        () -> rewriteCycleExpense(circleId, memberKey, creatorUid, cents,
+                                record, expenseDate)));
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            String cyclePath = CircleCycles.cyclePath(circleId, memberKey,
+                    change.getCycle().getCycleId()) + "/";
+            updates.put(cyclePath + "endCents", ServerValue.increment(change.getBalanceDelta()));
+            updates.put(cyclePath + "endAmount", ServerValue.increment(Money.toAmount(change.getBalanceDelta())));
+            updates.put(cyclePath + "spentCents", ServerValue.increment(change.getSpentDelta()));
+            updates.put(cyclePath + "spent", ServerValue.increment(Money.toAmount(change.getSpentDelta())));
+            return putCircleTotals(updates, circleId, memberKey, creatorUid, change)
+                    .thenApply(CircleWrite::new);
+        });
+    }
 
+    /**
+     * Applies a cycle change in a transaction on circleCycles/{circleId}/{member},
+     * planned with CycleExpense.rewrite from the records as they are at commit
+     * time, then writes the member and viewer totals the committed change
+     * moved.
+     */
+    private CompletableFuture<Void> rewriteCycleExpense(String circleId, String memberKey,
+                                                        String creatorUid, long cents,
+                                                        boolean record, long expenseDate) {
+        CompletableFuture<CycleExpense> committed = new CompletableFuture<>();
+        AtomicReference<CycleExpense> planned = new AtomicReference<>();
+        CircleCycles.memberRef(database, circleId, memberKey).runTransaction(new Transaction.Handler() {
+            @NonNull
             @Override
-            public void onCycleNotFound() {
-                Log.w(TAG, "Cannot restore expense - no cycle found for date: " + new java.util.Date(expenseDate));
+            public Transaction.Result doTransaction(@NonNull MutableData cycles) {
+                planned.set(null);
+                MemberCycle covering = null;
+                for (MutableData child : cycles.getChildren()) {
+                    MemberCycle cycle = child.getValue(MemberCycle.class);
+                    if (cycle != null && cycle.isDateInCycle(expenseDate)) {
+                        covering = cycle;
+                        break;
+                    }
+                }
+                // Also reached on a first run against an empty local cache;
+                // committing the unchanged data lets the server's copy decide
+                if (covering == null) {
+                    return Transaction.success(cycles);
+                }
+                CycleExpense change = CycleExpense.rewrite(covering, cents, record, expenseDate);
+                if (change.getRemovedRunId() != null) {
+                    cycles.child(change.getRemovedRunId()).setValue(null);
+                }
+                for (MemberCycle written : change.getRecords()) {
+                    cycles.child(written.getCycleId()).setValue(written);
+                }
+                planned.set(change);
+                return Transaction.success(cycles);
             }
 
             @Override
-            public void onError(String message) {
-                Log.e(TAG, "Error restoring expense: " + message);
+            public void onComplete(DatabaseError error, boolean wasCommitted, DataSnapshot snapshot) {
+                if (error != null) {
+                    committed.completeExceptionally(error.toException());
+                } else if (!wasCommitted || planned.get() == null) {
+                    committed.completeExceptionally(new IllegalStateException(
+                            "no cycle found for date: " + new java.util.Date(expenseDate)));
+                } else {
+                    committed.complete(planned.get());
+                }
             }
         });
+
+        return committed.thenCompose(change ->
+                putCircleTotals(new HashMap<>(), circleId, memberKey, creatorUid, change))
+                .thenCompose(totals -> totals.isEmpty()
+                        ? CompletableFuture.completedFuture(null)
+                        : pipeline.write("circle totals write", () ->
+                                future(database.getReference().updateChildren(totals))));
+    }
+
+    /**
+     * Adds the member's currentAmount, when the change hit the cycle
+     * containing today, and every viewer's contributed total, for a completed
+     * cycle, to a root-relative update. The member row already has
+     * currentCents: prepareCycleExpense waits for circleMigrated, which
+     * backfills it.
+     */
+    private CompletableFuture<Map<String, Object>> putCircleTotals(Map<String, Object> updates,
+                                                                  String circleId, String memberKey,
+                                                                  String creatorUid, CycleExpense change) {
+        // Only the cycle containing today mirrors its balance into currentAmount
+        if (change.getBalanceDelta() != 0 && change.getCycle().isDateInCycle(System.currentTimeMillis())) {
+            String memberPath = "users/" + creatorUid + "/savingCircles/" + circleId
+                    + "/members/" + memberKey + "/";
+            updates.put(memberPath + "currentCents", ServerValue.increment(change.getBalanceDelta()));
+            updates.put(memberPath + "currentAmount",
+                    ServerValue.increment(Money.toAmount(change.getBalanceDelta())));
+        }
+
+        // Backdated expenses change what a completed cycle contributed
+        long contributedDelta = change.getContributedDelta();
+        if (contributedDelta == 0) {
+            return CompletableFuture.completedFuture(updates);
+        }
+        return pipeline.stage("viewers read", () ->
+                future(CircleSummaries.viewersRef(database, circleId).get()))
+                .thenApply(viewers -> {
+                    List<String> viewerUids = new ArrayList<>();
+                    for (DataSnapshot viewer : viewers.getChildren()) {
+                        viewerUids.add(viewer.getKey());
+                    }
+                    CircleSummaries.putProgress(updates, viewerUids, circleId, 0, contributedDelta);
+                    return updates;
+                });
     }
 
     public LiveData<List<MemberCycle>> getMemberCycleHistory(String circleId, String memberEmail) {
@@ -766,43 +783,35 @@ public class SavingCircleViewModel extends ViewModel {
 
         if (savingCirclesRef == null) return cycles;
 
-        // Find the circle to get creator UID, then read from creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                Log.e(TAG, "Cannot find circle creator for cycle history");
-                return;
-            }
-
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .addValueEventListener(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                            List<MemberCycle> cycleList = new ArrayList<>();
+        // An unmigrated circle's cycles arrive through this listener once moved
+        circleMigrated(circleId).exceptionally(error -> {
+            Log.e(TAG, "Error moving cycles of circle " + circleId, TaskPipeline.unwrap(error));
+            return null;
+        });
+        listeners.listen(cyclesRef(circleId, memberEmail), new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                List<MemberCycle> cycleList = new ArrayList<>();
 
-                            for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
-                                MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
-                                if (cycle != null) {
-                                    cycleList.add(cycle);
-                                }
-                            }
+                for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
+                    MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
+                    if (cycle != null) {
+                        cycleList.add(cycle);
+                    }
+                }
 
-                            cycleList.sort((c1, c2) -> Long.compare(c2.getStartDate(), c1.getStartDate()));
+                // The timeline keeps idle runs compact; readers get them expanded
+                timelineFor(circleId, memberEmail).replaceAll(cycleList);
+                List<MemberCycle> expanded = MemberCycle.expandIdleRuns(cycleList);
+                expanded.sort((c1, c2) -> Long.compare(c2.getStartDate(), c1.getStartDate()));
 
-                            cycles.setValue(cycleList);
-                        }
+                cycles.setValue(expanded);
+            }
 
-                        @Override
-                        public void onCancelled(@NonNull DatabaseError error) {
-                            Log.e(TAG, "Error loading cycle history: " + error.getMessage());
-                        }
-                    });
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Error loading cycle history: " + error.getMessage());
+            }
         });
 
         return cycles;
@@ -867,8 +876,7 @@ public class SavingCircleViewModel extends ViewModel {
             circlesRef.child(circleId)
                     .child("members")
                     .child(sanitizedEmail)
-                    .child("currentAmount")
-                    .setValue(newAmount)
+                    .updateChildren(currentAmountFields(Money.toCents(newAmount)))
                     .addOnSuccessListener(aVoid -> {
                         Log.d(TAG, "Member current amount updated");
                         statusMessage.setValue("Amount updated!");
@@ -879,6 +887,14 @@ public class SavingCircleViewModel extends ViewModel {
         });
     }
 
+    // currentAmount and currentCents must always be written together
+    private Map<String, Object> currentAmountFields(long cents) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("currentAmount", Money.toAmount(cents));
+        fields.put("currentCents", cents);
+        return fields;
+    }
+
     public LiveData<String> getStatusMessage() {
         return statusMessage;
     }
@@ -894,10 +910,12 @@ public class SavingCircleViewModel extends ViewModel {
         SavingCircle savingCircle = new SavingCircle(groupName, creatorEmail, challengeTitle,
                 goalAmount, frequency, notes, createdAtTimestamp);
         savingCircle.setId(id);
+        savingCircle.setCreatorUid(findLoadedCreatorUid(id));
 
         savingCirclesRef.child(id).setValue(savingCircle)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Saving circle updated successfully");
+                    CircleSummaries.applyCardFields(database, savingCircle);
                     statusMessage.setValue("Saving circle updated!");
                 })
                 .addOnFailureListener(e -> {
@@ -907,59 +925,34 @@ public class SavingCircleViewModel extends ViewModel {
     }
 
     private void loadSavingCirclesFromFirebase() {
-        if (savingCirclesRef == null) {
-            Log.e(TAG, "savingCirclesRef is null! Cannot load saving circles.");
+        if (circleSummariesRef == null) {
+            Log.e(TAG, "circleSummariesRef is null! Cannot load saving circles.");
             return;
         }
 
-        savingCirclesRef.addValueEventListener(new ValueEventListener() {
+        // Summaries carry only list-card fields, so this payload grows with the
+        // number of circles, not with their members and cycles
+        listeners.listen(circleSummariesRef, new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
                 List<SavingCircle> savingCircleList = new ArrayList<>();
 
-                for (DataSnapshot savingCircleSnapshot : snapshot.getChildren()) {
+                for (DataSnapshot summarySnapshot : snapshot.getChildren()) {
                     try {
-                        String id = savingCircleSnapshot.getKey();
-                        String groupName = savingCircleSnapshot.child("groupName")
-                                .getValue(String.class);
-                        String creatorEmail = savingCircleSnapshot.child("creatorEmail")
-                                .getValue(String.class);
-                        String challengeTitle = savingCircleSnapshot.child("challengeTitle")
-                                .getValue(String.class);
-                        Double goalAmount = savingCircleSnapshot.child("goalAmount")
-                                .getValue(Double.class);
-                        String frequency = savingCircleSnapshot.child("frequency")
-                                .getValue(String.class);
-                        String notes = savingCircleSnapshot.child("notes")
-                                .getValue(String.class);
-                        Long createdAt = savingCircleSnapshot.child("createdAt")
-                                .getValue(Long.class);
-
-                        if (groupName != null && creatorEmail != null && challengeTitle != null
-                                && goalAmount != null && frequency != null) {
-                            SavingCircle savingCircle = new SavingCircle(
-                                    groupName,
-                                    creatorEmail,
-                                    challengeTitle,
-                                    goalAmount,
-                                    frequency,
-                                    notes != null ? notes : "",
-                                    createdAt != null ? createdAt : System.currentTimeMillis()
-                            );
-                            savingCircle.setId(id);
-                            // Set creatorUid - if not stored, assume current user is creator (backwards compatibility)
-                            String creatorUid = savingCircleSnapshot.child("creatorUid").getValue(String.class);
-                            if (creatorUid == null || creatorUid.isEmpty()) {
-                                FirebaseUser currentUser = auth.getCurrentUser();
-                                creatorUid = currentUser != null ? currentUser.getUid() : null;
-                            }
-                            if (creatorUid != null) {
-                                savingCircle.setCreatorUid(creatorUid);
-                            }
-                            savingCircleList.add(savingCircle);
+                        CircleSummary summary = summarySnapshot.getValue(CircleSummary.class);
+                        if (summary == null || summary.getGroupName() == null
+                                || summary.getCreatorEmail() == null
+                                || summary.getChallengeTitle() == null) {
+                            continue;
                         }
+                        String id = summarySnapshot.getKey();
+                        SavingCircle savingCircle = summary.toSavingCircle(id);
+                        if (summary.getCreatorUid() != null) {
+                            circleMetadata.put(id, summary.getCreatorUid(), savingCircle.getFrequency());
+                        }
+                        savingCircleList.add(savingCircle);
                     } catch (Exception e) {
-                        Log.e(TAG, "Error parsing saving circle", e);
+                        Log.e(TAG, "Error parsing saving circle summary", e);
                     }
                 }
 
@@ -983,15 +976,33 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
-        savingCirclesRef.child(id).removeValue()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Saving circle deleted successfully");
-                    statusMessage.setValue("Saving circle deleted!");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error deleting saving circle", e);
-                    statusMessage.setValue("Error: " + e.getMessage());
-                });
+        String uid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
+        // Resolve the creator from the directory (or the legacy copy), not from
+        // the loaded list, which misses circles that have not loaded yet
+        getCircleCreatorUid(id, creatorUid -> {
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("users/" + uid + "/savingCircles/" + id, null);
+            // Only the creator owns the directory entry; invitees just drop their copy
+            if (uid != null && uid.equals(creatorUid)) {
+                updates.put(CircleDirectory.NODE + "/" + id, null);
+                updates.put(CircleCycles.NODE + "/" + id, null);
+                updates.put(CircleSummaries.NODE + "/" + uid + "/" + id, null);
+            } else {
+                CircleSummaries.removeSummary(updates, uid, id);
+            }
+
+            circleMetadata.invalidate(id);
+            cycleTimelines.keySet().removeIf(key -> key.startsWith(id + "/"));
+            database.getReference().updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d(TAG, "Saving circle deleted successfully");
+                        statusMessage.setValue("Saving circle deleted!");
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error deleting saving circle", e);
+                        statusMessage.setValue("Error: " + e.getMessage());
+                    });
+        });
     }
 
     public void getCycleAtDate(String circleId, String memberEmail, long targetDate,
@@ -1002,100 +1013,205 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
-        // Find the circle to get creator UID, then read from creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                listener.onError("Cannot find circle creator");
+        // A history listener already holds this member's cycles: floor lookup, no read
+        CycleTimeline cached = cycleTimelines.get(timelineKey(circleId, memberEmail));
+        if (cached != null && !cached.isEmpty()) {
+            MemberCycle cycle = cached.cycleAt(targetDate);
+            if (cycle != null) {
+                listener.onCycleLoaded(cycle);
                 return;
             }
+        }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
+        circleMigrated(circleId).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = TaskPipeline.unwrap(error);
+                Log.e(TAG, "Error moving cycles of circle " + circleId, cause);
+                listener.onError(cause.getMessage());
+                return;
+            }
+            queryCycleAtDate(circleId, memberEmail, targetDate, listener);
+        });
+    }
 
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .get()
-                    .addOnSuccessListener(dataSnapshot -> {
-                        MemberCycle targetCycle = null;
-
-                        Log.d(TAG, "Searching for cycle at date: " + new java.util.Date(targetDate)
-                                + " for member: " + memberEmail);
-
-                        for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
-                            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
-                            if (cycle != null) {
-                                Log.d(TAG, "Checking cycle: " + cycle.getCycleId()
-                                        + " [" + new java.util.Date(cycle.getStartDate())
-                                        + " to " + new java.util.Date(cycle.getEndDate()) + "]");
-
-                                if (cycle.isDateInCycle(targetDate)) {
-                                    targetCycle = cycle;
-                                    Log.d(TAG, "Found matching cycle: " + cycle.getCycleId());
-                                    break;
-                                }
-                            }
-                        }
+    private void queryCycleAtDate(String circleId, String memberEmail, long targetDate,
+                                  OnCycleLoadedListener listener) {
+        // Latest cycles starting at or before the date; cycles do not overlap,
+        // so the covering one is among them. Two results cover a cycle that
+        // starts later on the same day (requires .indexOn startDate).
+        Query query = cyclesRef(circleId, memberEmail)
+                .orderByChild("startDate")
+                .endAt(targetDate)
+                .limitToLast(2);
+        query.get()
+                .addOnSuccessListener(dataSnapshot -> {
+                    CycleTimeline candidates = new CycleTimeline();
+                    for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
+                        candidates.put(cycleSnapshot.getValue(MemberCycle.class));
+                    }
+
+                    MemberCycle targetCycle = candidates.cycleAt(targetDate);
+                    if (targetCycle != null) {
+                        listener.onCycleLoaded(targetCycle);
+                    } else {
+                        Log.w(TAG, "No cycle found for date: " + new java.util.Date(targetDate));
+                        listener.onCycleNotFound();
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error loading cycle at date", e);
+                    listener.onError(e.getMessage());
+                });
+    }
+
+    // Cycles live outside the circle node, so no creator lookup is needed to reach them
+    private DatabaseReference cyclesRef(String circleId, String memberEmail) {
+        return CircleCycles.memberRef(database, circleId, sanitizeEmail(memberEmail));
+    }
+
+    private CycleTimeline timelineFor(String circleId, String memberEmail) {
+        String key = timelineKey(circleId, memberEmail);
+        CycleTimeline timeline = cycleTimelines.get(key);
+        if (timeline == null) {
+            timeline = new CycleTimeline();
+            cycleTimelines.put(key, timeline);
+        }
+        return timeline;
+    }
+
+    private String timelineKey(String circleId, String memberEmail) {
+        return circleId + "/" + sanitizeEmail(memberEmail);
+    }
+
+    private void getCircleCreatorUid(String circleId, CreatorUidCallback callback) {
+        CircleMetadataCache.Entry cached = circleMetadata.get(circleId);
+        if (cached != null) {
+            callback.onUidFound(cached.getCreatorUid());
+            return;
+        }
 
-                        if (targetCycle != null) {
-                            listener.onCycleLoaded(targetCycle);
-                        } else {
-                            Log.w(TAG, "No cycle found for date: " + new java.util.Date(targetDate));
-                            listener.onCycleNotFound();
+        // One keyed read of the directory entry
+        CircleDirectory.lookup(database, circleId, (creatorUid, frequency) -> {
+            if (creatorUid != null) {
+                circleMetadata.put(circleId, creatorUid, frequency);
+                callback.onUidFound(creatorUid);
+                return;
+            }
+            // Not indexed yet (creator has not run the backfill): use this user's copy
+            savingCirclesRef.child(circleId).child("creatorUid").get()
+                    .addOnSuccessListener(snapshot -> {
+                        String storedUid = snapshot.getValue(String.class);
+                        if (storedUid != null && !storedUid.isEmpty()) {
+                            callback.onUidFound(storedUid);
+                            return;
                         }
+                        // Backwards compatibility: a circle without creatorUid in our
+                        // own path was created by the current user
+                        savingCirclesRef.child(circleId).child("groupName").get()
+                                .addOnSuccessListener(groupName -> callback.onUidFound(
+                                        groupName.exists() && auth.getCurrentUser() != null
+                                                ? auth.getCurrentUser().getUid() : null))
+                                .addOnFailureListener(e -> callback.onUidFound(null));
                     })
                     .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error loading cycle at date", e);
-                        listener.onError(e.getMessage());
+                        Log.e(TAG, "Error loading circle", e);
+                        callback.onUidFound(null);
                     });
         });
     }
 
-    private void getCircleCreatorUid(String circleId, CreatorUidCallback callback) {
-        // First try current user's path
-        savingCirclesRef.child(circleId).get()
-                .addOnSuccessListener(snapshot -> {
-                    if (snapshot.exists()) {
-                        String creatorUid = snapshot.child("creatorUid").getValue(String.class);
-                        if (creatorUid != null && !creatorUid.isEmpty()) {
-                            callback.onUidFound(creatorUid);
-                        } else {
-                            // Backwards compatibility: assume current user is creator
-                            String uid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
-                            callback.onUidFound(uid);
-                        }
-                    } else {
-                        // Search in other users' paths
-                        database.getReference("users").get()
-                                .addOnSuccessListener(usersSnapshot -> {
-                                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                                        if (circleSnapshot.exists()) {
-                                            String creatorUid = circleSnapshot.child("creatorUid").getValue(String.class);
-                                            callback.onUidFound(creatorUid != null ? creatorUid : userSnapshot.getKey());
-                                            return;
-                                        }
-                                    }
-                                    callback.onUidFound(null);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error searching for circle creator", e);
-                                    callback.onUidFound(null);
-                                });
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading circle", e);
-                    callback.onUidFound(null);
-                });
+    public long getCircleCacheHitCount() {
+        return circleMetadata.getHitCount();
+    }
+
+    public long getCircleCacheMissCount() {
+        return circleMetadata.getMissCount();
+    }
+
+    // creatorUid of a circle already delivered by the list listener, if any
+    private String findLoadedCreatorUid(String circleId) {
+        List<SavingCircle> loaded = savingCircles.getValue();
+        if (loaded != null) {
+            for (SavingCircle circle : loaded) {
+                if (circleId.equals(circle.getId())) {
+                    return circle.getCreatorUid();
+                }
+            }
+        }
+        return null;
     }
 
     private interface CreatorUidCallback {
         void onUidFound(String creatorUid);
     }
 
+    /**
+     * Completes once circleCycles/{circleId} holds the circle's cycles,
+     * moving them out of the creator's member nodes first if nobody has yet
+     * (see CircleCycles.migrateCircle). Until then an unmigrated circle looks
+     * like one without cycles, so cycles must not be read from or
+     * materialized into circleCycles before this completes. Checked once per
+     * circle; a failed attempt is retried by the next caller.
+     */
+    private CompletableFuture<Void> circleMigrated(String circleId, String creatorUid) {
+        CompletableFuture<Void> migration = circleMigrations.get(circleId);
+        if (migration == null || migration.isCompletedExceptionally()) {
+            migration = future(CircleCycles.migrateCircle(database, creatorUid, circleId));
+            circleMigrations.put(circleId, migration);
+        }
+        return migration;
+    }
+
+    private CompletableFuture<Void> circleMigrated(String circleId) {
+        CompletableFuture<Void> migration = circleMigrations.get(circleId);
+        if (migration != null && !migration.isCompletedExceptionally()) {
+            return migration;
+        }
+        return creatorUidFuture(circleId).thenCompose(creatorUid -> {
+            if (creatorUid == null) {
+                throw new IllegalStateException("cannot find circle creator");
+            }
+            return circleMigrated(circleId, creatorUid);
+        });
+    }
+
+    private CompletableFuture<String> creatorUidFuture(String circleId) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        getCircleCreatorUid(circleId, future::complete);
+        return future;
+    }
+
+    // Completes with null when no cycle covers the date
+    private CompletableFuture<MemberCycle> cycleAtDateFuture(String circleId, String memberEmail,
+                                                             long targetDate) {
+        CompletableFuture<MemberCycle> future = new CompletableFuture<>();
+        getCycleAtDate(circleId, memberEmail, targetDate, new OnCycleLoadedListener() {
+            @Override
+            public void onCycleLoaded(MemberCycle cycle) {
+                future.complete(cycle);
+            }
+
+            @Override
+            public void onCycleNotFound() {
+                future.complete(null);
+            }
+
+            @Override
+            public void onError(String message) {
+                future.completeExceptionally(new IllegalStateException(message));
+            }
+        });
+        return future;
+    }
+
+    // Bridges a Firebase Task into a pipeline stage
+    private static <T> CompletableFuture<T> future(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        task.addOnSuccessListener(future::complete)
+                .addOnFailureListener(future::completeExceptionally);
+        return future;
+    }
+
     public void createCycle(String circleId, String memberEmail, MemberCycle cycle,
                             OnCycleCreatedListener listener) {
         if (savingCirclesRef == null) {
@@ -1104,32 +1220,67 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
-        // Find the circle to get creator UID, then write to creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                if (listener != null) listener.onError("Cannot find circle creator");
-                return;
-            }
+        cyclesRef(circleId, memberEmail)
+                .child(cycle.getCycleId())
+                .setValue(cycle)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Cycle created: " + cycle.getCycleId());
+                    if (listener != null) listener.onCycleCreated(cycle);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error creating cycle", e);
+                    if (listener != null) listener.onError(e.getMessage());
+                });
+    }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
+    /**
+     * Completes lastCycle if it has ended and writes every missing cycle up to
+     * the one covering targetDate in a single updateChildren call. The
+     * listener receives the covering cycle.
+     */
+    public void materializeCyclesUpTo(String circleId, String memberEmail, MemberCycle lastCycle,
+                                      String frequency, double allocation, long targetDate,
+                                      OnCycleCreatedListener listener) {
+        if (savingCirclesRef == null) {
+            if (listener != null) listener.onError("Database reference is null");
+            return;
+        }
 
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .child(cycle.getCycleId())
-                    .setValue(cycle)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Cycle created: " + cycle.getCycleId());
-                        if (listener != null) listener.onCycleCreated(cycle);
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error creating cycle", e);
-                        if (listener != null) listener.onError(e.getMessage());
-                    });
-        });
+        List<MemberCycle> missing = MemberCycle.createCyclesUpTo(lastCycle, frequency,
+                allocation, targetDate);
+        if (missing.isEmpty() && lastCycle.isComplete()) {
+            if (listener != null) listener.onCycleCreated(lastCycle);
+            return;
+        }
+
+        Map<String, Object> updates = new HashMap<>();
+        long contributed = 0;
+        if (!lastCycle.isComplete() && lastCycle.getEndDate() <= targetDate) {
+            lastCycle.setComplete(true);
+            updates.put(lastCycle.getCycleId() + "/complete", true);
+            contributed = lastCycle.getEndCents();
+        }
+        for (MemberCycle cycle : missing) {
+            updates.put(cycle.getCycleId(), cycle);
+        }
+        MemberCycle covering = missing.isEmpty() ? lastCycle : missing.get(missing.size() - 1);
+        long contributedCents = contributed;
+        if (updates.isEmpty()) {
+            if (listener != null) listener.onCycleCreated(covering);
+            return;
+        }
+
+        cyclesRef(circleId, memberEmail)
+                .updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Materialized " + missing.size() + " cycles for " + memberEmail);
+                    CircleSummaries.applyProgress(database, circleId, 0, contributedCents);
+                    if (listener != null) listener.onCycleCreated(covering);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error materializing cycles", e);
+                    if (listener != null) listener.onError(e.getMessage());
+                });
     }
 
     public interface OnCycleCreatedListener {
@@ -1165,42 +1316,42 @@ public class SavingCircleViewModel extends ViewModel {
     }
 
     private void findCircleById(String circleId, MutableLiveData<SavingCircle> circleLiveData) {
-        database.getReference("users").get()
-                .addOnSuccessListener(usersSnapshot -> {
-                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                        if (circleSnapshot.exists()) {
-                            parseAndSetCircle(circleSnapshot, circleLiveData);
-                            // Also set up a listener for real-time updates from the creator's path
-                            String creatorUid = userSnapshot.getKey();
-                            DatabaseReference creatorCirclesRef = database.getReference("users")
-                                    .child(creatorUid).child("savingCircles");
-                            creatorCirclesRef.child(circleId).addValueEventListener(new ValueEventListener() {
-                                @Override
-                                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                                    if (snapshot.exists()) {
-                                        parseAndSetCircle(snapshot, circleLiveData);
-                                    }
-                                }
-
-                                @Override
-                                public void onCancelled(@NonNull DatabaseError error) {
-                                    Log.e(TAG, "Error listening to circle updates: " + error.getMessage());
-                                }
-                            });
-                            return;
-                        }
+        CircleDirectory.lookup(database, circleId, (creatorUid, frequency) -> {
+            if (creatorUid == null) {
+                Log.w(TAG, "No SavingCircle found for ID: " + circleId);
+                circleLiveData.setValue(null);
+                return;
+            }
+            // Listen on the creator's path; the first event delivers the current state
+            DatabaseReference creatorCirclesRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles");
+            listeners.listen(creatorCirclesRef.child(circleId), new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    if (snapshot.exists()) {
+                        parseAndSetCircle(snapshot, circleLiveData);
+                    } else {
+                        circleLiveData.setValue(null);
                     }
-                    Log.w(TAG, "No SavingCircle found for ID: " + circleId);
-                    circleLiveData.setValue(null);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching for circle: " + e.getMessage());
-                    circleLiveData.setValue(null);
-                });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    Log.e(TAG, "Error listening to circle updates: " + error.getMessage());
+                }
+            });
+        });
     }
 
     private void parseAndSetCircle(DataSnapshot snapshot, MutableLiveData<SavingCircle> circleLiveData) {
+        SavingCircle savingCircle = parseCircle(snapshot);
+        if (savingCircle != null) {
+            circleLiveData.setValue(savingCircle);
+        }
+    }
+
+    // Circle header from a circle node; null when required fields are missing
+    private SavingCircle parseCircle(DataSnapshot snapshot) {
         try {
             String id = snapshot.getKey();
             String groupName = snapshot.child("groupName").getValue(String.class);
@@ -1226,11 +1377,231 @@ public class SavingCircleViewModel extends ViewModel {
                 if (creatorUid != null) {
                     savingCircle.setCreatorUid(creatorUid);
                 }
-                circleLiveData.setValue(savingCircle);
+                return savingCircle;
             }
         } catch (Exception e) {
             Log.e(TAG, "Error parsing circle by ID", e);
         }
+        return null;
+    }
+
+    /**
+     * Live CircleSnapshot of a circle for the selected date. The circle node
+     * (header and members) and circleCycles/{circleId} (every member's
+     * cycles) are each read by one listener; whenever either changes, the
+     * snapshot is recomputed on a worker thread and posted as one value.
+     * Members whose cycles stop short of the selected date get them
+     * materialized, which triggers the next snapshot, but only once the
+     * circle's cycles are known to be in circleCycles (see circleMigrated);
+     * until then the cycles still embedded under members are shown.
+     */
+    public LiveData<CircleSnapshot> getCircleSnapshot(String circleId, long selectedDate) {
+        MutableLiveData<CircleSnapshot> snapshotLiveData = new MutableLiveData<>();
+
+        if (savingCirclesRef == null) {
+            Log.e(TAG, "savingCirclesRef is null! Cannot load circle snapshot.");
+            return snapshotLiveData;
+        }
+
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Cannot determine creator UID for circle: " + circleId);
+                snapshotLiveData.setValue(null);
+                return;
+            }
+
+            SnapshotLoader loader = new SnapshotLoader(circleId, creatorUid, selectedDate,
+                    snapshotLiveData);
+            DatabaseReference circleRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles").child(circleId);
+            DatabaseReference cyclesRef = database.getReference(CircleCycles.NODE).child(circleId);
+            // Keyed per circle, so asking again for another date replaces these
+            attachSnapshotListener("snapshot/" + circleId + "/circle", circleRef, snapshot -> {
+                loader.circleNode = snapshot;
+                loader.schedule();
+            });
+            attachSnapshotListener("snapshot/" + circleId + "/cycles", cyclesRef, snapshot -> {
+                loader.cyclesNode = snapshot;
+                loader.schedule();
+            });
+        });
+
+        return snapshotLiveData;
+    }
+
+    // Latest circle node and circle cycles of one getCircleSnapshot; main thread only
+    private final class SnapshotLoader {
+        private final String circleId;
+        private final String creatorUid;
+        private final long selectedDate;
+        private final MutableLiveData<CircleSnapshot> target;
+        private final AtomicInteger generation = new AtomicInteger();
+        private DataSnapshot circleNode;
+        private DataSnapshot cyclesNode;
+        private boolean pending;
+
+        SnapshotLoader(String circleId, String creatorUid, long selectedDate,
+                       MutableLiveData<CircleSnapshot> target) {
+            this.circleId = circleId;
+            this.creatorUid = creatorUid;
+            this.selectedDate = selectedDate;
+            this.target = target;
+        }
+
+        // One multi-path write fires both listeners; computing once after both
+        // keeps a moved circle from pairing its new members with old cycles
+        void schedule() {
+            if (pending) {
+                return;
+            }
+            pending = true;
+            mainHandler.post(this::recompute);
+        }
+
+        private void recompute() {
+            pending = false;
+            if (cleared) {
+                return;
+            }
+            DataSnapshot circle = circleNode;
+            DataSnapshot cycles = cyclesNode;
+            if (circle == null || cycles == null) {
+                return;
+            }
+            CompletableFuture<Void> migration = circleMigrated(circleId, creatorUid);
+            boolean migrated = migration.isDone() && !migration.isCompletedExceptionally()
+                    && !CircleCycles.hasEmbeddedCycles(circle);
+            if (!migration.isDone()) {
+                // A failed attempt is not retried until the next change
+                migration.thenRun(this::schedule);
+            }
+
+            int current = generation.incrementAndGet();
+            SNAPSHOT_EXECUTOR.execute(() -> {
+                CircleSnapshot snapshot = buildSnapshot(circle, cycles, selectedDate);
+                // A newer event is already queued; its result supersedes this one
+                if (current != generation.get()) {
+                    return;
+                }
+                target.postValue(snapshot);
+                if (snapshot != null && migrated) {
+                    materializeMissingCycles(circleId, snapshot);
+                }
+            });
+        }
+    }
+
+    private interface SnapshotCallback {
+        void onSnapshot(DataSnapshot snapshot);
+    }
+
+    private void attachSnapshotListener(String key, DatabaseReference ref, SnapshotCallback callback) {
+        listeners.listen(key, ref, new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                callback.onSnapshot(snapshot);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Error loading circle snapshot from " + ref + ": " + error.getMessage());
+            }
+        });
+    }
+
+    // Runs on SNAPSHOT_EXECUTOR; only parses and computes, never touches LiveData values
+    private CircleSnapshot buildSnapshot(DataSnapshot circleNode, DataSnapshot cyclesNode,
+                                         long selectedDate) {
+        SavingCircle circle = parseCircle(circleNode);
+        if (circle == null) {
+            return null;
+        }
+
+        Map<String, SavingCircleMember> membersByKey = new LinkedHashMap<>();
+        for (DataSnapshot memberSnapshot : circleNode.child("members").getChildren()) {
+            SavingCircleMember member = memberSnapshot.getValue(SavingCircleMember.class);
+            if (member != null) {
+                membersByKey.put(memberSnapshot.getKey(), member);
+            }
+        }
+
+        Map<String, List<MemberCycle>> cyclesByMember = new HashMap<>();
+        for (DataSnapshot memberCycles : cyclesNode.getChildren()) {
+            cyclesByMember.put(memberCycles.getKey(), parseCycles(memberCycles));
+        }
+        // Not migrated yet: members' cycles are still embedded in the circle node
+        for (DataSnapshot memberSnapshot : circleNode.child("members").getChildren()) {
+            DataSnapshot embedded = memberSnapshot.child("cycles");
+            if (embedded.exists() && !cyclesByMember.containsKey(memberSnapshot.getKey())) {
+                cyclesByMember.put(memberSnapshot.getKey(), parseCycles(embedded));
+            }
+        }
+
+        return CircleSnapshot.compute(circle, membersByKey, cyclesByMember, selectedDate);
+    }
+
+    private static List<MemberCycle> parseCycles(DataSnapshot memberCycles) {
+        List<MemberCycle> cycles = new ArrayList<>();
+        for (DataSnapshot cycleSnapshot : memberCycles.getChildren()) {
+            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
+            if (cycle != null) {
+                cycles.add(cycle);
+            }
+        }
+        return cycles;
+    }
+
+    // Only for circles whose cycles are confirmed in circleCycles (see circleMigrated)
+    private void materializeMissingCycles(String circleId, CircleSnapshot snapshot) {
+        SavingCircle circle = snapshot.getCircle();
+        for (CircleSnapshot.MemberSnapshot memberSnapshot : snapshot.getMembers()) {
+            if (memberSnapshot.getStatus() != CircleSnapshot.MemberStatus.NEEDS_CYCLES) {
+                continue;
+            }
+            String key = circleId + "/" + memberSnapshot.getMemberKey();
+            // The write's own listener event arrives before it completes; skip repeats
+            if (!materializing.add(key)) {
+                continue;
+            }
+
+            SavingCircleMember member = memberSnapshot.getMember();
+            OnCycleCreatedListener done = new OnCycleCreatedListener() {
+                @Override
+                public void onCycleCreated(MemberCycle cycle) {
+                    materializing.remove(key);
+                }
+
+                @Override
+                public void onError(String message) {
+                    materializing.remove(key);
+                    Log.e(TAG, "Error materializing cycles for " + member.getEmail() + ": " + message);
+                }
+            };
+
+            MemberCycle last = memberSnapshot.getLastCycle();
+            if (last != null) {
+                materializeCyclesUpTo(circleId, member.getEmail(), last, circle.getFrequency(),
+                        member.getPersonalAllocation(), snapshot.getSelectedDate(), done);
+                continue;
+            }
+            // No cycles at all - start with the cycle the member joined in, then catch up
+            long endDate = new CycleCalendar(member.getJoinedAt(), circle.getFrequency()).endOf(0);
+            createCycle(circleId, member.getEmail(),
+                    new MemberCycle(member.getJoinedAt(), endDate, member.getPersonalAllocation()),
+                    new OnCycleCreatedListener() {
+                        @Override
+                        public void onCycleCreated(MemberCycle first) {
+                            materializeCyclesUpTo(circleId, member.getEmail(), first,
+                                    circle.getFrequency(), member.getPersonalAllocation(),
+                                    snapshot.getSelectedDate(), done);
+                        }
+
+                        @Override
+                        public void onError(String message) {
+                            done.onError(message);
+                        }
+                    });
+        }
     }
 
     public LiveData<List<SavingCircleMember>> getSavingCircleMembers(String circleId) {
@@ -1241,63 +1612,27 @@ public class SavingCircleViewModel extends ViewModel {
             return membersLiveData;
         }
 
-        // First, get the circle to find the creator's UID
-        savingCirclesRef.child(circleId).get()
-                .addOnSuccessListener(circleSnapshot -> {
-                    if (!circleSnapshot.exists()) {
-                        Log.e(TAG, "Circle not found in current user's path: " + circleId);
-                        // Try to find it in other users' paths (fallback for backwards compatibility)
-                        findCircleAndLoadMembers(circleId, membersLiveData);
-                        return;
-                    }
-
-                    String creatorUid = circleSnapshot.child("creatorUid").getValue(String.class);
-                    if (creatorUid == null || creatorUid.isEmpty()) {
-                        // Backwards compatibility: if creatorUid is not set, assume current user is creator
-                        creatorUid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
-                    }
-
-                    if (creatorUid != null) {
-                        // Read members from the creator's path
-                        DatabaseReference creatorCirclesRef = database.getReference("users")
-                                .child(creatorUid).child("savingCircles");
-                        loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
-                    } else {
-                        Log.e(TAG, "Cannot determine creator UID for circle: " + circleId);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding circle: " + e.getMessage());
-                    // Fallback: try to find circle in other paths
-                    findCircleAndLoadMembers(circleId, membersLiveData);
-                });
+        findCircleAndLoadMembers(circleId, membersLiveData);
 
         return membersLiveData;
     }
 
     private void findCircleAndLoadMembers(String circleId, MutableLiveData<List<SavingCircleMember>> membersLiveData) {
-        database.getReference("users").get()
-                .addOnSuccessListener(usersSnapshot -> {
-                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                        if (circleSnapshot.exists()) {
-                            String creatorUid = userSnapshot.getKey();
-                            DatabaseReference creatorCirclesRef = database.getReference("users")
-                                    .child(creatorUid).child("savingCircles");
-                            loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
-                            return;
-                        }
-                    }
-                    Log.e(TAG, "Circle not found in any user path: " + circleId);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching for circle: " + e.getMessage());
-                });
+        // Members are always read from the creator's path
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Cannot determine creator UID for circle: " + circleId);
+                return;
+            }
+            DatabaseReference creatorCirclesRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles");
+            loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
+        });
     }
 
     private void loadMembersFromPath(DatabaseReference circlesRef, String circleId,
                                      MutableLiveData<List<SavingCircleMember>> membersLiveData) {
-        circlesRef.child(circleId).child("members").addValueEventListener(new ValueEventListener() {
+        listeners.listen(circlesRef.child(circleId).child("members"), new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
                 List<SavingCircleMember> members = new ArrayList<>();
@@ -1321,12 +1656,9 @@ public class SavingCircleViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (invitationsListener != null && invitationsRootRef != null) {
-            String email = currentUserEmail.getValue();
-            if (email != null && !email.isEmpty()) {
-                invitationsRootRef.child(sanitizeEmail(email)).removeEventListener(invitationsListener);
-            }
-        }
+        cleared = true;
+        pipeline.cancel();
+        listeners.clear();
     }
 
     private String sanitizeEmail(String email) {
@@ -8,6 +8,7 @@ import com.example.spendwise.model.BudgetUsageSummary;
 import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.repository.AnalyticsRepository;
+import com.example.spendwise.repository.ExpenseTable;
 
 import org.junit.Test;
 
@@ -95,4 +96,25 @@ public class AnalyticsRepositoryTest {
 
         assertEquals(0, summaries.size());
     }
+
+    @Test
+    public void expenseTableOverloads_matchListResults() throws Exception {
+        List<Expense> expenses = Arrays.asList(
+                new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", ""),
+                new Expense("Movie Night", 12.0, Category.ENTERTAINMENT, "09/30/2024", ""),
+                new Expense("Groceries", 45.0, Category.FOOD, "10/18/2024", "")
+        );
+        Budget foodBudget = new Budget("Groceries", 200.0, Category.FOOD, "10/03/2024", "Monthly");
+        Date start = parseDate("10/01/2024");
+        Date end = parseDate("10/31/2024");
+
+        ExpenseTable table = ExpenseTable.of(expenses);
+
+        assertEquals(analyticsRepository.calculateCategoryTotals(expenses, start, end),
+                analyticsRepository.calculateCategoryTotals(table, start, end));
+        List<BudgetUsageSummary> summaries = analyticsRepository.calculateBudgetUsage(
+                Arrays.asList(foodBudget), table, start, end);
+        assertEquals(1, summaries.size());
+        assertEquals(60.0, summaries.get(0).getSpentAmount(), 0.001);
+    }
 }
@@ -4,6 +4,7 @@ package com.example.spendwise;
 
 import static org.junit.Assert.*;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
 import com.example.spendwise.model.Budget;
 import org.junit.Test;
 
@@ -33,4 +34,12 @@ public class BudgetModelTest {
         assertEquals("Should accept Weekly", "Weekly", weeklyBudget.getfreq());
         assertEquals("Should accept Monthly", "Monthly", monthlyBudget.getfreq());
     }
+
+    @Test
+    public void testBudgetEpochDayDerivedFromDate() {
+        Budget budget = new Budget("Rent", 900.0, Category.BILLS, "10/21/2025", "Monthly");
+
+        assertEquals("epochDay should follow the MM/dd/yyyy date",
+                EpochDays.fromCivil(2025, 10, 21), budget.getEpochDay());
+    }
 }
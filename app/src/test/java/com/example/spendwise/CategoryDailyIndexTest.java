@@ -0,0 +1,85 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDailyIndex;
+
+import org.junit.Test;
+
+public class CategoryDailyIndexTest {
+
+    private static int day(String date) {
+        return EpochDays.parse(date);
+    }
+
+    @Test
+    public void totalCents_sumsInclusiveWindowPerCategory() {
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        index.add(new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", ""));
+        index.add(new Expense("Groceries", 45.0, Category.FOOD, "10/31/2024", ""));
+        index.add(new Expense("Dinner", 20.0, Category.FOOD, "11/01/2024", ""));
+        index.add(new Expense("Bus", 2.5, Category.TRANSPORT, "10/10/2024", ""));
+
+        assertEquals(6000L, index.totalCents(Category.FOOD, day("10/01/2024"), day("10/31/2024")));
+        assertEquals(250L, index.totalCents(Category.TRANSPORT, day("10/01/2024"), day("10/31/2024")));
+        assertEquals(6250L, index.totalCents(day("10/01/2024"), day("10/31/2024")));
+    }
+
+    @Test
+    public void replaceAndRemove_updateTotals() {
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        Expense original = new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", "");
+        index.add(original);
+        index.totalCents(Category.FOOD, day("10/01/2024"), day("10/31/2024"));
+
+        Expense edited = new Expense("Lunch", 12.0, Category.HEALTH, "10/06/2024", "");
+        index.replace(original, edited);
+
+        assertEquals(0L, index.totalCents(Category.FOOD, day("10/01/2024"), day("10/31/2024")));
+        assertEquals(1200L, index.totalCents(Category.HEALTH, day("10/01/2024"), day("10/31/2024")));
+
+        index.remove(edited);
+        assertEquals(0L, index.totalCents(EpochDays.INVALID, EpochDays.INVALID));
+    }
+
+    @Test
+    public void growsInBothDirectionsAcrossYears() {
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        index.add(new Expense("Mid", 1.0, Category.BILLS, "06/15/2024", ""));
+        index.add(new Expense("Old", 2.0, Category.BILLS, "01/01/2019", ""));
+        index.add(new Expense("New", 3.0, Category.BILLS, "12/31/2026", ""));
+
+        assertEquals(600L, index.totalCents(Category.BILLS, EpochDays.INVALID, EpochDays.INVALID));
+        assertEquals(200L, index.totalCents(Category.BILLS, day("01/01/2019"), day("01/01/2019")));
+        assertEquals(300L, index.totalCents(Category.BILLS, day("01/01/2025"), EpochDays.INVALID));
+    }
+
+    @Test
+    public void windowOutsideRange_isZero() {
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        index.add(new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", ""));
+
+        assertEquals(0L, index.totalCents(Category.FOOD, day("01/01/2030"), day("12/31/2030")));
+        assertEquals(0L, index.totalCents(Category.FOOD, day("01/01/2000"), day("12/31/2000")));
+    }
+
+    @Test
+    public void outlierYears_areCountedWithoutWideningRange() {
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        index.add(new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", ""));
+        index.add(new Expense("Typo", 1.0, Category.FOOD, "10/05/0001", ""));
+        index.add(new Expense("Typo", 2.0, Category.FOOD, "10/05/9999", ""));
+        index.add(new Expense("Dinner", 20.0, Category.FOOD, "10/06/2024", ""));
+
+        assertEquals(3800L, index.totalCents(Category.FOOD, EpochDays.INVALID, EpochDays.INVALID));
+        assertEquals(3500L, index.totalCents(Category.FOOD, day("10/01/2024"), day("10/31/2024")));
+        assertEquals(100L, index.totalCents(Category.FOOD, EpochDays.INVALID, day("12/31/1000")));
+        assertEquals(200L, index.totalCents(Category.FOOD, day("01/01/9999"), EpochDays.INVALID));
+
+        index.remove(new Expense("Typo", 2.0, Category.FOOD, "10/05/9999", ""));
+        assertEquals(0L, index.totalCents(Category.FOOD, day("01/01/9999"), EpochDays.INVALID));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.example.spendwise.repository.CircleMetadataCache;
+
+import org.junit.Test;
+
+public class CircleMetadataCacheTest {
+
+    @Test
+    public void get_countsHitsAndMisses() {
+        CircleMetadataCache cache = new CircleMetadataCache();
+        cache.put("c1", "uid1", "Weekly");
+
+        assertEquals("uid1", cache.get("c1").getCreatorUid());
+        assertEquals("Weekly", cache.get("c1").getFrequency());
+        assertNull(cache.get("c2"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        CircleMetadataCache cache = new CircleMetadataCache(2);
+        cache.put("a", "u", "Monthly");
+        cache.put("b", "u", "Monthly");
+        cache.get("a"); // b becomes eldest
+
+        cache.put("c", "u", "Monthly");
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void invalidate_removesEntry() {
+        CircleMetadataCache cache = new CircleMetadataCache();
+        cache.put("c1", "uid1", "Monthly");
+
+        cache.invalidate("c1");
+
+        assertNull(cache.get("c1"));
+    }
+
+    @Test
+    public void put_ignoresMissingCreator() {
+        CircleMetadataCache cache = new CircleMetadataCache();
+
+        cache.put("c1", null, "Monthly");
+
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.example.spendwise.model.CircleSnapshot;
+import com.example.spendwise.model.CircleSnapshot.MemberSnapshot;
+import com.example.spendwise.model.CircleSnapshot.MemberStatus;
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.SavingCircle;
+import com.example.spendwise.model.SavingCircleMember;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CircleSnapshotTest {
+
+    private static final long WEEK = 7L * 24 * 60 * 60 * 1000;
+
+    private final SavingCircle circle = new SavingCircle("Group", "a@b.com", "Trip",
+            100.0, "Weekly", "", 0);
+
+    private CircleSnapshot compute(Map<String, SavingCircleMember> members,
+                                   Map<String, List<MemberCycle>> cycles, long date) {
+        return CircleSnapshot.compute(circle, members, cycles, date);
+    }
+
+    @Test
+    public void compute_findsCoveringCycleAndSumsCompletedHistory() {
+        MemberCycle first = new MemberCycle(0, WEEK, 20.00);
+        first.recordExpenseCents(500);
+        first.setComplete(true);
+        MemberCycle second = new MemberCycle(WEEK, 2 * WEEK, 20.00);
+
+        Map<String, SavingCircleMember> members = new LinkedHashMap<>();
+        members.put("a_at_b_com", new SavingCircleMember("a@b.com", 20.00, 0));
+        Map<String, List<MemberCycle>> cycles = new HashMap<>();
+        cycles.put("a_at_b_com", Arrays.asList(second, first));
+
+        CircleSnapshot snapshot = compute(members, cycles, WEEK + 1);
+        MemberSnapshot member = snapshot.getMembers().get(0);
+
+        assertEquals(MemberStatus.ACTIVE, member.getStatus());
+        assertSame(second, member.getCycle());
+        assertEquals(1500, member.getHistoricalCents());
+        assertEquals(1, member.getCompletedCycles());
+        assertEquals(1500, snapshot.getTotalContributedCents());
+    }
+
+    @Test
+    public void compute_expandsIdleRunsForCoverageAndCounts() {
+        MemberCycle run = MemberCycle.idleRun(0, 3 * WEEK, 3, "Weekly");
+
+        Map<String, SavingCircleMember> members = new LinkedHashMap<>();
+        members.put("m", new SavingCircleMember("m@x.com", 20.00, 0));
+        Map<String, List<MemberCycle>> cycles = new HashMap<>();
+        cycles.put("m", Collections.singletonList(run));
+
+        MemberSnapshot member = compute(members, cycles, 3 * WEEK).getMembers().get(0);
+
+        assertEquals(MemberStatus.NEEDS_CYCLES, member.getStatus());
+        assertSame(run, member.getLastCycle());
+        assertEquals(3, member.getCompletedCycles());
+    }
+
+    @Test
+    public void compute_classifiesMembersWithoutCoveringCycle() {
+        Map<String, SavingCircleMember> members = new LinkedHashMap<>();
+        members.put("late", new SavingCircleMember("late@x.com", 10.00, 5 * WEEK));
+        members.put("none", new SavingCircleMember("none@x.com", 10.00, 0));
+        members.put("early", new SavingCircleMember("early@x.com", 10.00, 0));
+        Map<String, List<MemberCycle>> cycles = new HashMap<>();
+        cycles.put("early", Collections.singletonList(new MemberCycle(3 * WEEK, 4 * WEEK, 10.00)));
+
+        List<MemberSnapshot> snapshots = compute(members, cycles, 2 * WEEK).getMembers();
+
+        assertEquals(MemberStatus.NOT_JOINED, snapshots.get(0).getStatus());
+        assertEquals(MemberStatus.NEEDS_CYCLES, snapshots.get(1).getStatus());
+        assertNull(snapshots.get(1).getLastCycle());
+        assertEquals(MemberStatus.NO_CYCLE, snapshots.get(2).getStatus());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.example.spendwise.model.CircleSummary;
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.SavingCircle;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class CircleSummaryTest {
+
+    @Test
+    public void contributionCents_countsOnlyCompletedCycles() {
+        MemberCycle completed = new MemberCycle(0, 10, 50.00);
+        completed.recordExpenseCents(1250);
+        completed.setComplete(true);
+        MemberCycle open = new MemberCycle(10, 20, 50.00);
+
+        assertEquals(3750, CircleSummary.contributionCents(Arrays.asList(completed, open)));
+    }
+
+    @Test
+    public void toSavingCircle_keepsListCardFields() {
+        SavingCircle circle = new SavingCircle("Roommates", "a@b.com", "Trip", 500.0,
+                "Weekly", "notes", 1000L);
+        circle.setCreatorUid("uid1");
+        CircleSummary summary = new CircleSummary(circle, 3, 12000);
+
+        SavingCircle restored = summary.toSavingCircle("c1");
+
+        assertEquals("c1", restored.getId());
+        assertEquals("Roommates", restored.getGroupName());
+        assertEquals("Trip", restored.getChallengeTitle());
+        assertEquals(500.0, restored.getGoalAmount(), 0.001);
+        assertEquals("Weekly", restored.getFrequency());
+        assertEquals("uid1", restored.getCreatorUid());
+        assertEquals(3, summary.getMemberCount());
+    }
+
+    @Test
+    public void cardFields_leaveProgressAndMissingCreatorAlone() {
+        SavingCircle circle = new SavingCircle("Roommates", "a@b.com", "Trip", 500.0,
+                "Monthly", "", 1000L);
+
+        Map<String, Object> fields = CircleSummary.cardFields(circle);
+
+        assertFalse(fields.containsKey("creatorUid"));
+        assertFalse(fields.containsKey("memberCount"));
+        assertFalse(fields.containsKey("contributedCents"));
+        assertEquals("Trip", fields.get("challengeTitle"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.CycleCalendar;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+public class CycleCalendarTest {
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    private long at(int year, int month, int day, int hour) {
+        Calendar calendar = Calendar.getInstance(NEW_YORK);
+        calendar.clear();
+        calendar.set(year, month, day, hour, 0, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    // The iterative approach the calendar replaces
+    private long iterativeStart(long anchor, int field, int index) {
+        Calendar calendar = Calendar.getInstance(NEW_YORK);
+        calendar.setTimeInMillis(anchor);
+        for (int i = 0; i < index; i++) {
+            calendar.add(field, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void weekly_matchesIterativeAcrossDst() {
+        long anchor = at(2024, Calendar.JANUARY, 3, 9);
+        CycleCalendar calendar = new CycleCalendar(anchor, "Weekly", NEW_YORK);
+
+        for (int k = 0; k < 60; k++) {
+            long start = iterativeStart(anchor, Calendar.WEEK_OF_YEAR, k);
+            assertEquals(start, calendar.startOf(k));
+            assertEquals(k, calendar.cycleIndexAt(start));
+            assertEquals(k, calendar.cycleIndexAt(start + 3L * 24 * 60 * 60 * 1000));
+        }
+    }
+
+    @Test
+    public void monthly_matchesIterativeForUnclampedDays() {
+        long anchor = at(2023, Calendar.OCTOBER, 15, 14);
+        CycleCalendar calendar = new CycleCalendar(anchor, "Monthly", NEW_YORK);
+
+        for (int k = 0; k < 30; k++) {
+            long start = iterativeStart(anchor, Calendar.MONTH, k);
+            assertEquals(start, calendar.startOf(k));
+            assertEquals(k, calendar.cycleIndexAt(start));
+            assertEquals(k - 1, calendar.cycleIndexAt(start - 1));
+        }
+    }
+
+    @Test
+    public void monthly_clampsToMonthEndWithoutDrifting() {
+        CycleCalendar calendar = new CycleCalendar(at(2024, Calendar.JANUARY, 31, 0),
+                "Monthly", NEW_YORK);
+
+        assertEquals(at(2024, Calendar.FEBRUARY, 29, 0), calendar.startOf(1));
+        assertEquals(at(2024, Calendar.MARCH, 31, 0), calendar.startOf(2));
+        assertEquals(at(2024, Calendar.APRIL, 30, 0), calendar.startOf(3));
+        assertEquals(1, calendar.cycleIndexAt(at(2024, Calendar.MARCH, 30, 0)));
+        assertEquals(calendar.startOf(2), calendar.endOf(1));
+    }
+
+    @Test
+    public void cycleIndexAt_isNegativeBeforeAnchor() {
+        CycleCalendar calendar = new CycleCalendar(at(2024, Calendar.MAY, 10, 12),
+                "Monthly", NEW_YORK);
+
+        assertEquals(-1, calendar.cycleIndexAt(at(2024, Calendar.MAY, 10, 11)));
+        assertEquals(-2, calendar.cycleIndexAt(at(2024, Calendar.MARCH, 20, 0)));
+    }
+}
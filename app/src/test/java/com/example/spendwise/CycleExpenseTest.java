@@ -0,0 +1,97 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.CycleCalendar;
+import com.example.spendwise.model.CycleExpense;
+import com.example.spendwise.model.MemberCycle;
+
+import org.junit.Test;
+
+public class CycleExpenseTest {
+
+    @Test
+    public void plan_unclampedRecordIsAnIncrement() {
+        MemberCycle cycle = new MemberCycle(0, 1000, 50.00);
+
+        CycleExpense change = CycleExpense.plan(cycle, 1250, true, 500);
+
+        assertTrue(change.isIncrement());
+        assertEquals(-1250, change.getBalanceDelta());
+        assertEquals(1250, change.getSpentDelta());
+        assertEquals(0, change.getContributedDelta());
+        assertEquals(5000, cycle.getEndCents());
+    }
+
+    @Test
+    public void plan_clampedRecordRewritesACopy() {
+        MemberCycle cycle = new MemberCycle(0, 1000, 10.00);
+        cycle.setComplete(true);
+
+        CycleExpense change = CycleExpense.plan(cycle, 2500, true, 500);
+
+        assertFalse(change.isIncrement());
+        assertEquals(1, change.getRecords().size());
+        assertEquals(0, change.getCycle().getEndCents());
+        assertEquals(-1000, change.getBalanceDelta());
+        assertEquals(2500, change.getSpentDelta());
+        assertEquals(-1000, change.getContributedDelta());
+        assertNull(change.getRemovedRunId());
+        // The stored record is left as read
+        assertEquals(1000, cycle.getEndCents());
+    }
+
+    @Test
+    public void plan_restoreIntoIdleRunSplitsAroundTheExpense() {
+        CycleCalendar calendar = new CycleCalendar(0, "Weekly");
+        MemberCycle run = MemberCycle.idleRun(calendar.startOf(0), calendar.startOf(3), 3, "Weekly");
+        long expenseDate = calendar.startOf(1) + 1;
+
+        CycleExpense change = CycleExpense.plan(run, 500, false, expenseDate);
+
+        assertFalse(change.isIncrement());
+        assertEquals(run.getCycleId(), change.getRemovedRunId());
+        assertEquals(3, change.getRecords().size());
+        assertTrue(change.getCycle().isDateInCycle(expenseDate));
+        // An idle cycle is funded with nothing, so the restore clamps at zero
+        assertEquals(0, change.getBalanceDelta());
+        assertEquals(0, change.getContributedDelta());
+    }
+
+    @Test
+    public void plan_recordWithoutStoredCentsRewritesIt() {
+        // As deserialized from a record written before the cents fields existed
+        MemberCycle legacy = new MemberCycle();
+        legacy.setCycleId("legacy");
+        legacy.setStartDate(0);
+        legacy.setEndDate(1000);
+        legacy.setStartAmount(50.00);
+        legacy.setEndAmount(50.00);
+        assertFalse(legacy.hasStoredCents());
+
+        CycleExpense change = CycleExpense.plan(legacy, 1250, true, 500);
+
+        assertFalse(change.isIncrement());
+        assertEquals(1, change.getRecords().size());
+        assertEquals(3750, change.getCycle().getEndCents());
+        assertEquals(1250, change.getCycle().getSpentCents());
+        assertTrue(change.getCycle().hasStoredCents());
+        assertEquals(-1250, change.getBalanceDelta());
+    }
+
+    @Test
+    public void rewrite_unclampedChangeStillWritesTheRecord() {
+        MemberCycle cycle = new MemberCycle(0, 1000, 50.00);
+
+        CycleExpense change = CycleExpense.rewrite(cycle, 1250, true, 500);
+
+        assertFalse(change.isIncrement());
+        assertEquals(1, change.getRecords().size());
+        assertEquals(3750, change.getRecords().get(0).getEndCents());
+        assertEquals(-1250, change.getBalanceDelta());
+        assertEquals(5000, cycle.getEndCents());
+    }
+}
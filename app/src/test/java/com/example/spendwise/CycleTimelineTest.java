@@ -0,0 +1,49 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.repository.CycleTimeline;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class CycleTimelineTest {
+
+    private static final long WEEK = 7L * 24 * 60 * 60 * 1000;
+
+    @Test
+    public void cycleAt_findsCoveringCycle() {
+        MemberCycle first = new MemberCycle(0, WEEK, 100);
+        MemberCycle second = new MemberCycle(WEEK, 2 * WEEK, 100);
+        MemberCycle third = new MemberCycle(2 * WEEK, 3 * WEEK, 100);
+        CycleTimeline timeline = new CycleTimeline();
+
+        timeline.replaceAll(Arrays.asList(third, first, second));
+
+        assertEquals(first, timeline.cycleAt(0));
+        assertEquals(second, timeline.cycleAt(WEEK));
+        assertEquals(second, timeline.cycleAt(2 * WEEK - 1));
+        assertEquals(third, timeline.latest());
+    }
+
+    @Test
+    public void cycleAt_returnsNullOutsideAllCycles() {
+        CycleTimeline timeline = new CycleTimeline();
+        timeline.put(new MemberCycle(WEEK, 2 * WEEK, 100));
+
+        assertNull(timeline.cycleAt(WEEK - 1));
+        assertNull(timeline.cycleAt(2 * WEEK));
+    }
+
+    @Test
+    public void cycleAt_handlesGapsBetweenCycles() {
+        CycleTimeline timeline = new CycleTimeline();
+        timeline.put(new MemberCycle(0, WEEK, 100));
+        timeline.put(new MemberCycle(3 * WEEK, 4 * WEEK, 100));
+
+        assertNull(timeline.cycleAt(2 * WEEK));
+    }
+}
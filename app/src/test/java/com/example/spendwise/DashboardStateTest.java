@@ -0,0 +1,145 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.DashboardState;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDailyIndex;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+public class DashboardStateTest {
+
+    // Wednesday 10/16/2024, in the week starting Sunday 10/13
+    private static final DashboardState.Periods PERIODS = new DashboardState.Periods(
+            EpochDays.fromCivil(2024, 10, 16), EpochDays.fromCivil(2024, 10, 13),
+            EpochDays.fromCivil(2024, 10, 1), EpochDays.fromCivil(2024, 10, 31), 2024);
+
+    @Test
+    public void compute_totalsMonthSpendingAcrossCategories() {
+        List<Expense> expenses = Arrays.asList(
+                new Expense("Lunch", 12.50, Category.FOOD, "10/15/2024", ""),
+                new Expense("Bus", 2.75, Category.TRANSPORT, "10/02/2024", ""),
+                new Expense("Old", 40.00, Category.FOOD, "09/30/2024", ""));
+
+        DashboardState state = DashboardState.compute(Collections.emptyList(), expenses, PERIODS);
+
+        assertEquals(1525, state.getMonthSpentCents());
+    }
+
+    @Test
+    public void compute_cardRemainingCountsOnlyBudgetedCategories() {
+        List<Budget> budgets = Arrays.asList(
+                new Budget("Groceries", 100.00, Category.FOOD, "10/14/2024", "Weekly"),
+                new Budget("Monthly fun", 50.00, Category.ENTERTAINMENT, "10/01/2024", "Monthly"));
+        List<Expense> expenses = Arrays.asList(
+                new Expense("Lunch", 30.00, Category.FOOD, "10/15/2024", ""),
+                new Expense("Last week", 20.00, Category.FOOD, "10/10/2024", ""),
+                new Expense("Movie", 60.00, Category.ENTERTAINMENT, "10/05/2024", ""),
+                new Expense("Bus", 5.00, Category.TRANSPORT, "10/15/2024", ""));
+
+        DashboardState state = DashboardState.compute(budgets, expenses, PERIODS);
+
+        assertEquals(7000, state.getWeeklyRemainingCents());
+        assertEquals(-1000, state.getMonthlyRemainingCents());
+    }
+
+    @Test
+    public void compute_remainingBudgetsSubtractTheirOwnPeriod() {
+        List<Budget> budgets = Arrays.asList(
+                new Budget("Groceries", 100.00, Category.FOOD, "01/01/2024", "Weekly"),
+                new Budget("Coffee", 5.00, Category.FOOD, "10/16/2024", "Daily"),
+                new Budget("Yesterday", 5.00, Category.FOOD, "10/15/2024", "Daily"),
+                new Budget("Last year", 500.00, Category.FOOD, "06/01/2023", "Yearly"));
+        List<Expense> expenses = Arrays.asList(
+                new Expense("Latte", 4.00, Category.FOOD, "10/16/2024", ""),
+                new Expense("Lunch", 30.00, Category.FOOD, "10/14/2024", ""));
+
+        DashboardState state = DashboardState.compute(budgets, expenses, PERIODS);
+
+        List<Budget> remaining = state.getRemainingBudgets();
+        assertEquals(2, remaining.size());
+        assertEquals("Groceries", remaining.get(0).getName());
+        assertEquals(6600, remaining.get(0).getAmountCents());
+        assertEquals(10000, remaining.get(0).getOriginalAmountCents());
+        assertEquals("Coffee", remaining.get(1).getName());
+        assertEquals(100, remaining.get(1).getAmountCents());
+    }
+
+    @Test
+    public void budgetsFor_keepsBudgetsStartingInTheCurrentPeriod() {
+        List<Budget> budgets = Arrays.asList(
+                new Budget("This week", 10.00, Category.FOOD, "10/13/2024", "Weekly"),
+                new Budget("Last week", 10.00, Category.FOOD, "10/12/2024", "Weekly"),
+                new Budget("Monthly", 10.00, Category.FOOD, "10/13/2024", "Monthly"));
+
+        DashboardState state = DashboardState.compute(budgets, Collections.emptyList(), PERIODS);
+
+        List<Budget> weekly = state.budgetsFor("Weekly");
+        assertEquals(1, weekly.size());
+        assertEquals("This week", weekly.get(0).getName());
+    }
+
+    @Test
+    public void periodsOf_matchesTheCalendarMonthAndYear() {
+        Calendar date = Calendar.getInstance();
+        date.clear();
+        date.set(2024, Calendar.FEBRUARY, 10);
+
+        DashboardState.Periods periods = DashboardState.Periods.of(date);
+
+        assertEquals(EpochDays.fromCivil(2024, 2, 10), periods.getDay());
+        assertEquals(EpochDays.fromCivil(2024, 2, 1), periods.getMonthStartDay());
+        assertEquals(EpochDays.fromCivil(2024, 2, 29), periods.getMonthEndDay());
+        assertTrue(periods.isInWeek(periods.getWeekStartDay() + 6));
+        assertTrue(periods.isInYear(EpochDays.fromCivil(2024, 12, 31)));
+    }
+
+    @Test
+    public void periods_windowCoversAWeekCrossingIntoTheNextYear() {
+        // Tuesday 12/31/2024, in the week running Sunday 12/29 to Saturday 01/04
+        DashboardState.Periods periods = new DashboardState.Periods(
+                EpochDays.fromCivil(2024, 12, 31), EpochDays.fromCivil(2024, 12, 29),
+                EpochDays.fromCivil(2024, 12, 1), EpochDays.fromCivil(2024, 12, 31), 2024);
+
+        assertEquals(EpochDays.fromCivil(2024, 1, 1), periods.getFirstDay());
+        assertEquals(EpochDays.fromCivil(2025, 1, 4), periods.getLastDay());
+    }
+
+    @Test
+    public void compute_fromIndexedSpendingMatchesTheExpenseScan() {
+        List<Budget> budgets = Arrays.asList(
+                new Budget("Groceries", 100.00, Category.FOOD, "10/14/2024", "Weekly"),
+                new Budget("Monthly fun", 50.00, Category.ENTERTAINMENT, "10/01/2024", "Monthly"));
+        List<Expense> expenses = Arrays.asList(
+                new Expense("Lunch", 30.00, Category.FOOD, "10/15/2024", ""),
+                new Expense("Last week", 20.00, Category.FOOD, "10/10/2024", ""),
+                new Expense("Movie", 60.00, Category.ENTERTAINMENT, "10/05/2024", ""));
+        CategoryDailyIndex index = new CategoryDailyIndex();
+        for (Expense expense : expenses) {
+            index.add(expense);
+        }
+        DashboardState.Spending spending = new DashboardState.Spending(
+                index.totalsByCategory(PERIODS.getDay(), PERIODS.getDay()),
+                index.totalsByCategory(PERIODS.getWeekStartDay(), PERIODS.getWeekEndDay()),
+                index.totalsByCategory(PERIODS.getMonthStartDay(), PERIODS.getMonthEndDay()),
+                index.totalsByCategory(PERIODS.getYearStartDay(), PERIODS.getYearEndDay()));
+
+        DashboardState indexed = DashboardState.compute(budgets, spending, PERIODS);
+        DashboardState scanned = DashboardState.compute(budgets, expenses, PERIODS);
+
+        assertEquals(scanned.getMonthSpentCents(), indexed.getMonthSpentCents());
+        assertEquals(scanned.getWeeklyRemainingCents(), indexed.getWeeklyRemainingCents());
+        assertEquals(scanned.getMonthlyRemainingCents(), indexed.getMonthlyRemainingCents());
+        assertEquals(11000, indexed.getMonthSpentCents());
+    }
+}
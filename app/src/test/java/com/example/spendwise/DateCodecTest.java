@@ -0,0 +1,93 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.DateCodec;
+import com.example.spendwise.model.EpochDays;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+
+public class DateCodecTest {
+
+    @Test
+    public void formatAndParse_matchSimpleDateFormatForEveryDay1900To2100() {
+        SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+        int first = EpochDays.fromCivil(1900, 1, 1);
+        int last = EpochDays.fromCivil(2100, 12, 31);
+
+        for (int day = first; day <= last; day++) {
+            String expected = format.format(calendar.getTime());
+            assertEquals(expected, DateCodec.format(day));
+            assertEquals(expected, day, DateCodec.parse(expected));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void parse_rollsOverflowingDaysLikeLenientSimpleDateFormat() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        for (int year : new int[] {1999, 2000, 2023, 2024}) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    String text = String.format(Locale.US, "%02d/%02d/%04d", month, day, year);
+                    assertEquals(text, EpochDays.fromDate(format.parse(text)), DateCodec.parse(text));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parse_rejectsMalformedInput() {
+        assertEquals(EpochDays.INVALID, DateCodec.parse(null));
+        assertEquals(EpochDays.INVALID, DateCodec.parse("1/5/2024"));
+        assertEquals(EpochDays.INVALID, DateCodec.parse("00/10/2024"));
+        assertEquals(EpochDays.INVALID, DateCodec.parse("10/32/2024"));
+        assertEquals(EpochDays.INVALID, DateCodec.parse("10-21-2024"));
+        assertNull(DateCodec.format(EpochDays.INVALID));
+    }
+
+    @Test
+    public void format_returnsTheCachedInstanceForARepeatedDay() {
+        int day = EpochDays.fromCivil(2024, 10, 21);
+
+        assertSame(DateCodec.format(day), DateCodec.format(day));
+    }
+
+    @Test
+    public void intern_sharesOneInstancePerCanonicalDate() {
+        String first = new String("07/04/2231");
+        String second = new String("07/04/2231");
+
+        assertSame(first, DateCodec.intern(first));
+        assertSame(first, DateCodec.intern(second));
+        assertSame(first, DateCodec.format(EpochDays.fromCivil(2231, 7, 4)));
+
+        // Rolled-over and malformed strings are left alone
+        String rolled = new String("02/30/2231");
+        assertSame(rolled, DateCodec.intern(rolled));
+        assertEquals("03/02/2231", DateCodec.format(DateCodec.parse(rolled)));
+        assertSame("junk", DateCodec.intern("junk"));
+    }
+
+    @Test
+    public void toCalendar_setsLocalMidnight() {
+        Calendar calendar = Calendar.getInstance();
+
+        assertTrue(DateCodec.toCalendar(EpochDays.fromCivil(2024, 2, 29), calendar));
+
+        assertEquals(2024, calendar.get(Calendar.YEAR));
+        assertEquals(Calendar.FEBRUARY, calendar.get(Calendar.MONTH));
+        assertEquals(29, calendar.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, calendar.get(Calendar.HOUR_OF_DAY));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.EpochDays;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+public class EpochDaysTest {
+
+    @Test
+    public void fromCivil_matchesKnownDays() {
+        assertEquals(0, EpochDays.fromCivil(1970, 1, 1));
+        assertEquals(-1, EpochDays.fromCivil(1969, 12, 31));
+        assertEquals(19723, EpochDays.fromCivil(2024, 1, 1));
+        assertEquals(19782, EpochDays.fromCivil(2024, 2, 29));
+    }
+
+    @Test
+    public void parse_acceptsDashboardFormat() {
+        assertEquals(EpochDays.fromCivil(2025, 10, 21), EpochDays.parse("10/21/2025"));
+    }
+
+    @Test
+    public void parse_rejectsMalformedInput() {
+        assertEquals(EpochDays.INVALID, EpochDays.parse(null));
+        assertEquals(EpochDays.INVALID, EpochDays.parse("2025-10-21"));
+        assertEquals(EpochDays.INVALID, EpochDays.parse("13/01/2025"));
+        assertEquals(EpochDays.INVALID, EpochDays.parse("1a/01/2025"));
+    }
+
+    @Test
+    public void fromDate_agreesWithParse() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        assertEquals(EpochDays.parse("03/15/2024"), EpochDays.fromDate(format.parse("03/15/2024")));
+    }
+
+    @Test
+    public void dayNumbers_orderAcrossYears() {
+        assertTrue(EpochDays.parse("12/31/2023") < EpochDays.parse("01/01/2024"));
+    }
+
+    @Test
+    public void toYearMonth_invertsFromCivil() {
+        assertEquals(202402, EpochDays.toYearMonth(EpochDays.fromCivil(2024, 2, 29)));
+        assertEquals(202403, EpochDays.toYearMonth(EpochDays.fromCivil(2024, 3, 1)));
+        assertEquals(199912, EpochDays.toYearMonth(EpochDays.fromCivil(1999, 12, 31)));
+        assertEquals(197001, EpochDays.toYearMonth(0));
+    }
+}
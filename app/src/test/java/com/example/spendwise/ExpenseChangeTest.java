@@ -0,0 +1,237 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.ExpenseChange;
+import com.example.spendwise.repository.ChildRows;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ExpenseChangeTest {
+
+    @Test
+    public void addedChange_carriesExpenseAndPreviousKey() {
+        Expense expense = new Expense("Coffee", 4.5, Category.FOOD, "10/21/2025", "");
+        expense.setId("exp_2");
+
+        ExpenseChange change = new ExpenseChange(ExpenseChange.Type.ADDED, "exp_2", expense, "exp_1");
+
+        assertEquals(ExpenseChange.Type.ADDED, change.getType());
+        assertEquals("exp_2", change.getExpenseId());
+        assertSame(expense, change.getExpense());
+        assertEquals("exp_1", change.getPreviousChildId());
+    }
+
+    @Test
+    public void removedChange_hasNoExpense() {
+        ExpenseChange change = new ExpenseChange(ExpenseChange.Type.REMOVED, "exp_3", null, null);
+
+        assertEquals(ExpenseChange.Type.REMOVED, change.getType());
+        assertEquals("exp_3", change.getExpenseId());
+        assertNull(change.getExpense());
+    }
+
+    @Test
+    public void newKey_isAddedWithNoPrevious() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense coffee = expense("exp_1", 4.5);
+
+        ChildRows.Change<Expense> change = rows.added("exp_1", coffee, null);
+
+        assertEquals(ChildRows.Change.Type.ADDED, change.getType());
+        assertSame(coffee, change.getValue());
+        assertNull(change.getPrevious());
+        assertSame(coffee, rows.get("exp_1"));
+    }
+
+    @Test
+    public void changedKey_carriesReplacedRow() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense before = expense("exp_1", 4.5);
+        Expense after = expense("exp_1", 6.0);
+        rows.added("exp_1", before, null);
+
+        ChildRows.Change<Expense> change = rows.changed("exp_1", after, null);
+
+        assertEquals(ChildRows.Change.Type.CHANGED, change.getType());
+        assertSame(after, change.getValue());
+        assertSame(before, change.getPrevious());
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void removedKey_carriesRemovedRow() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense coffee = expense("exp_1", 4.5);
+        rows.added("exp_1", coffee, null);
+
+        ChildRows.Change<Expense> change = rows.removed("exp_1");
+
+        assertEquals(ChildRows.Change.Type.REMOVED, change.getType());
+        assertNull(change.getValue());
+        assertSame(coffee, change.getPrevious());
+        assertEquals(0, rows.size());
+    }
+
+    @Test
+    public void unknownKey_removedOrMoved_isNoChange() {
+        ChildRows<Expense> rows = new ChildRows<>();
+
+        assertNull(rows.removed("missing"));
+        assertNull(rows.moved("missing", null));
+    }
+
+    @Test
+    public void unparseableChange_isRemoval() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense coffee = expense("exp_1", 4.5);
+        rows.added("exp_1", coffee, null);
+
+        ChildRows.Change<Expense> change = rows.changed("exp_1", null, null);
+
+        assertEquals(ChildRows.Change.Type.REMOVED, change.getType());
+        assertSame(coffee, change.getPrevious());
+        assertNull(rows.get("exp_1"));
+    }
+
+    @Test
+    public void unparseableAdd_isNoChange() {
+        ChildRows<Expense> rows = new ChildRows<>();
+
+        assertNull(rows.added("exp_1", null, null));
+        assertEquals(0, rows.size());
+    }
+
+    @Test
+    public void rows_followPreviousChildKey() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense a = expense("a", 1);
+        Expense b = expense("b", 2);
+        Expense c = expense("c", 3);
+        Expense first = expense("first", 4);
+
+        rows.added("a", a, null);
+        rows.added("c", c, "a");
+        rows.added("b", b, "a");
+        rows.added("first", first, null);
+
+        assertEquals(Arrays.asList(first, a, b, c), rows.rows());
+    }
+
+    @Test
+    public void move_reordersRows() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense a = expense("a", 1);
+        Expense b = expense("b", 2);
+        Expense c = expense("c", 3);
+        rows.added("a", a, null);
+        rows.added("b", b, "a");
+        rows.added("c", c, "b");
+
+        ChildRows.Change<Expense> change = rows.moved("a", "c");
+
+        assertEquals(ChildRows.Change.Type.MOVED, change.getType());
+        assertEquals("c", change.getPreviousChildKey());
+        assertEquals(Arrays.asList(b, c, a), rows.rows());
+    }
+
+    @Test
+    public void changeWithNewPreviousKey_reordersRows() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense a = expense("a", 1);
+        Expense b = expense("b", 2);
+        Expense bigger = expense("a", 5);
+        rows.added("a", a, null);
+        rows.added("b", b, "a");
+
+        rows.changed("a", bigger, "b");
+
+        assertEquals(Arrays.asList(b, bigger), rows.rows());
+    }
+
+    @Test
+    public void replay_addsEveryRowInOrder() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        rows.added("a", expense("a", 1), null);
+        rows.added("b", expense("b", 2), "a");
+
+        List<ChildRows.Change<Expense>> replay = rows.replay();
+
+        assertEquals(2, replay.size());
+        assertEquals(ChildRows.Change.Type.ADDED, replay.get(0).getType());
+        assertEquals("a", replay.get(0).getKey());
+        assertNull(replay.get(0).getPreviousChildKey());
+        assertEquals("b", replay.get(1).getKey());
+        assertEquals("a", replay.get(1).getPreviousChildKey());
+    }
+
+    @Test
+    public void rowsSnapshot_isStableAcrossLaterChanges() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        rows.added("a", expense("a", 1), null);
+        List<Expense> before = rows.rows();
+
+        rows.added("b", expense("b", 2), "a");
+
+        assertEquals(1, before.size());
+        assertEquals(2, rows.rows().size());
+    }
+
+    @Test
+    public void removeAndMoveAtTheEnds_keepTheOrderLinked() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense a = expense("a", 1);
+        Expense b = expense("b", 2);
+        Expense c = expense("c", 3);
+        rows.added("a", a, null);
+        rows.added("b", b, "a");
+        rows.added("c", c, "b");
+
+        rows.removed("a");
+        rows.moved("c", null);
+        Expense d = expense("d", 4);
+        rows.added("d", d, "b");
+
+        assertEquals(Arrays.asList(c, b, d), rows.rows());
+        assertEquals(3, rows.size());
+        assertSame(d, rows.get("d"));
+    }
+
+    @Test
+    public void unknownPreviousKey_appendsTheRow() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        Expense a = expense("a", 1);
+        Expense b = expense("b", 2);
+        rows.added("a", a, null);
+
+        rows.added("b", b, "missing");
+
+        assertEquals(Arrays.asList(a, b), rows.rows());
+    }
+
+    @Test
+    public void rowsSnapshot_isSharedUntilTheNextChange() {
+        ChildRows<Expense> rows = new ChildRows<>();
+        rows.added("a", expense("a", 1), null);
+        rows.added("b", expense("b", 2), "a");
+        List<Expense> first = rows.rows();
+
+        // Already in place: the order is unchanged, so is the snapshot
+        rows.moved("b", "a");
+
+        assertSame(first, rows.rows());
+    }
+
+    private static Expense expense(String id, double amount) {
+        Expense expense = new Expense("Item " + id, amount, Category.FOOD, "10/21/2025", "");
+        expense.setId(id);
+        return expense;
+    }
+}
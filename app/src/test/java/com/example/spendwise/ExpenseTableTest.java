@@ -0,0 +1,106 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseTable;
+
+import org.junit.Test;
+
+public class ExpenseTableTest {
+
+    private Expense expense(String id, double amount, Category category, String date, String circleId) {
+        Expense expense = new Expense(id, amount, category, date, "", circleId);
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void upsert_storesColumnsForNewRow() {
+        ExpenseTable table = new ExpenseTable();
+
+        table.upsert(expense("a", 12.34, Category.FOOD, "10/05/2024", null));
+
+        assertEquals(1, table.size());
+        assertEquals(1234L, table.centsAt(0));
+        assertEquals(EpochDays.parse("10/05/2024"), table.epochDayAt(0));
+        assertEquals(Category.FOOD, table.categoryAt(0));
+        assertEquals(ExpenseTable.NO_CIRCLE, table.circleCodeAt(0));
+    }
+
+    @Test
+    public void upsert_replacesExistingRow() {
+        ExpenseTable table = new ExpenseTable();
+        table.upsert(expense("a", 10.0, Category.FOOD, "10/05/2024", null));
+
+        table.upsert(expense("a", 25.0, Category.BILLS, "10/06/2024", null));
+
+        assertEquals(1, table.size());
+        assertEquals(2500L, table.centsAt(0));
+        assertEquals(Category.BILLS, table.categoryAt(0));
+    }
+
+    @Test
+    public void remove_movesLastRowIntoHole() {
+        ExpenseTable table = new ExpenseTable();
+        table.upsert(expense("a", 1.0, Category.FOOD, "10/01/2024", null));
+        table.upsert(expense("b", 2.0, Category.FOOD, "10/02/2024", null));
+        table.upsert(expense("c", 3.0, Category.FOOD, "10/03/2024", null));
+
+        assertTrue(table.remove("a"));
+
+        assertEquals(2, table.size());
+        assertFalse(table.contains("a"));
+        assertEquals("c", table.idAt(0));
+        assertEquals(300L, table.centsAt(0));
+        assertTrue(table.remove("c"));
+        assertEquals("b", table.idAt(0));
+        assertFalse(table.remove("missing"));
+    }
+
+    @Test
+    public void circleIds_shareDictionaryCodes() {
+        ExpenseTable table = new ExpenseTable();
+        table.upsert(expense("a", 1.0, Category.OTHER, "10/01/2024", "circle_1"));
+        table.upsert(expense("b", 2.0, Category.OTHER, "10/02/2024", "circle_1"));
+        table.upsert(expense("c", 3.0, Category.OTHER, "10/03/2024", "circle_2"));
+
+        assertEquals(table.circleCodeAt(0), table.circleCodeAt(1));
+        assertNotEquals(table.circleCodeAt(0), table.circleCodeAt(2));
+        assertEquals("circle_2", table.circleIdOf(table.circleCodeAt(2)));
+        assertEquals(table.circleCodeAt(0), table.circleCodeOf("circle_1"));
+    }
+
+    @Test
+    public void grows_pastInitialCapacity() {
+        ExpenseTable table = new ExpenseTable();
+        for (int i = 0; i < 200; i++) {
+            table.upsert(expense("e" + i, 1.0, Category.FOOD, "10/01/2024", null));
+        }
+
+        assertEquals(200, table.size());
+        assertEquals("e199", table.idAt(199));
+    }
+
+    @Test
+    public void copy_isUnaffectedByLaterChanges() {
+        ExpenseTable table = new ExpenseTable();
+        table.upsert(expense("a", 1.0, Category.FOOD, "10/01/2024", "circle_1"));
+        table.upsert(expense("b", 2.0, Category.FOOD, "10/02/2024", null));
+
+        ExpenseTable copy = table.copy();
+        table.remove("a");
+        table.upsert(expense("b", 5.0, Category.FOOD, "10/02/2024", null));
+
+        assertEquals(2, copy.size());
+        assertEquals("a", copy.idAt(0));
+        assertEquals(200L, copy.centsAt(1));
+        assertEquals("circle_1", copy.circleIdOf(copy.circleCodeAt(0)));
+        assertTrue(copy.contains("a"));
+    }
+}
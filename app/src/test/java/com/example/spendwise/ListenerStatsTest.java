@@ -0,0 +1,70 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.repository.ListenerStats;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ListenerStatsTest {
+
+    @Test
+    public void attachedAndDetached_trackLiveCountsPerPath() {
+        ListenerStats stats = new ListenerStats();
+
+        stats.attached("users/u1/expenses");
+        stats.attached("users/u1/expenses");
+        stats.attached("users/u1/budgets");
+        stats.detached("users/u1/expenses");
+
+        assertEquals(1, stats.liveListeners("users/u1/expenses"));
+        assertEquals(1, stats.liveListeners("users/u1/budgets"));
+        assertEquals(2, stats.liveListeners());
+    }
+
+    @Test
+    public void detached_withoutLiveListenerIsIgnored() {
+        ListenerStats stats = new ListenerStats();
+
+        stats.detached("users/u1/expenses");
+
+        assertEquals(0, stats.liveListeners());
+    }
+
+    @Test
+    public void attached_reportsPathsPastTheLeakThreshold() {
+        ListenerStats stats = new ListenerStats(2);
+
+        assertFalse(stats.attached("circleSummaries/u1"));
+        assertFalse(stats.attached("circleSummaries/u1"));
+        assertTrue(stats.attached("circleSummaries/u1"));
+        assertEquals(Collections.singletonList("circleSummaries/u1"), stats.suspectedLeaks());
+
+        stats.detached("circleSummaries/u1");
+        assertTrue(stats.suspectedLeaks().isEmpty());
+    }
+
+    @Test
+    public void snapshot_keepsDeliveriesAfterTheLastListenerDetaches() {
+        ListenerStats stats = new ListenerStats();
+        stats.attached("users/u1/budgets");
+        stats.attached("invitations/a_at_b_com");
+        stats.delivered("users/u1/budgets");
+        stats.delivered("users/u1/budgets");
+        stats.detached("users/u1/budgets");
+
+        List<ListenerStats.PathStats> snapshot = stats.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("invitations/a_at_b_com", snapshot.get(0).getPath());
+        assertEquals(1, snapshot.get(0).getLiveListeners());
+        assertEquals("users/u1/budgets", snapshot.get(1).getPath());
+        assertEquals(0, snapshot.get(1).getLiveListeners());
+        assertEquals(2, snapshot.get(1).getDeliveries());
+    }
+}
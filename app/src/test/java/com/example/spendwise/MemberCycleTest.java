@@ -1,13 +1,17 @@
 package com.example.spendwise;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNotEquals;
 
+import com.example.spendwise.model.CycleCalendar;
 import com.example.spendwise.model.MemberCycle;
 
 import org.junit.Test;
 
 import java.util.Calendar;
+import java.util.List;
 
 public class MemberCycleTest {
 
@@ -48,4 +52,102 @@ public class MemberCycleTest {
         assertEquals(150.0, cycle.getEndAmount(), 0.001);
         assertEquals(0.0, cycle.getSpent(), 0.001);
     }
+
+    @Test
+    public void recordExpense_keepsCentsExact() {
+        Calendar calendar = Calendar.getInstance();
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.MONTH, 1);
+        long end = calendar.getTimeInMillis();
+
+        MemberCycle cycle = new MemberCycle(start, end, 1.0);
+        for (int i = 0; i < 10; i++) {
+            cycle.recordExpense(0.1);
+        }
+
+        assertEquals(0L, cycle.getEndCents());
+        assertEquals(100L, cycle.getSpentCents());
+        assertEquals(1.0, cycle.getSpent(), 0.0);
+    }
+
+    @Test
+    public void wouldClamp_detectsChangesThatNeedATransaction() {
+        MemberCycle cycle = new MemberCycle(0L, 1000L, 50.0);
+
+        assertFalse(cycle.recordWouldClamp(5000));
+        assertTrue(cycle.recordWouldClamp(5001));
+
+        cycle.recordExpenseCents(2000);
+        assertFalse(cycle.restoreWouldClamp(2000));
+        assertTrue(cycle.restoreWouldClamp(2001));
+    }
+
+    @Test
+    public void createCyclesUpTo_autoCompletesElapsedCyclesAndFundsCoveringOne() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.JANUARY, 1, 0, 0, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.WEEK_OF_YEAR, 1);
+        MemberCycle last = new MemberCycle(start, calendar.getTimeInMillis(), 50.0);
+        // Target falls in the fourth week
+        calendar.add(Calendar.DAY_OF_YEAR, 16);
+        long target = calendar.getTimeInMillis();
+
+        List<MemberCycle> cycles = MemberCycle.createCyclesUpTo(last, "Weekly", 50.0, target);
+
+        // Two idle weeks collapse into one run ahead of the covering cycle
+        assertEquals(2, cycles.size());
+        MemberCycle idle = cycles.get(0);
+        assertTrue(idle.isComplete());
+        assertEquals(2, idle.getIdleCycles());
+        assertEquals(0L, idle.getStartCents());
+        assertEquals(last.getEndDate(), idle.getStartDate());
+        MemberCycle covering = cycles.get(1);
+        assertEquals(idle.getEndDate(), covering.getStartDate());
+        assertFalse(covering.isComplete());
+        assertTrue(covering.isDateInCycle(target));
+        assertEquals(5000L, covering.getEndCents());
+    }
+
+    @Test
+    public void createCyclesUpTo_returnsNothingWhenLastCycleCoversTarget() {
+        MemberCycle last = new MemberCycle(0L, 1000L, 50.0);
+
+        assertTrue(MemberCycle.createCyclesUpTo(last, "Monthly", 50.0, 999L).isEmpty());
+    }
+
+    @Test
+    public void expandIdleRun_restoresIndividualCycles() {
+        long week = 7L * 24 * 60 * 60 * 1000;
+        CycleCalendar calendar = new CycleCalendar(0L, "Weekly");
+        MemberCycle run = MemberCycle.idleRun(0L, calendar.startOf(3), 3, "Weekly");
+
+        List<MemberCycle> cycles = run.expandIdleRun();
+
+        assertEquals(3, cycles.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(cycles.get(i).isComplete());
+            assertEquals(0L, cycles.get(i).getEndCents());
+            assertEquals(0, cycles.get(i).getIdleCycles());
+        }
+        assertEquals(cycles.get(0).getEndDate(), cycles.get(1).getStartDate());
+        assertEquals(run.getEndDate(), cycles.get(2).getEndDate());
+        assertTrue(cycles.get(1).isDateInCycle(week + 1));
+    }
+
+    @Test
+    public void splitIdleRunAt_isolatesTheCoveringCycle() {
+        CycleCalendar calendar = new CycleCalendar(0L, "Weekly");
+        MemberCycle run = MemberCycle.idleRun(0L, calendar.startOf(5), 5, "Weekly");
+
+        List<MemberCycle> pieces = run.splitIdleRunAt(calendar.startOf(2) + 1);
+
+        assertEquals(3, pieces.size());
+        assertEquals(2, pieces.get(0).getIdleCycles());
+        assertEquals(0, pieces.get(1).getIdleCycles());
+        assertEquals(calendar.startOf(2), pieces.get(1).getStartDate());
+        assertEquals(2, pieces.get(2).getIdleCycles());
+        assertEquals(run.getEndDate(), pieces.get(2).getEndDate());
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Money;
+
+import org.junit.Test;
+
+public class MoneyTest {
+
+    @Test
+    public void toCents_roundsToNearestCent() {
+        assertEquals(29L, Money.toCents(0.29));
+        assertEquals(1999L, Money.toCents(19.99));
+        assertEquals(556L, Money.toCents(5.555));
+    }
+
+    @Test
+    public void toAmount_roundTrips() {
+        assertEquals(19.99, Money.toAmount(Money.toCents(19.99)), 0.0);
+    }
+
+    @Test
+    public void expense_storesAmountInCents() {
+        Expense expense = new Expense("Snack", 2.35, Category.FOOD, "10/21/2025", "");
+
+        assertEquals(235L, expense.getAmountCents());
+        assertEquals(2.35, expense.getAmount(), 0.0);
+    }
+}
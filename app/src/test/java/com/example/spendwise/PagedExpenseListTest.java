@@ -0,0 +1,86 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.EpochDays;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.PagedExpenseList;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PagedExpenseListTest {
+
+    private Expense expense(String id, String date) {
+        Expense expense = new Expense(id, 5.0, Category.FOOD, date, "");
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void appendPage_ordersNewestFirstAndMovesCursor() {
+        PagedExpenseList list = new PagedExpenseList();
+
+        // Firebase returns limitToLast pages in ascending order
+        list.appendPage(Arrays.asList(expense("b", "10/01/2024"),
+                expense("a", "10/03/2024"), expense("c", "10/03/2024")), false);
+
+        List<Expense> rows = list.snapshot();
+        assertEquals("c", rows.get(0).getId());
+        assertEquals("a", rows.get(1).getId());
+        assertEquals("b", rows.get(2).getId());
+        assertEquals(EpochDays.parse("10/01/2024"), list.cursorEpochDay());
+        assertEquals("b", list.cursorId());
+        assertFalse(list.isExhausted());
+    }
+
+    @Test
+    public void appendPage_skipsRowsAlreadyLoaded() {
+        PagedExpenseList list = new PagedExpenseList();
+        list.appendPage(Arrays.asList(expense("a", "10/03/2024")), false);
+
+        list.appendPage(Arrays.asList(expense("z", "09/01/2024"), expense("a", "10/03/2024")), true);
+
+        assertEquals(2, list.size());
+        assertTrue(list.isExhausted());
+    }
+
+    @Test
+    public void insert_placesNewerRowsAndDefersOlderOnes() {
+        PagedExpenseList list = new PagedExpenseList();
+        list.appendPage(Arrays.asList(expense("a", "10/01/2024"), expense("b", "10/05/2024")), false);
+
+        list.insert(expense("n", "10/03/2024"));
+        list.insert(expense("old", "01/01/2020"));
+
+        List<Expense> rows = list.snapshot();
+        assertEquals(3, rows.size());
+        assertEquals("n", rows.get(1).getId());
+    }
+
+    @Test
+    public void insert_appendsOlderRowsOnceExhausted() {
+        PagedExpenseList list = new PagedExpenseList();
+        list.appendPage(Arrays.asList(expense("a", "10/01/2024")), true);
+
+        list.insert(expense("old", "01/01/2020"));
+
+        assertEquals("old", list.cursorId());
+    }
+
+    @Test
+    public void remove_dropsRow() {
+        PagedExpenseList list = new PagedExpenseList();
+        list.appendPage(Arrays.asList(expense("a", "10/01/2024"), expense("b", "10/02/2024")), false);
+
+        assertTrue(list.remove("b"));
+        assertFalse(list.remove("missing"));
+        assertEquals(1, list.size());
+        assertEquals("a", list.cursorId());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.repository.RecomputeScheduler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RecomputeSchedulerTest {
+
+    private final List<String> published = new CopyOnWriteArrayList<>();
+    private RecomputeScheduler<String, String> scheduler;
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    public void request_mergesABurstIntoOneRunWithTheLatestInput() throws Exception {
+        CountDownLatch publishedOnce = new CountDownLatch(1);
+        scheduler = new RecomputeScheduler<>("test", 100, input -> input.toUpperCase(), result -> {
+            published.add(result);
+            publishedOnce.countDown();
+        });
+
+        scheduler.request("a");
+        scheduler.request("b");
+        scheduler.request("c");
+
+        assertTrue(publishedOnce.await(2, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("C"), published);
+        RecomputeScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(3, metrics.getRequested());
+        assertEquals(1, metrics.getRuns());
+        assertEquals(2, metrics.getMerged());
+        assertEquals(0, metrics.getSkipped());
+    }
+
+    @Test
+    public void request_duringARunSkipsTheStaleResult() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch publishedOnce = new CountDownLatch(1);
+        scheduler = new RecomputeScheduler<>("test", 0, input -> {
+            if (input.equals("first")) {
+                firstStarted.countDown();
+                await(releaseFirst);
+            }
+            return input;
+        }, result -> {
+            published.add(result);
+            publishedOnce.countDown();
+        });
+
+        scheduler.request("first");
+        assertTrue(firstStarted.await(2, TimeUnit.SECONDS));
+        scheduler.request("second");
+        releaseFirst.countDown();
+
+        assertTrue(publishedOnce.await(2, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("second"), published);
+        RecomputeScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(2, metrics.getRuns());
+        assertEquals(1, metrics.getSkipped());
+    }
+
+    @Test
+    public void close_dropsPendingRequests() throws Exception {
+        scheduler = new RecomputeScheduler<>("test", 50, input -> input, published::add);
+
+        scheduler.request("a");
+        scheduler.close();
+        scheduler.request("b");
+        Thread.sleep(150);
+
+        assertTrue(published.isEmpty());
+        assertEquals(1, scheduler.getMetrics().getRequested());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -90,4 +90,28 @@ public class SavingCircleMemberTest {
         assertTrue("Zero is non-negative", zeroAllocation >= 0);
         assertFalse("Negative is not acceptable", negativeAllocation >= 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test 13: A row stored before the cents fields existed is flagged for backfill
+     * and still derives its cents from the stored amounts
+     */
+    @Test
+    public void testLegacyMemberRowNeedsCentsBackfill() {
+        // As deserialized from a row with only currentAmount and personalAllocation
+        SavingCircleMember legacy = new SavingCircleMember();
+        legacy.setEmail("member@test.com");
+        legacy.setPersonalAllocation(200.0);
+        legacy.setCurrentAmount(137.45);
+
+        assertFalse("Legacy row has no stored cents", legacy.hasStoredCents());
+        assertEquals("Backfilled currentCents comes from currentAmount",
+                13745, legacy.getCurrentCents());
+        assertEquals("Backfilled allocation cents comes from personalAllocation",
+                20000, legacy.getPersonalAllocationCents());
+
+        legacy.setCurrentCents(legacy.getCurrentCents());
+        assertTrue("A row with currentCents can take increments", legacy.hasStoredCents());
+        assertTrue("New members are created with cents",
+                new SavingCircleMember("new@test.com", 50.0, 0).hasStoredCents());
+    }
+}
@@ -42,6 +42,17 @@ public class StrategyPatternTest {
         assertEquals("Last expense should be latest date", "10/25/2024", expenses.get(expenses.size() - 1).getDate());
     }
 
+    @Test
+    public void testSortByDateStrategyAcrossYears() {
+        List<Expense> expenses = new ArrayList<>();
+        expenses.add(new Expense("New Year", 20.0, Category.FOOD, "01/02/2025", ""));
+        expenses.add(new Expense("Holiday", 30.0, Category.SHOPPING, "12/20/2024", ""));
+
+        new SortByDateStrategy().sort(expenses);
+
+        assertEquals("December 2024 should sort before January 2025", "12/20/2024", expenses.get(0).getDate());
+    }
+
     @Test
     public void testSortByAmountStrategy() {
         List<Expense> expenses = createTestExpenses();
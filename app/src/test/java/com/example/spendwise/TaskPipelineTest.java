@@ -0,0 +1,103 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.repository.TaskPipeline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TaskPipelineTest {
+
+    private final TaskPipeline pipeline = new TaskPipeline(Runnable::run);
+
+    @Test
+    public void whenAll_startsIndependentStagesTogether() throws Exception {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<Integer> second = new CompletableFuture<>();
+
+        CompletableFuture<String> a = pipeline.stage("a", () -> first);
+        CompletableFuture<Integer> b = pipeline.stage("b", () -> second);
+        CompletableFuture<String> joined = TaskPipeline.whenAll(a, b)
+                .thenApply(ignored -> a.join() + b.join());
+
+        // Both stages are pending at once; completion order does not matter
+        second.complete(2);
+        assertFalse(joined.isDone());
+        first.complete("x");
+
+        assertEquals("x2", joined.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void stage_failsAfterTimeout() throws Exception {
+        CompletableFuture<String> stage = pipeline.stage("slow", 20, CompletableFuture::new);
+
+        try {
+            stage.get(2, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TaskPipeline.StageTimeoutException);
+            return;
+        }
+        throw new AssertionError("stage should have timed out");
+    }
+
+    @Test
+    public void cancel_suppressesCallbacksButLetsStagesFinish() {
+        List<Object> delivered = new ArrayList<>();
+        CompletableFuture<String> read = new CompletableFuture<>();
+        CompletableFuture<String> written = new CompletableFuture<>();
+        CompletableFuture<String> chained = pipeline.stage("read", () -> read)
+                .thenCompose(value -> pipeline.write("write", () -> written));
+        pipeline.finish(chained, (value, error) -> delivered.add(value));
+
+        pipeline.cancel();
+        read.complete("r");
+        written.complete("w");
+
+        assertEquals("w", chained.join());
+        assertTrue(delivered.isEmpty());
+        assertTrue(pipeline.isCancelled());
+    }
+
+    @Test
+    public void write_reportsTheDatabaseOutcome() {
+        List<Throwable> errors = new ArrayList<>();
+        CompletableFuture<Void> database = new CompletableFuture<>();
+        pipeline.finish(pipeline.write("write", () -> database), (value, error) -> errors.add(error));
+
+        database.completeExceptionally(new IllegalStateException("denied"));
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void finish_unwrapsFailuresFromChainedStages() {
+        List<Throwable> errors = new ArrayList<>();
+        CompletableFuture<String> chained = pipeline.stage("a", () -> CompletableFuture.completedFuture(1))
+                .thenCompose(one -> pipeline.stage("b", () -> {
+                    CompletableFuture<String> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("boom"));
+                    return failed;
+                }));
+
+        pipeline.finish(chained, (value, error) -> {
+            assertNull(value);
+            errors.add(error);
+        });
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+        assertFalse(errors.get(0) instanceof CancellationException);
+    }
+}